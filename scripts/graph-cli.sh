@@ -0,0 +1,15 @@
+#!/bin/sh
+# Headless shortest-path runner (com.AlgoVista.cli.GraphCli); needs no display.
+#
+#   JAVAFX_LIB   lib directory of the JavaFX SDK            (required by the module)
+#   APP_CLASSES  compiled module: classes plus resources    (default: out/production/Java_Fx)
+#   JAVA_OPTS    extra JVM options, e.g. -XX:MaxDirectMemorySize=8g for --off-heap
+#
+# Example: scripts/graph-cli.sh -a dijkstra -s 0,5 -t 8 -o results/ graphs/*.txt
+set -e
+
+: "${JAVAFX_LIB:?set JAVAFX_LIB to the lib directory of the JavaFX SDK}"
+APP_CLASSES="${APP_CLASSES:-out/production/Java_Fx}"
+
+exec java $JAVA_OPTS -Djava.awt.headless=true --module-path "$JAVAFX_LIB:$APP_CLASSES" \
+    -m com.AlgoVista/com.AlgoVista.cli.GraphCli "$@"
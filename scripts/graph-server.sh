@@ -0,0 +1,21 @@
+#!/bin/sh
+# Local HTTP/JSON query service (com.AlgoVista.server.GraphServer) and its load test.
+#
+#   JAVAFX_LIB   lib directory of the JavaFX SDK            (required by the module)
+#   APP_CLASSES  compiled module: classes plus resources    (default: out/production/Java_Fx)
+#
+#   scripts/graph-server.sh --port 8080 graphs/roads.txt
+#   scripts/graph-server.sh --load-test --url http://127.0.0.1:8080 --concurrency 64
+set -e
+
+: "${JAVAFX_LIB:?set JAVAFX_LIB to the lib directory of the JavaFX SDK}"
+APP_CLASSES="${APP_CLASSES:-out/production/Java_Fx}"
+
+MAIN=com.AlgoVista.server.GraphServer
+if [ "$1" = "--load-test" ]; then
+    MAIN=com.AlgoVista.server.GraphLoadTest
+    shift
+fi
+
+exec java -Djava.awt.headless=true --module-path "$JAVAFX_LIB:$APP_CLASSES" \
+    -m "com.AlgoVista/$MAIN" "$@"
@@ -0,0 +1,52 @@
+#!/bin/sh
+# Startup-optimised launch. The first run records an AppCDS archive of every class
+# loaded up to the dashboard's first frame and the other views (JDK 13+ dynamic
+# archiving); later runs map that archive instead of parsing and verifying the
+# classes again. CDS only archives classes from jars, so the compiled module is
+# packaged into a modular jar first; the jar and the archive are rebuilt whenever a
+# class file is newer than the jar. Delete the archive after changing the JDK.
+#
+#   JAVAFX_LIB   lib directory of the JavaFX SDK            (required)
+#   APP_CLASSES  compiled module: classes plus resources    (default: out/production/Java_Fx)
+#   APP_JAR      modular jar packaged from APP_CLASSES      (default: out/algovista.jar)
+#   CDS_ARCHIVE  archive location                           (default: out/algovista.jsa)
+#
+# Extra arguments are passed to java, e.g. -Dalgovista.startup.log=true to print
+# the startup phase timings or -Dalgovista.preload=false to load the graph views
+# only when they are first opened. On JDK 25+ the same training run can write an
+# AOT cache instead: -XX:AOTCacheOutput=... then -XX:AOTCache=...
+set -e
+
+: "${JAVAFX_LIB:?set JAVAFX_LIB to the lib directory of the JavaFX SDK}"
+APP_CLASSES="${APP_CLASSES:-out/production/Java_Fx}"
+APP_JAR="${APP_JAR:-out/algovista.jar}"
+CDS_ARCHIVE="${CDS_ARCHIVE:-out/algovista.jsa}"
+
+if [ -d "$APP_CLASSES" ]; then
+    if [ ! -f "$APP_JAR" ] || [ -n "$(find "$APP_CLASSES" -newer "$APP_JAR" -print -quit)" ]; then
+        echo "Packaging $APP_CLASSES into $APP_JAR"
+        mkdir -p "$(dirname "$APP_JAR")"
+        rm -f "$APP_JAR" "$CDS_ARCHIVE"
+        jar --create --file "$APP_JAR" -C "$APP_CLASSES" .
+    fi
+else
+    APP_JAR="$APP_CLASSES" # already a jar
+fi
+
+MODULE_PATH="$JAVAFX_LIB:$APP_JAR"
+MAIN=com.AlgoVista/com.AlgoVista.dashboard.Main
+
+if [ ! -f "$CDS_ARCHIVE" ]; then
+    echo "Creating class-data archive $CDS_ARCHIVE"
+    if ! java -XX:ArchiveClassesAtExit="$CDS_ARCHIVE" -Dalgovista.cds.training=true \
+            --module-path "$MODULE_PATH" -m "$MAIN"; then
+        echo "Class-data archive failed; starting without it" >&2
+        rm -f "$CDS_ARCHIVE"
+    fi
+fi
+
+if [ -f "$CDS_ARCHIVE" ]; then
+    exec java -XX:SharedArchiveFile="$CDS_ARCHIVE" -Xshare:auto \
+        "$@" --module-path "$MODULE_PATH" -m "$MAIN"
+fi
+exec java "$@" --module-path "$MODULE_PATH" -m "$MAIN"
@@ -0,0 +1,396 @@
+package com.AlgoVista.cli;
+
+import com.AlgoVista.graphs.CompactGraph;
+import com.AlgoVista.graphs.EdgeListFile;
+import com.AlgoVista.graphs.OffHeapGraph;
+import com.AlgoVista.graphs.ShortestPathTree;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Headless entry point: runs single-source shortest paths over edge-list files (see
+// EdgeListFile) or a generated graph and prints the distance and parent of every node.
+// No JavaFX toolkit is started, so it runs without a display:
+//
+//   java -p <module path> -m com.AlgoVista/com.AlgoVista.cli.GraphCli -a dijkstra -s 0,5 roads.txt
+//
+// Inputs are handled one after another, the next one loading while the current one
+// runs. Its (input, source) runs execute on a fixed thread pool with at most
+// RUNS_PER_THREAD per thread queued, and are written in source order as they finish,
+// so memory holds two graphs and a bounded number of results however many sources
+// there are.
+//
+// With --off-heap graphs are built outside the Java heap (see OffHeapGraph), so their
+// arc count is not limited to 2^31 and a small -Xmx suffices; --map keeps such a graph
+// in a file that later runs open instantly as a .csr input. Without --map the graph is
+// in native memory, which the JVM caps at -XX:MaxDirectMemorySize (by default -Xmx).
+public final class GraphCli {
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: GraphCli [options] [graph-file ...]",
+            "  graph files are edge lists, or .csr files written with --map",
+            "  -a, --algorithm bfs|dijkstra|bellman-ford",
+            "                          default: dijkstra for weighted graphs, bfs otherwise",
+            "  -s, --source LIST       comma-separated source nodes, or 'all' (default 0)",
+            "  -g, --generate N:M      use a random graph with N nodes and M edges",
+            "      --directed          generated graph is directed",
+            "      --weighted          generated graph has weights 1-9",
+            "      --seed S            seed for --generate (default 42)",
+            "      --save-graph FILE   also write the generated graph as an edge list",
+            "      --off-heap          build graphs outside the Java heap (beyond 2^31 arcs)",
+            "      --map FILE          with --off-heap, memory-map the graph into FILE",
+            "                          (not limited by -XX:MaxDirectMemorySize)",
+            "  -o, --output PATH       output file for one input, directory for several",
+            "                          (default: stdout)",
+            "  -t, --threads N         worker threads (default: available processors)",
+            "  -h, --help");
+
+    private static final int RUNS_PER_THREAD = 2;
+
+    private String algorithm;
+    private int[] sources = {0}; // null means every node
+    private String generate;
+    private boolean directed;
+    private boolean weighted;
+    private long seed = 42;
+    private Path saveGraph;
+    private boolean offHeap;
+    private Path mapFile;
+    private Path output;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private final List<String> inputs = new ArrayList<>();
+
+    public static void main(String[] args) {
+        GraphCli cli = new GraphCli();
+        try {
+            if (!cli.parse(args)) {
+                System.out.println(USAGE);
+                return;
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("GraphCli: " + e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        }
+        System.exit(cli.run());
+    }
+
+    // False when only help was requested
+    private boolean parse(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "-h":
+                case "--help":
+                    return false;
+                case "-a":
+                case "--algorithm":
+                    algorithm = value(args, ++i, arg);
+                    if (!algorithm.equals("bfs") && !algorithm.equals("dijkstra") && !algorithm.equals("bellman-ford")) {
+                        throw new IllegalArgumentException("unknown algorithm '" + algorithm + "'");
+                    }
+                    break;
+                case "-s":
+                case "--source":
+                    sources = parseSources(value(args, ++i, arg));
+                    break;
+                case "-g":
+                case "--generate":
+                    generate = value(args, ++i, arg);
+                    break;
+                case "--directed":
+                    directed = true;
+                    break;
+                case "--weighted":
+                    weighted = true;
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(value(args, ++i, arg));
+                    break;
+                case "--save-graph":
+                    saveGraph = Paths.get(value(args, ++i, arg));
+                    break;
+                case "--off-heap":
+                    offHeap = true;
+                    break;
+                case "--map":
+                    mapFile = Paths.get(value(args, ++i, arg));
+                    break;
+                case "-o":
+                case "--output":
+                    output = Paths.get(value(args, ++i, arg));
+                    break;
+                case "-t":
+                case "--threads":
+                    threads = Integer.parseInt(value(args, ++i, arg));
+                    if (threads < 1) throw new IllegalArgumentException("--threads must be at least 1");
+                    break;
+                default:
+                    if (arg.startsWith("-")) throw new IllegalArgumentException("unknown option '" + arg + "'");
+                    inputs.add(arg);
+            }
+        }
+        if (generate == null && inputs.isEmpty()) {
+            throw new IllegalArgumentException("no graph files given and no --generate");
+        }
+        if (generate != null && !inputs.isEmpty()) {
+            throw new IllegalArgumentException("--generate cannot be combined with graph files");
+        }
+        if (mapFile != null && (!offHeap || inputs.size() > 1)) {
+            throw new IllegalArgumentException("--map needs --off-heap and a single graph");
+        }
+        if (saveGraph != null && offHeap) {
+            throw new IllegalArgumentException("--save-graph writes on-heap graphs only; use --map with --off-heap");
+        }
+        return true;
+    }
+
+    private static int[] parseSources(String list) {
+        if (list.equals("all")) return null;
+        String[] parts = list.split(",");
+        int[] result = new int[parts.length];
+        for (int i = 0; i < parts.length; i++) {
+            try {
+                result[i] = Integer.parseInt(parts[i].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("bad source '" + parts[i] + "'");
+            }
+        }
+        return result;
+    }
+
+    private static String value(String[] args, int i, String option) {
+        if (i >= args.length) throw new IllegalArgumentException(option + " needs a value");
+        return args[i];
+    }
+
+    // A loaded input, on the heap or off it; exactly one of the two graphs is set
+    private static final class LoadedGraph implements AutoCloseable {
+        final CompactGraph compact;
+        final OffHeapGraph offHeap;
+        final boolean negativeWeights;
+
+        LoadedGraph(CompactGraph compact) {
+            this.compact = compact;
+            this.offHeap = null;
+            boolean negative = false;
+            for (int w : compact.getWeights()) {
+                if (w < 0) negative = true;
+            }
+            this.negativeWeights = negative;
+        }
+
+        LoadedGraph(OffHeapGraph offHeap) {
+            this.compact = null;
+            this.offHeap = offHeap;
+            this.negativeWeights = offHeap.hasNegativeWeight();
+        }
+
+        int getNumNodes() {
+            return compact != null ? compact.getNumNodes() : offHeap.getNumNodes();
+        }
+
+        long getNumArcs() {
+            return compact != null ? compact.getNumArcs() : offHeap.getNumArcs();
+        }
+
+        boolean isWeighted() {
+            return compact != null ? compact.isWeighted() : offHeap.isWeighted();
+        }
+
+        ShortestPathTree run(String algorithm, int source) {
+            switch (algorithm) {
+                case "bfs":
+                    return compact != null ? ShortestPathTree.bfs(compact, source) : ShortestPathTree.bfs(offHeap, source);
+                case "dijkstra":
+                    return compact != null ? ShortestPathTree.dijkstra(compact, source)
+                            : ShortestPathTree.dijkstra(offHeap, source);
+                default:
+                    return compact != null ? ShortestPathTree.bellmanFord(compact, source)
+                            : ShortestPathTree.bellmanFord(offHeap, source);
+            }
+        }
+
+        // Frees an off-heap graph's memory once all of its runs are written
+        @Override
+        public void close() {
+            if (offHeap != null) offHeap.close();
+        }
+    }
+
+    private int run() {
+        long startNanos = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "algovista-cli-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        List<String> names = generate != null ? List.of("generated") : inputs;
+        int window = threads * RUNS_PER_THREAD;
+
+        int failures = 0;
+        int runs = 0;
+        CompletableFuture<LoadedGraph> next = load(names.get(0), pool);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            CompletableFuture<LoadedGraph> current = next;
+            // Only the following input loads ahead, so at most two graphs are held
+            next = i + 1 < names.size() ? load(names.get(i + 1), pool) : null;
+            LoadedGraph graph;
+            try {
+                graph = current.join();
+            } catch (CompletionException e) {
+                System.err.println("GraphCli: " + name + ": " + rootMessage(e));
+                failures++;
+                continue;
+            }
+
+            int[] sourceList = sourcesFor(graph);
+            int queued = 0;
+            Deque<CompletableFuture<String>> inFlight = new ArrayDeque<>();
+            try (Writer out = openOutput(name, names.size())) {
+                while (queued < sourceList.length || !inFlight.isEmpty()) {
+                    while (queued < sourceList.length && inFlight.size() < window) {
+                        int source = sourceList[queued++];
+                        inFlight.add(CompletableFuture.supplyAsync(() -> runOne(name, graph, source), pool));
+                    }
+                    try {
+                        out.write(inFlight.remove().join());
+                        runs++;
+                    } catch (CompletionException e) {
+                        System.err.println("GraphCli: " + name + ": " + rootMessage(e));
+                        failures++;
+                    }
+                }
+            } catch (IOException e) {
+                System.err.println("GraphCli: " + name + ": " + e.getMessage());
+                failures++;
+            } finally {
+                // Off-heap memory is freed only once no run can still be reading it
+                CompletableFuture.allOf(inFlight.toArray(new CompletableFuture<?>[0])).handle((v, e) -> null).join();
+                graph.close();
+            }
+        }
+        pool.shutdown();
+
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        System.err.printf("GraphCli: %d input(s), %d run(s) in %.3f s (%.1f runs/s, %d thread(s))%n",
+                names.size(), runs, seconds, runs / Math.max(seconds, 1e-9), threads);
+        return failures == 0 ? 0 : 1;
+    }
+
+    private CompletableFuture<LoadedGraph> load(String name, ExecutorService pool) {
+        if (generate != null) return CompletableFuture.supplyAsync(this::generateGraph, pool);
+        Path file = Paths.get(name);
+        return CompletableFuture.supplyAsync(() -> readGraph(file), pool);
+    }
+
+    private LoadedGraph generateGraph() {
+        String[] parts = generate.split(":");
+        if (parts.length != 2) throw new IllegalArgumentException("--generate expects N:M, got '" + generate + "'");
+        int numNodes = Integer.parseInt(parts[0]);
+        long numEdges = Long.parseLong(parts[1]);
+        try {
+            if (offHeap) {
+                return new LoadedGraph(EdgeListFile.randomOffHeap(numNodes, numEdges, directed, weighted, seed, mapFile));
+            }
+            if (numEdges > Integer.MAX_VALUE) throw new IllegalArgumentException("more than 2^31 edges need --off-heap");
+            CompactGraph graph = EdgeListFile.random(numNodes, (int) numEdges, directed, weighted, seed);
+            if (saveGraph != null) EdgeListFile.write(graph, saveGraph);
+            return new LoadedGraph(graph);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // .csr files are mapped as they are; edge lists are parsed onto or off the heap
+    private LoadedGraph readGraph(Path file) {
+        try {
+            if (file.getFileName().toString().endsWith(".csr")) {
+                return new LoadedGraph(OffHeapGraph.open(file));
+            }
+            if (offHeap) {
+                return new LoadedGraph(EdgeListFile.readOffHeap(file, mapFile));
+            }
+            return new LoadedGraph(EdgeListFile.read(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private int[] sourcesFor(LoadedGraph graph) {
+        if (sources != null) return sources;
+        int[] all = new int[graph.getNumNodes()];
+        for (int i = 0; i < all.length; i++) all[i] = i;
+        return all;
+    }
+
+    private String runOne(String name, LoadedGraph graph, int source) {
+        int n = graph.getNumNodes();
+        if (source < 0 || source >= n) {
+            throw new IllegalArgumentException("source " + source + " out of range 0.." + (n - 1));
+        }
+        String chosen = algorithm != null ? algorithm : graph.isWeighted() ? "dijkstra" : "bfs";
+        if (chosen.equals("dijkstra") && graph.negativeWeights) {
+            throw new IllegalArgumentException("negative weights need --algorithm bellman-ford");
+        }
+
+        long start = System.nanoTime();
+        ShortestPathTree tree = graph.run(chosen, source);
+        long nanos = System.nanoTime() - start;
+
+        StringBuilder sb = new StringBuilder(n * 12 + 128);
+        sb.append(String.format("# graph=%s algorithm=%s source=%d nodes=%d arcs=%d time_ms=%.3f%n",
+                name, chosen, source, n, graph.getNumArcs(), nanos / 1e6));
+        if (tree.hasNegativeCycle()) {
+            sb.append("# negative cycle reachable from source").append(System.lineSeparator());
+            return sb.toString();
+        }
+        sb.append("node distance parent").append(System.lineSeparator());
+        for (int v = 0; v < n; v++) {
+            sb.append(v).append(' ');
+            if (tree.isReachable(v)) sb.append(tree.getDistance(v));
+            else sb.append("inf");
+            sb.append(' ').append(tree.getParent(v)).append(System.lineSeparator());
+        }
+        return sb.toString();
+    }
+
+    // Stdout when no --output is given; otherwise the file itself for a single input,
+    // or <output>/<input name>.sp inside the directory for several
+    private Writer openOutput(String name, int inputCount) throws IOException {
+        if (output == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8)) {
+                @Override
+                public void close() throws IOException {
+                    flush(); // keep stdout open for the next input
+                }
+            };
+        }
+        Path target = output;
+        if (inputCount > 1 || Files.isDirectory(output)) {
+            Files.createDirectories(output);
+            target = output.resolve(Paths.get(name).getFileName() + ".sp");
+        }
+        return Files.newBufferedWriter(target, StandardCharsets.UTF_8);
+    }
+
+    private static String rootMessage(Throwable e) {
+        while (e.getCause() != null) e = e.getCause();
+        return e.getMessage();
+    }
+}
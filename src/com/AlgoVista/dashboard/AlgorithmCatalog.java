@@ -0,0 +1,92 @@
+package com.AlgoVista.dashboard;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Everything the dashboard can show, with the extra words a search should match
+public final class AlgorithmCatalog {
+
+    public static class Entry {
+        private final String name;
+        private final String styleClass;
+        private final String imageFile;
+        private final List<String> aliases;
+        private final String description;
+
+        Entry(String name, String styleClass, String imageFile, String description, String... aliases) {
+            this.name = name;
+            this.styleClass = styleClass;
+            this.imageFile = imageFile;
+            this.description = description;
+            this.aliases = Collections.unmodifiableList(Arrays.asList(aliases));
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getStyleClass() {
+            return styleClass;
+        }
+
+        // File name under /com/AlgoVista/images
+        public String getImageFile() {
+            return imageFile;
+        }
+
+        public List<String> getAliases() {
+            return aliases;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        // Name, aliases and description as one string for the search index
+        public String searchText() {
+            return name + " " + String.join(" ", aliases) + " " + description;
+        }
+    }
+
+    private static final List<Entry> ENTRIES = Collections.unmodifiableList(Arrays.asList(
+            new Entry("Array", "array-card", "array.png",
+                    "Contiguous indexed storage, searching and two-pointer techniques",
+                    "list", "vector", "binary search"),
+            new Entry("Linked List", "linked-list-card", "linkedList.png",
+                    "Nodes chained by references, singly and doubly linked",
+                    "singly linked", "doubly linked", "dll"),
+            new Entry("Stack", "stack-card", "stack.png",
+                    "Last in, first out push and pop",
+                    "lifo", "push", "pop"),
+            new Entry("Queue", "queue-card", "queue.png",
+                    "First in, first out enqueue and dequeue",
+                    "fifo", "deque", "circular buffer"),
+            new Entry("Graph", "graph-card", "graph.png",
+                    "Graph structure, traversal, shortest paths, spanning trees, flows and centrality",
+                    "bfs", "dfs", "dijkstra", "bellman-ford", "a*", "mst", "kruskal", "prim", "max flow",
+                    "pagerank", "topological sort"),
+            new Entry("BST", "bst-card", "BST.png",
+                    "Binary search tree insert, delete and in-order traversal",
+                    "binary search tree", "tree", "avl"),
+            new Entry("Heap", "heap-card", "heap.png",
+                    "Binary heap and priority queue operations",
+                    "priority queue", "min heap", "max heap", "heapify"),
+            new Entry("Sorting", "sorting-card", "sorting.png",
+                    "Comparison and distribution sorts step by step",
+                    "bubble sort", "merge sort", "quick sort", "insertion sort", "radix sort"),
+            new Entry("DP", "dp-card", "dp.png",
+                    "Dynamic programming tables and memoisation",
+                    "dynamic programming", "memoization", "knapsack", "lcs"),
+            new Entry("Advanced", "advanced-card", "greedy.png",
+                    "Divide and conquer, greedy and other advanced techniques",
+                    "greedy", "divide and conquer", "backtracking")
+    ));
+
+    private AlgorithmCatalog() {
+    }
+
+    public static List<Entry> entries() {
+        return ENTRIES;
+    }
+}
@@ -1,20 +1,21 @@
 package com.AlgoVista.dashboard;
 
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.Label;
-import javafx.stage.Stage;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 
 import java.io.IOException;
 
 public class CardController {
     @FXML
     private Label algoName;
+    @FXML
+    private ImageView algoImage;
 
-    public void setData(String name) {
+    public void setData(String name, Image image) {
         algoName.setText(name);
+        algoImage.setImage(image);
     }
 
     @FXML
@@ -24,24 +25,7 @@ public class CardController {
 
         if (algo.equals("Graph")) {
             try {
-
-                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/GraphCategory.fxml"));
-
-                Parent root = loader.load();
-
-                Stage stage = (Stage) algoName.getScene().getWindow();
-
-                double width = stage.getWidth();
-                double height = stage.getHeight();
-                double x = stage.getX();
-                double y = stage.getY();
-
-                Scene scene = new Scene(root, width, height);
-                stage.setScene(scene);
-
-                stage.setX(x);
-                stage.setY(y);
-
+                ViewCache.show(algoName, ViewCache.GRAPH_CATEGORY);
                 System.out.println("GraphCategory loaded successfully!");
             } catch (IOException e) {
                 System.err.println("Error: Could not find GraphCategory.fxml. Check your resources folder.");
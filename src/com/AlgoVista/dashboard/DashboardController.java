@@ -1,69 +1,75 @@
 package com.AlgoVista.dashboard;
 
+import javafx.animation.PauseTransition;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.control.TextField;
 import javafx.scene.layout.TilePane;
 import javafx.scene.layout.VBox;
+import javafx.util.Duration;
+
 import java.io.IOException;
-import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.List;
 
 public class DashboardController {
     @FXML private TilePane algoContainer;
     @FXML private TextField searchField;
 
-    private final List<String> algorithms = Arrays.asList(
-            "Array", "Linked List", "Stack", "Queue", "Graph",
-            "BST", "Heap", "Sorting", "DP", "Advanced"
-    );
+    // Wait this long after the last keystroke before filtering
+    private static final Duration SEARCH_DEBOUNCE = Duration.millis(120);
+
+    private final List<AlgorithmCatalog.Entry> algorithms = AlgorithmCatalog.entries();
+    private final List<VBox> cards = new ArrayList<>();
+    private SearchIndex searchIndex;
+    private final PauseTransition searchDelay = new PauseTransition(SEARCH_DEBOUNCE);
 
     @FXML
     public void initialize() {
-        loadCards(""); // Load all cards initially
+        // Every card is loaded once; searching only shows and hides them
+        loadCards();
+
+        List<String> documents = new ArrayList<>();
+        for (AlgorithmCatalog.Entry entry : algorithms) {
+            documents.add(entry.searchText());
+        }
+        searchIndex = new SearchIndex(documents);
 
         // Add listener for the Search Bar
-        searchField.textProperty().addListener((observable, oldValue, newValue) -> {
-            loadCards(newValue.toLowerCase());
-        });
+        searchField.textProperty().addListener((observable, oldValue, newValue) -> searchDelay.playFromStart());
+        searchDelay.setOnFinished(e -> applyFilter(searchField.getText()));
     }
 
-    private void loadCards(String filter) {
-        algoContainer.getChildren().clear();
-        for (String name : algorithms) {
-            if (name.toLowerCase().contains(filter)) {
-                try {
-                    FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AlgoCard.fxml"));
-                    VBox card = loader.load();
-                    CardController controller = loader.getController();
-                    controller.setData(name);
+    private void loadCards() {
+        for (AlgorithmCatalog.Entry entry : algorithms) {
+            try {
+                FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/AlgoCard.fxml"));
+                VBox card = loader.load();
+                CardController controller = loader.getController();
+                controller.setData(entry.getName(), ImageCache.get(entry.getImageFile()));
 
-                    // Add CSS class based on algorithm name
-                    String styleClass = getStyleClass(name);
-                    card.getStyleClass().add(styleClass);
+                // Add CSS class based on algorithm name
+                card.getStyleClass().add(entry.getStyleClass());
 
-                    algoContainer.getChildren().add(card);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                algoContainer.getChildren().add(card);
+                cards.add(card);
+            } catch (IOException e) {
+                e.printStackTrace();
+                cards.add(null);
             }
         }
     }
 
-    // Helper method to map algorithm names to CSS classes
-    private String getStyleClass(String algoName) {
-        switch (algoName.toLowerCase()) {
-            case "array": return "array-card";
-            case "linked list": return "linked-list-card";
-            case "stack": return "stack-card";
-            case "queue": return "queue-card";
-            case "graph": return "graph-card";
-            case "bst": return "bst-card";
-            case "heap": return "heap-card";
-            case "sorting": return "sorting-card";
-            case "dp": return "dp-card";
-            case "advanced": return "advanced-card";
-            default: return "";
+    // Hidden cards are also unmanaged so the TilePane closes the gaps they leave
+    private void applyFilter(String query) {
+        BitSet matches = searchIndex.search(query);
+        for (int i = 0; i < cards.size(); i++) {
+            VBox card = cards.get(i);
+            if (card == null) continue;
+            boolean show = matches.get(i);
+            card.setVisible(show);
+            card.setManaged(show);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,29 @@
+package com.AlgoVista.dashboard;
+
+import javafx.scene.image.Image;
+
+import java.net.URL;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Card artwork, read from the classpath rather than absolute file URLs. Images load on
+// JavaFX's background loader, so a card is shown at once and its picture appears when
+// decoded; each image is decoded only once however many views use it.
+public final class ImageCache {
+    private static final String IMAGE_DIR = "/com/AlgoVista/images/";
+
+    private static final Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+
+    private ImageCache() {
+    }
+
+    // null when the file is missing, so a card without art still works
+    public static Image get(String fileName) {
+        URL url = ImageCache.class.getResource(IMAGE_DIR + fileName);
+        if (url == null) {
+            System.err.println("Missing image: " + IMAGE_DIR + fileName);
+            return null;
+        }
+        return IMAGES.computeIfAbsent(fileName, name -> new Image(url.toExternalForm(), true));
+    }
+}
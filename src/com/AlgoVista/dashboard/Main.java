@@ -1,23 +1,69 @@
 package com.AlgoVista.dashboard;
 
 import javafx.application.Application;
-import javafx.fxml.FXMLLoader;
+import javafx.application.Platform;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
+import java.io.IOException;
+
 public class Main extends Application {
+    // -Dalgovista.preload=false leaves every other view to load on its first visit
+    private static final boolean PRELOAD = !"false".equals(System.getProperty("algovista.preload"));
+    // Training run for the class-data archive (see scripts/startup.sh): load every
+    // view once so their classes are archived, then quit
+    private static final boolean TRAINING = Boolean.getBoolean("algovista.cds.training");
+
+    @Override
+    public void init() {
+        StartupLog.phase("JavaFX toolkit started");
+    }
+
     @Override
     public void start(Stage stage) throws Exception {
-        // This path must match your resources/fxml folder structure
-        FXMLLoader fxmlLoader = new FXMLLoader(getClass().getResource("/fxml/dashboard.fxml"));
-        Scene scene = new Scene(fxmlLoader.load(), 900, 700);
+        // One Scene for the whole app; navigation swaps its root (see ViewCache)
+        Scene scene = new Scene(ViewCache.get(ViewCache.DASHBOARD).getRoot(), 900, 700);
+        StartupLog.phase("dashboard view loaded");
 
         stage.setTitle("AlgoVista - DSA Visualizer");
         stage.setScene(scene);
         stage.show();
+        StartupLog.phase("stage shown");
+
+        // Nothing else is loaded until the dashboard's first frame is on its way
+        scene.addPostLayoutPulseListener(new Runnable() {
+            private boolean done;
+
+            @Override
+            public void run() {
+                if (done) return;
+                done = true;
+                Platform.runLater(() -> scene.removePostLayoutPulseListener(this));
+                StartupLog.phase("first frame laid out");
+                Platform.runLater(Main::afterFirstFrame);
+            }
+        });
+    }
+
+    private static void afterFirstFrame() {
+        if (TRAINING) {
+            try {
+                ViewCache.get(ViewCache.GRAPH_CATEGORY);
+                ViewCache.get(ViewCache.GRAPH_TRAVERSAL);
+                ViewCache.get(ViewCache.GRAPH_STRUCTURE);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+            StartupLog.phase("training run done");
+            Platform.exit();
+        } else if (PRELOAD) {
+            // Load the other views while the user is looking at the dashboard
+            ViewCache.preload(ViewCache.GRAPH_CATEGORY, ViewCache.GRAPH_TRAVERSAL, ViewCache.GRAPH_STRUCTURE);
+        }
     }
 
     public static void main(String[] args) {
+        StartupLog.phase("main()");
         launch(args);
     }
-}
\ No newline at end of file
+}
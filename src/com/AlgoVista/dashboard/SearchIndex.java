@@ -0,0 +1,71 @@
+package com.AlgoVista.dashboard;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Substring search over a fixed list of documents. Every 1-, 2- and 3-character
+// substring of every word is mapped to the set of documents containing it, so a query
+// word of up to 3 characters is answered by a single lookup. Longer words intersect the
+// sets of their trigrams and then confirm the few remaining candidates with a real
+// substring check. A query with several words matches documents containing all of them.
+public class SearchIndex {
+    private static final int MAX_GRAM = 3;
+
+    private final String[] documents;
+    private final Map<String, BitSet> postings = new HashMap<>();
+
+    public SearchIndex(List<String> documents) {
+        this.documents = new String[documents.size()];
+        for (int doc = 0; doc < documents.size(); doc++) {
+            this.documents[doc] = normalize(documents.get(doc));
+            for (String word : words(this.documents[doc])) {
+                for (int n = 1; n <= MAX_GRAM; n++) {
+                    for (int i = 0; i + n <= word.length(); i++) {
+                        postings.computeIfAbsent(word.substring(i, i + n), k -> new BitSet()).set(doc);
+                    }
+                }
+            }
+        }
+    }
+
+    public int size() {
+        return documents.length;
+    }
+
+    // Ids of the matching documents; an empty query matches everything
+    public BitSet search(String query) {
+        BitSet result = new BitSet(documents.length);
+        result.set(0, documents.length);
+
+        for (String word : words(normalize(query))) {
+            if (word.length() <= MAX_GRAM) {
+                result.and(postings.getOrDefault(word, new BitSet()));
+            } else {
+                for (int i = 0; i + MAX_GRAM <= word.length() && !result.isEmpty(); i++) {
+                    result.and(postings.getOrDefault(word.substring(i, i + MAX_GRAM), new BitSet()));
+                }
+                for (int doc = result.nextSetBit(0); doc >= 0; doc = result.nextSetBit(doc + 1)) {
+                    if (!documents[doc].contains(word)) result.clear(doc);
+                }
+            }
+            if (result.isEmpty()) break;
+        }
+        return result;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    // Words are split on anything that is not a letter, digit or one of the symbols
+    // that appear in algorithm names (A*, Bellman-Ford)
+    private static String[] words(String text) {
+        return Arrays.stream(text.split("[^\\p{L}\\p{N}*+\\-]+"))
+                .filter(word -> !word.isEmpty())
+                .toArray(String[]::new);
+    }
+}
@@ -0,0 +1,22 @@
+package com.AlgoVista.dashboard;
+
+import java.lang.management.ManagementFactory;
+
+// Startup phase timings, printed to stderr with -Dalgovista.startup.log=true.
+// Each line shows the time since the previous phase and since the JVM started.
+public final class StartupLog {
+    public static final boolean ENABLED = Boolean.getBoolean("algovista.startup.log");
+
+    private static final long JVM_START = ManagementFactory.getRuntimeMXBean().getStartTime();
+    private static long last = JVM_START;
+
+    private StartupLog() {
+    }
+
+    public static synchronized void phase(String name) {
+        if (!ENABLED) return;
+        long now = System.currentTimeMillis();
+        System.err.printf("[startup] %-30s +%5d ms   %6d ms since JVM start%n", name, now - last, now - JVM_START);
+        last = now;
+    }
+}
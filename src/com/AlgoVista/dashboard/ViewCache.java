@@ -0,0 +1,106 @@
+package com.AlgoVista.dashboard;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Every FXML view is loaded once and kept, root and controller together, so going back
+// to a view shows it exactly as it was left. The window has a single Scene and
+// navigating only swaps its root: no XML is parsed and no Scene is built per click.
+// Views that are not needed yet are loaded on a background thread at startup; JavaFX
+// allows building nodes off the FX thread as long as they are not in a showing scene.
+public final class ViewCache {
+    public static final String DASHBOARD = "/fxml/dashboard.fxml";
+    public static final String GRAPH_CATEGORY = "/fxml/GraphCategory.fxml";
+    public static final String GRAPH_STRUCTURE = "/fxml/GraphStructure.fxml";
+    public static final String GRAPH_TRAVERSAL = "/fxml/GraphTraversal.fxml";
+
+    private static final Map<String, CompletableFuture<View>> VIEWS = new ConcurrentHashMap<>();
+
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "algovista-view-preload");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private ViewCache() {
+    }
+
+    public static class View {
+        private final Parent root;
+        private final Object controller;
+
+        View(Parent root, Object controller) {
+            this.root = root;
+            this.controller = controller;
+        }
+
+        public Parent getRoot() {
+            return root;
+        }
+
+        @SuppressWarnings("unchecked")
+        public <T> T getController() {
+            return (T) controller;
+        }
+    }
+
+    // Queues the views for loading in the background, in the given order
+    public static void preload(String... paths) {
+        for (String path : paths) {
+            VIEWS.computeIfAbsent(path, p -> CompletableFuture.supplyAsync(() -> load(p), LOADER));
+        }
+    }
+
+    // The cached view, waiting for its background load if one is running, or loading it
+    // on the calling thread if it was never requested
+    public static View get(String path) throws IOException {
+        try {
+            CompletableFuture<View> future = VIEWS.computeIfAbsent(path,
+                    p -> CompletableFuture.completedFuture(load(p)));
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                // A failed background load is retried once on this thread
+                View view = load(path);
+                VIEWS.put(path, CompletableFuture.completedFuture(view));
+                return view;
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading " + path, e);
+        }
+    }
+
+    // Shows the view in the window that currently holds the given node
+    public static <T> T show(Node anyNodeInWindow, String path) throws IOException {
+        View view = get(path);
+        Scene scene = anyNodeInWindow.getScene();
+        if (scene.getRoot() != view.getRoot()) {
+            scene.setRoot(view.getRoot());
+        }
+        return view.getController();
+    }
+
+    private static View load(String path) {
+        try {
+            FXMLLoader loader = new FXMLLoader(ViewCache.class.getResource(path));
+            Parent root = loader.load();
+            return new View(root, loader.getController());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.AlgoVista.graphs;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+// LRU cache of algorithm results keyed by (graph version, algorithm, source, variant).
+// Bounded both by entry count and by a caller-defined weight, e.g. the number of
+// cells a result holds. Stale entries are never returned because every edit gives
+// the graph a new version; they simply age out of the LRU order.
+public class AlgorithmResultCache<V> {
+    private final int maxEntries;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final LinkedHashMap<Key, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalWeight;
+    private long hits;
+    private long misses;
+
+    public static class Key {
+        private final long version;
+        private final String algorithm;
+        private final int source;
+        private final String variant;
+
+        public Key(long version, String algorithm, int source, String variant) {
+            this.version = version;
+            this.algorithm = algorithm;
+            this.source = source;
+            this.variant = variant;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key other = (Key) o;
+            return version == other.version && source == other.source
+                    && algorithm.equals(other.algorithm) && Objects.equals(variant, other.variant);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(version, algorithm, source, variant);
+        }
+
+        @Override
+        public String toString() {
+            return algorithm + "@v" + version + " from " + source + (variant == null ? "" : " [" + variant + "]");
+        }
+    }
+
+    private static class Entry<V> {
+        final V value;
+        final long weight;
+
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    public AlgorithmResultCache(int maxEntries, long maxWeight, ToLongFunction<V> weigher) {
+        this.maxEntries = maxEntries;
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    public synchronized V get(Key key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.value;
+    }
+
+    public synchronized void put(Key key, V value) {
+        long weight = weigher.applyAsLong(value);
+        if (weight > maxWeight) return; // would evict everything else and still not fit
+
+        Entry<V> previous = entries.put(key, new Entry<>(value, weight));
+        if (previous != null) {
+            totalWeight -= previous.weight;
+        }
+        totalWeight += weight;
+
+        Iterator<Map.Entry<Key, Entry<V>>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalWeight > maxWeight) && eldest.hasNext()) {
+            Map.Entry<Key, Entry<V>> victim = eldest.next();
+            if (victim.getKey().equals(key)) continue;
+            totalWeight -= victim.getValue().weight;
+            eldest.remove();
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        totalWeight = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long getTotalWeight() {
+        return totalWeight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+}
@@ -0,0 +1,175 @@
+package com.AlgoVista.graphs;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+
+// Operation counters for algorithm runs. Counting is switched on with
+// -Dalgovista.stats=true; ENABLED is a static final constant, so when it is off the
+// JIT folds every counter call away and instrumented loops cost nothing extra.
+// Counters are LongAdders so parallel engines can bump them from worker threads.
+public final class AlgorithmStats {
+    public static final boolean ENABLED = Boolean.getBoolean("algovista.stats");
+
+    private static final LongAdder RELAXATIONS = new LongAdder();
+    private static final LongAdder HEAP_PUSHES = new LongAdder();
+    private static final LongAdder HEAP_POPS = new LongAdder();
+    private static final LongAdder DECREASE_KEYS = new LongAdder();
+    private static final LongAdder QUEUE_OPS = new LongAdder();
+    private static final LongAdder VISITED = new LongAdder();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private AlgorithmStats() {
+    }
+
+    public static void relax() {
+        if (ENABLED) RELAXATIONS.increment();
+    }
+
+    public static void heapPush() {
+        if (ENABLED) HEAP_PUSHES.increment();
+    }
+
+    public static void heapPop() {
+        if (ENABLED) HEAP_POPS.increment();
+    }
+
+    public static void decreaseKey() {
+        if (ENABLED) DECREASE_KEYS.increment();
+    }
+
+    public static void queueOp() {
+        if (ENABLED) QUEUE_OPS.increment();
+    }
+
+    public static void visit() {
+        if (ENABLED) VISITED.increment();
+    }
+
+    // Resets the counters and starts timing the calling thread
+    public static Run start() {
+        if (ENABLED) {
+            RELAXATIONS.reset();
+            HEAP_PUSHES.reset();
+            HEAP_POPS.reset();
+            DECREASE_KEYS.reset();
+            QUEUE_OPS.reset();
+            VISITED.reset();
+        }
+        return new Run();
+    }
+
+    public static class Run {
+        private final long startNanos;
+        private final long startCpu;
+        private final long startAllocated;
+
+        private Run() {
+            startCpu = cpuTime();
+            startAllocated = allocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        public Report stop() {
+            long wall = System.nanoTime() - startNanos;
+            long cpu = startCpu < 0 ? -1 : cpuTime() - startCpu;
+            long allocated = startAllocated < 0 ? -1 : allocatedBytes() - startAllocated;
+            if (!ENABLED) return new Report(wall, cpu, allocated, null);
+            return new Report(wall, cpu, allocated, new long[]{
+                    RELAXATIONS.sum(), HEAP_PUSHES.sum(), HEAP_POPS.sum(),
+                    DECREASE_KEYS.sum(), QUEUE_OPS.sum(), VISITED.sum()});
+        }
+    }
+
+    // Times and allocations cover the thread that started the run; work done on the
+    // common pool by parallel engines shows up in the wall time and counters only
+    public static class Report {
+        private final long wallNanos;
+        private final long cpuNanos;
+        private final long allocatedBytes;
+        private final long[] counters; // null when counting is disabled
+
+        Report(long wallNanos, long cpuNanos, long allocatedBytes, long[] counters) {
+            this.wallNanos = wallNanos;
+            this.cpuNanos = cpuNanos;
+            this.allocatedBytes = allocatedBytes;
+            this.counters = counters;
+        }
+
+        public long getWallNanos() {
+            return wallNanos;
+        }
+
+        // -1 when the JVM does not support thread CPU time
+        public long getCpuNanos() {
+            return cpuNanos;
+        }
+
+        // -1 when the JVM does not support allocation accounting
+        public long getAllocatedBytes() {
+            return allocatedBytes;
+        }
+
+        public boolean hasCounters() {
+            return counters != null;
+        }
+
+        public long getRelaxations() {
+            return counters == null ? 0 : counters[0];
+        }
+
+        public long getHeapPushes() {
+            return counters == null ? 0 : counters[1];
+        }
+
+        public long getHeapPops() {
+            return counters == null ? 0 : counters[2];
+        }
+
+        public long getDecreaseKeys() {
+            return counters == null ? 0 : counters[3];
+        }
+
+        public long getQueueOps() {
+            return counters == null ? 0 : counters[4];
+        }
+
+        public long getVisited() {
+            return counters == null ? 0 : counters[5];
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("Measured: %.3f ms", wallNanos / 1e6));
+            if (cpuNanos >= 0) sb.append(String.format(", cpu %.3f ms", cpuNanos / 1e6));
+            if (allocatedBytes >= 0) sb.append(", ").append(formatBytes(allocatedBytes)).append(" allocated");
+            if (counters == null) return sb.toString();
+
+            sb.append(String.format("%nRelax %d · push %d · pop %d · dec-key %d · queue %d · visited %d",
+                    getRelaxations(), getHeapPushes(), getHeapPops(), getDecreaseKeys(),
+                    getQueueOps(), getVisited()));
+            return sb.toString();
+        }
+
+        private static String formatBytes(long bytes) {
+            if (bytes < 1024) return bytes + " B";
+            if (bytes < 1024 * 1024) return String.format("%.1f KB", bytes / 1024.0);
+            return String.format("%.1f MB", bytes / (1024.0 * 1024));
+        }
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getCurrentThreadAllocatedBytes();
+            }
+        }
+        return -1;
+    }
+}
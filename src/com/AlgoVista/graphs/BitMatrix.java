@@ -0,0 +1,172 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Adjacency matrix packed one bit per cell into a flat long[], row-major.
+// Row u occupies bits[u * wordsPerRow .. (u + 1) * wordsPerRow) and bit v of the row
+// is set when the arc u -> v exists. Kernels work a 64-bit word at a time, so
+// intersections and frontier expansions are AND/OR/popcount over whole rows.
+public class BitMatrix {
+    private final int numNodes;
+    private final int wordsPerRow;
+    private final long[] bits;
+
+    public BitMatrix(int numNodes) {
+        this.numNodes = numNodes;
+        this.wordsPerRow = wordsFor(numNodes);
+        // Checked once here, so every row offset u * wordsPerRow below fits in an int
+        try {
+            this.bits = new long[Math.multiplyExact(numNodes, wordsPerRow)];
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(numNodes + " nodes exceed the 2^31-word bit matrix limit");
+        }
+    }
+
+    public static int wordsFor(int numNodes) {
+        return (numNodes + 63) >>> 6;
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    public int getWordsPerRow() {
+        return wordsPerRow;
+    }
+
+    // Writes are package-private: a GraphModel's matrix must only change together with
+    // its adjacency and edge lists
+    void set(int u, int v) {
+        bits[u * wordsPerRow + (v >>> 6)] |= 1L << v;
+    }
+
+    void clear(int u, int v) {
+        bits[u * wordsPerRow + (v >>> 6)] &= ~(1L << v);
+    }
+
+    public boolean get(int u, int v) {
+        return (bits[u * wordsPerRow + (v >>> 6)] & (1L << v)) != 0;
+    }
+
+    void clearAll() {
+        Arrays.fill(bits, 0);
+    }
+
+    public int degree(int u) {
+        int count = 0;
+        int base = u * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(bits[base + w]);
+        }
+        return count;
+    }
+
+    // |N(u) ∩ N(v)|
+    public int countCommonNeighbors(int u, int v) {
+        int count = 0;
+        int a = u * wordsPerRow;
+        int b = v * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            count += Long.bitCount(bits[a + w] & bits[b + w]);
+        }
+        return count;
+    }
+
+    // N(u) ∩ N(v) in ascending order
+    public int[] commonNeighbors(int u, int v) {
+        int[] result = new int[countCommonNeighbors(u, v)];
+        int a = u * wordsPerRow;
+        int b = v * wordsPerRow;
+        int size = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long word = bits[a + w] & bits[b + w];
+            while (word != 0) {
+                result[size++] = (w << 6) + Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+            }
+        }
+        return result;
+    }
+
+    // One BFS level: next = (union of the rows of every frontier node) minus visited.
+    // All three arrays are wordsPerRow long; visited is updated to include next.
+    // Returns the number of nodes in next.
+    public int expandFrontier(long[] frontier, long[] visited, long[] next) {
+        Arrays.fill(next, 0);
+        for (int fw = 0; fw < wordsPerRow; fw++) {
+            long word = frontier[fw];
+            while (word != 0) {
+                int base = ((fw << 6) + Long.numberOfTrailingZeros(word)) * wordsPerRow;
+                for (int w = 0; w < wordsPerRow; w++) {
+                    next[w] |= bits[base + w];
+                }
+                word &= word - 1;
+            }
+        }
+        int count = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            next[w] &= ~visited[w];
+            visited[w] |= next[w];
+            count += Long.bitCount(next[w]);
+        }
+        return count;
+    }
+
+    // BFS levels from the source, -1 for unreachable nodes
+    public int[] bfsLevels(int source) {
+        int[] level = new int[numNodes];
+        Arrays.fill(level, -1);
+        long[] frontier = new long[wordsPerRow];
+        long[] visited = new long[wordsPerRow];
+        long[] next = new long[wordsPerRow];
+        frontier[source >>> 6] = 1L << source;
+        visited[source >>> 6] = 1L << source;
+        level[source] = 0;
+
+        for (int depth = 1; expandFrontier(frontier, visited, next) > 0; depth++) {
+            for (int w = 0; w < wordsPerRow; w++) {
+                long word = next[w];
+                while (word != 0) {
+                    level[(w << 6) + Long.numberOfTrailingZeros(word)] = depth;
+                    word &= word - 1;
+                }
+            }
+            long[] swap = frontier;
+            frontier = next;
+            next = swap;
+        }
+        return level;
+    }
+
+    // Triangles in the undirected graph this matrix holds (it must be symmetric).
+    // Each triangle u < v < w is counted once, at its lowest node, by masking the
+    // row intersection to bits above v. Rows are split across threads.
+    public long countTriangles() {
+        return IntStream.range(0, numNodes).parallel().mapToLong(this::trianglesAt).sum();
+    }
+
+    private long trianglesAt(int u) {
+        long count = 0;
+        int a = u * wordsPerRow;
+        for (int vw = u >>> 6; vw < wordsPerRow; vw++) {
+            // neighbours v of u with v > u
+            long word = bits[a + vw] & (vw == u >>> 6 ? -2L << u : -1L);
+            while (word != 0) {
+                int v = (vw << 6) + Long.numberOfTrailingZeros(word);
+                int b = v * wordsPerRow;
+                int first = v >>> 6;
+                count += Long.bitCount(bits[a + first] & bits[b + first] & (-2L << v));
+                for (int w = first + 1; w < wordsPerRow; w++) {
+                    count += Long.bitCount(bits[a + w] & bits[b + w]);
+                }
+                word &= word - 1;
+            }
+        }
+        return count;
+    }
+
+    public long memoryBytes() {
+        return 8L * bits.length;
+    }
+}
@@ -0,0 +1,202 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Node centrality measures. Every method returns one score per node.
+public class Centrality {
+    public static final double DEFAULT_DAMPING = 0.85;
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_ITERATIONS = 100;
+
+    public static double[] pageRank(CompactGraph graph) {
+        return pageRank(graph, DEFAULT_DAMPING, DEFAULT_TOLERANCE, DEFAULT_MAX_ITERATIONS);
+    }
+
+    // Power iteration, pull-based: each node sums the contributions of its in-neighbours
+    // from the transposed CSR, so every write goes to the node's own slot and the loop
+    // parallelises without atomics. Stops once the L1 change drops below the tolerance.
+    // Dangling nodes spread their rank evenly. Edge weights are ignored.
+    public static double[] pageRank(CompactGraph graph, double damping, double tolerance, int maxIterations) {
+        int n = graph.getNumNodes();
+        if (n == 0) return new double[0];
+
+        CompactGraph transposed = graph.reverse();
+        int[] inOffsets = transposed.getOffsets();
+        int[] inSources = transposed.getTargets();
+        int[] outOffsets = graph.getOffsets();
+
+        double[] rank = new double[n];
+        double[] next = new double[n];
+        double[] contribution = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+
+        for (int iteration = 0; iteration < maxIterations; iteration++) {
+            double[] current = rank;
+            double dangling = IntStream.range(0, n).parallel().mapToDouble(u -> {
+                int outDegree = outOffsets[u + 1] - outOffsets[u];
+                if (outDegree == 0) {
+                    contribution[u] = 0;
+                    return current[u];
+                }
+                contribution[u] = current[u] / outDegree;
+                return 0;
+            }).sum();
+
+            double base = (1 - damping) / n + damping * dangling / n;
+            double[] target = next;
+            double change = IntStream.range(0, n).parallel().mapToDouble(v -> {
+                double sum = 0;
+                for (int a = inOffsets[v]; a < inOffsets[v + 1]; a++) {
+                    sum += contribution[inSources[a]];
+                }
+                target[v] = base + damping * sum;
+                return Math.abs(target[v] - current[v]);
+            }).sum();
+
+            next = rank;
+            rank = target;
+            if (change < tolerance) break;
+        }
+        return rank;
+    }
+
+    // (in + out) degree over n - 1; an undirected edge counts once
+    public static double[] degree(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        double[] score = new double[n];
+        for (int u = 0; u < n; u++) {
+            score[u] += offsets[u + 1] - offsets[u];
+            if (graph.isDirected()) {
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    score[targets[a]]++;
+                }
+            }
+        }
+        if (n > 1) {
+            for (int u = 0; u < n; u++) {
+                score[u] /= n - 1;
+            }
+        }
+        return score;
+    }
+
+    // Brandes betweenness: one BFS (or Dijkstra, for weighted graphs) per source, run in
+    // parallel; each worker accumulates into its own array and the arrays are summed at
+    // the end. Undirected scores are halved since every pair is seen from both ends.
+    public static double[] betweenness(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        double[] score = IntStream.range(0, n).parallel()
+                .collect(() -> new BrandesWorker(graph), BrandesWorker::addSource, BrandesWorker::merge)
+                .score;
+        if (!graph.isDirected()) {
+            for (int v = 0; v < n; v++) {
+                score[v] /= 2;
+            }
+        }
+        return score;
+    }
+
+    private static class BrandesWorker {
+        private final CompactGraph graph;
+        private final double[] score;
+        private final int[] order;     // nodes in non-decreasing distance from the source
+        private final long[] dist;
+        private final double[] sigma;  // number of shortest paths from the source
+        private final double[] delta;
+        private final IndexedMinHeap heap;
+
+        BrandesWorker(CompactGraph graph) {
+            int n = graph.getNumNodes();
+            this.graph = graph;
+            score = new double[n];
+            order = new int[n];
+            dist = new long[n];
+            sigma = new double[n];
+            delta = new double[n];
+            heap = graph.isWeighted() ? new IndexedMinHeap(n) : null;
+            Arrays.fill(dist, -1);
+        }
+
+        void addSource(int s) {
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            int[] weights = graph.getWeights();
+            int settled = heap == null ? bfs(s, offsets, targets) : dijkstra(s, offsets, targets, weights);
+
+            // Dependencies in reverse distance order, walking successors instead of
+            // storing predecessor lists
+            for (int i = settled - 1; i >= 0; i--) {
+                int v = order[i];
+                double sum = 0;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    long step = heap == null ? 1 : weights[a];
+                    if (dist[w] == dist[v] + step && dist[w] > dist[v]) {
+                        sum += sigma[v] / sigma[w] * (1 + delta[w]);
+                    }
+                }
+                delta[v] = sum;
+                if (v != s) score[v] += sum;
+            }
+
+            for (int i = 0; i < settled; i++) {
+                int v = order[i];
+                dist[v] = -1;
+                sigma[v] = 0;
+                delta[v] = 0;
+            }
+        }
+
+        private int bfs(int s, int[] offsets, int[] targets) {
+            dist[s] = 0;
+            sigma[s] = 1;
+            order[0] = s;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int v = order[head++];
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    if (dist[w] < 0) {
+                        dist[w] = dist[v] + 1;
+                        order[tail++] = w;
+                    }
+                    if (dist[w] == dist[v] + 1) sigma[w] += sigma[v];
+                }
+            }
+            return tail;
+        }
+
+        private int dijkstra(int s, int[] offsets, int[] targets, int[] weights) {
+            heap.offer(s, 0);
+            dist[s] = 0;
+            sigma[s] = 1;
+            int settled = 0;
+            while (!heap.isEmpty()) {
+                int v = heap.poll();
+                order[settled++] = v;
+                for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                    int w = targets[a];
+                    long candidate = dist[v] + weights[a];
+                    if (dist[w] < 0 || candidate < dist[w]) {
+                        dist[w] = candidate;
+                        sigma[w] = sigma[v];
+                        heap.offer(w, (int) candidate);
+                    } else if (candidate == dist[w]) {
+                        sigma[w] += sigma[v];
+                    }
+                }
+            }
+            return settled;
+        }
+
+        void merge(BrandesWorker other) {
+            for (int v = 0; v < score.length; v++) {
+                score[v] += other.score[v];
+            }
+        }
+    }
+}
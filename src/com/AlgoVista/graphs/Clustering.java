@@ -0,0 +1,208 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+// Triangle counting and clustering coefficients. Edge directions and weights are
+// ignored: the graph is treated as simple and undirected.
+public class Clustering {
+
+    public static class Result {
+        private final long triangles;
+        private final long[] localTriangles;
+        private final int[] degrees;
+
+        Result(long triangles, long[] localTriangles, int[] degrees) {
+            this.triangles = triangles;
+            this.localTriangles = localTriangles;
+            this.degrees = degrees;
+        }
+
+        public long getTriangles() {
+            return triangles;
+        }
+
+        public long getTriangles(int node) {
+            return localTriangles[node];
+        }
+
+        // Triangles through the node over the pairs of its neighbours; 0 below degree 2
+        public double getLocalCoefficient(int node) {
+            long pairs = wedges(degrees[node]);
+            return pairs == 0 ? 0 : (double) localTriangles[node] / pairs;
+        }
+
+        public double[] getLocalCoefficients() {
+            double[] local = new double[degrees.length];
+            for (int v = 0; v < local.length; v++) {
+                local[v] = getLocalCoefficient(v);
+            }
+            return local;
+        }
+
+        // Transitivity: 3 * triangles / connected triples
+        public double getGlobalCoefficient() {
+            long triples = 0;
+            for (int d : degrees) {
+                triples += wedges(d);
+            }
+            return triples == 0 ? 0 : 3.0 * triangles / triples;
+        }
+
+        public double getAverageLocalCoefficient() {
+            if (degrees.length == 0) return 0;
+            double sum = 0;
+            for (int v = 0; v < degrees.length; v++) {
+                sum += getLocalCoefficient(v);
+            }
+            return sum / degrees.length;
+        }
+
+        private static long wedges(long degree) {
+            return degree * (degree - 1) / 2;
+        }
+    }
+
+    public static Result count(GraphModel model) {
+        return count(CompactGraph.from(model));
+    }
+
+    // Every edge is oriented from the endpoint of lower (degree, id) rank to the higher
+    // one, which caps out-degrees at O(√E) and finds each triangle exactly once at its
+    // lowest-ranked corner. Out-lists stay sorted by id, so u's and v's lists are
+    // intersected with a linear merge. Vertices are split across threads. Only u's task
+    // counts at u, so that count is a plain array slot; the other two corners are shared
+    // between tasks and counted with atomic increments in one array for the whole run.
+    public static Result count(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        CompactGraph simple = simpleUndirected(graph);
+        int[] offsets = simple.getOffsets();
+        int[] targets = simple.getTargets();
+
+        int[] degrees = new int[n];
+        for (int u = 0; u < n; u++) {
+            degrees[u] = offsets[u + 1] - offsets[u];
+        }
+
+        // Oriented out-lists
+        int[] outOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            int count = 0;
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                if (ranksBelow(u, targets[a], degrees)) count++;
+            }
+            outOffsets[u + 1] = outOffsets[u] + count;
+        }
+        int[] outTargets = new int[outOffsets[n]];
+        IntStream.range(0, n).parallel().forEach(u -> {
+            int slot = outOffsets[u];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                if (ranksBelow(u, targets[a], degrees)) outTargets[slot++] = targets[a];
+            }
+        });
+
+        long[] local = new long[n];
+        AtomicLongArray corners = new AtomicLongArray(n);
+        IntStream.range(0, n).parallel()
+                .forEach(u -> local[u] = countAt(u, outOffsets, outTargets, corners));
+
+        // Every triangle adds one to each of its three corners
+        long total = 0;
+        for (int v = 0; v < n; v++) {
+            local[v] += corners.get(v);
+            total += local[v];
+        }
+        return new Result(total / 3, local, degrees);
+    }
+
+    private static boolean ranksBelow(int u, int v, int[] degrees) {
+        return degrees[u] < degrees[v] || (degrees[u] == degrees[v] && u < v);
+    }
+
+    // Triangles found at u, their lowest-ranked corner; the other corners go to corners
+    private static long countAt(int u, int[] outOffsets, int[] outTargets, AtomicLongArray corners) {
+        long found = 0;
+        int uStart = outOffsets[u];
+        int uEnd = outOffsets[u + 1];
+        for (int a = uStart; a < uEnd; a++) {
+            int v = outTargets[a];
+            int i = uStart;
+            int j = outOffsets[v];
+            int jEnd = outOffsets[v + 1];
+            while (i < uEnd && j < jEnd) {
+                int x = outTargets[i];
+                int y = outTargets[j];
+                if (x < y) {
+                    i++;
+                } else if (x > y) {
+                    j++;
+                } else {
+                    found++;
+                    corners.getAndIncrement(v);
+                    corners.getAndIncrement(x);
+                    i++;
+                    j++;
+                }
+            }
+        }
+        return found;
+    }
+
+    // Symmetric CSR with rows sorted by id and without self-loops or parallel arcs
+    private static CompactGraph simpleUndirected(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        boolean mirror = graph.isDirected();
+
+        int[] rowOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                if (u == v) continue;
+                rowOffsets[u + 1]++;
+                if (mirror) rowOffsets[v + 1]++;
+            }
+        }
+        for (int u = 0; u < n; u++) {
+            rowOffsets[u + 1] += rowOffsets[u];
+        }
+
+        int[] fill = Arrays.copyOf(rowOffsets, n);
+        int[] rows = new int[rowOffsets[n]];
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                if (u == v) continue;
+                rows[fill[u]++] = v;
+                if (mirror) rows[fill[v]++] = u;
+            }
+        }
+
+        // Sort and deduplicate each row in place, then compact
+        int[] unique = new int[n];
+        IntStream.range(0, n).parallel().forEach(u -> {
+            int start = rowOffsets[u];
+            int end = rowOffsets[u + 1];
+            Arrays.sort(rows, start, end);
+            int size = 0;
+            for (int a = start; a < end; a++) {
+                if (size == 0 || rows[start + size - 1] != rows[a]) {
+                    rows[start + size++] = rows[a];
+                }
+            }
+            unique[u] = size;
+        });
+
+        int[] simpleOffsets = new int[n + 1];
+        for (int u = 0; u < n; u++) {
+            simpleOffsets[u + 1] = simpleOffsets[u] + unique[u];
+        }
+        int[] simpleTargets = new int[simpleOffsets[n]];
+        IntStream.range(0, n).parallel().forEach(u ->
+                System.arraycopy(rows, rowOffsets[u], simpleTargets, simpleOffsets[u], unique[u]));
+
+        return new CompactGraph(n, simpleOffsets, simpleTargets, new int[simpleTargets.length], false, false);
+    }
+}
@@ -0,0 +1,137 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+
+// Read-only CSR (compressed sparse row) copy of a GraphModel's adjacency list.
+// Arcs of node u live in targets/weights[offsets[u] .. offsets[u + 1]).
+public class CompactGraph {
+    private final int numNodes;
+    private final int[] offsets;
+    private final int[] targets;
+    private final int[] weights;
+    private final boolean isDirected;
+    private final boolean isWeighted;
+
+    public CompactGraph(int numNodes, int[] offsets, int[] targets, int[] weights,
+                        boolean isDirected, boolean isWeighted) {
+        this.numNodes = numNodes;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.isDirected = isDirected;
+        this.isWeighted = isWeighted;
+    }
+
+    public static CompactGraph from(GraphModel model) {
+        return from(model.snapshot());
+    }
+
+    // Reads only the immutable version, so it is safe on any thread
+    public static CompactGraph from(ImmutableGraph snapshot) {
+        int n = snapshot.getNumNodes();
+
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < n; i++) {
+            offsets[i + 1] = offsets[i] + snapshot.getDegree(i);
+        }
+
+        int[] targets = new int[offsets[n]];
+        int[] weights = new int[offsets[n]];
+        for (int i = 0; i < n; i++) {
+            snapshot.copyArcs(i, targets, weights, offsets[i]);
+        }
+
+        return new CompactGraph(n, offsets, targets, weights, snapshot.isDirected(), snapshot.isWeighted());
+    }
+
+    // Builds the CSR straight from edge arrays, without a GraphModel and its V x V
+    // matrices, so it scales to graphs read from files. Undirected edges are stored
+    // as two arcs. weights may be null for an unweighted graph.
+    public static CompactGraph fromEdges(int numNodes, int[] from, int[] to, int[] weights, int numEdges,
+                                         boolean isDirected, boolean isWeighted) {
+        int[] offsets = new int[numNodes + 1];
+        for (int e = 0; e < numEdges; e++) {
+            offsets[from[e] + 1]++;
+            if (!isDirected) offsets[to[e] + 1]++;
+        }
+        for (int i = 0; i < numNodes; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] fill = Arrays.copyOf(offsets, numNodes);
+        int[] targets = new int[offsets[numNodes]];
+        int[] arcWeights = new int[offsets[numNodes]];
+        for (int e = 0; e < numEdges; e++) {
+            int w = weights == null ? 1 : weights[e];
+            int slot = fill[from[e]]++;
+            targets[slot] = to[e];
+            arcWeights[slot] = w;
+            if (!isDirected) {
+                slot = fill[to[e]]++;
+                targets[slot] = from[e];
+                arcWeights[slot] = w;
+            }
+        }
+
+        return new CompactGraph(numNodes, offsets, targets, arcWeights, isDirected, isWeighted);
+    }
+
+    // Same nodes with every arc flipped; for undirected graphs this is the graph itself
+    public CompactGraph reverse() {
+        if (!isDirected) return this;
+
+        int[] revOffsets = new int[numNodes + 1];
+        for (int i = 0; i < targets.length; i++) {
+            revOffsets[targets[i] + 1]++;
+        }
+        for (int i = 0; i < numNodes; i++) {
+            revOffsets[i + 1] += revOffsets[i];
+        }
+
+        int[] fill = new int[numNodes];
+        int[] revTargets = new int[targets.length];
+        int[] revWeights = new int[targets.length];
+        for (int u = 0; u < numNodes; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                int slot = revOffsets[v] + fill[v]++;
+                revTargets[slot] = u;
+                revWeights[slot] = weights[a];
+            }
+        }
+
+        return new CompactGraph(numNodes, revOffsets, revTargets, revWeights, true, isWeighted);
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    public int getNumArcs() {
+        return targets.length;
+    }
+
+    public int getOutDegree(int node) {
+        return offsets[node + 1] - offsets[node];
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int[] getWeights() {
+        return weights;
+    }
+
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    public boolean isWeighted() {
+        return isWeighted;
+    }
+}
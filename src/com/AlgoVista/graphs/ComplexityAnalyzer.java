@@ -0,0 +1,407 @@
+package com.AlgoVista.graphs;
+
+import javafx.geometry.Point2D;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// Empirical complexity check. Generates random graphs of growing size with the same
+// generator as the graph views, times an engine on each (warm-up first, then the
+// median of the measured samples), and fits time ≈ c · size^k on a log-log scale, where
+// size = V + E. The fitted k is compared with the exponent the textbook bound predicts
+// over the same sizes, so a change that breaks an engine's scaling shows up as a
+// mismatch rather than as a slightly slower number. There is one workload per
+// algorithm of the traversal view, timing the engine the view runs for it; the report
+// names that engine.
+public class ComplexityAnalyzer {
+    public static final int[] DEFAULT_SIZES = {256, 512, 1024, 2048, 4096};
+    public static final int EDGES_PER_NODE = 4;
+    public static final int WARMUP_RUNS = 3;
+    public static final int MEASURED_RUNS = 7;
+
+    // Loose enough for cache effects on mid-sized graphs, tight enough that an engine
+    // going from linear to quadratic (exponent ~2) is reported
+    public static final double EXPONENT_TOLERANCE = 0.5;
+
+    // Exponents are fitted over the largest sizes only; the smallest graphs fit in the
+    // CPU caches and run disproportionately fast, which steepens the curve
+    private static final int FIT_POINTS = 3;
+
+    // Warm-up continues until the JIT has had this long with the engine, and short runs
+    // are repeated inside one sample so each sample spans at least MIN_SAMPLE_NANOS
+    private static final long WARMUP_NANOS = 200_000_000L;
+    private static final long MIN_SAMPLE_NANOS = 2_000_000L;
+
+    // Stop growing once one run takes this long; quadratic engines would otherwise
+    // dominate the whole benchmark
+    private static final long MAX_RUN_NANOS = 500_000_000L;
+
+    // Sources per Batch BFS / Batch Dijkstra run; fixed, so the bound is linear in V + E
+    private static final int BATCH_SOURCES = 8;
+
+    public static class Workload {
+        final String name;
+        final String engine;
+        final boolean directed;
+        final String bound;
+        final CostModel cost;
+        final Function<GraphModel, Runnable> prepare;
+
+        Workload(String name, String engine, boolean directed, String bound, CostModel cost,
+                 Function<GraphModel, Runnable> prepare) {
+            this.name = name;
+            this.engine = engine;
+            this.directed = directed;
+            this.bound = bound;
+            this.cost = cost;
+            this.prepare = prepare;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        // The code that is timed, e.g. "Traversals.bfs on GraphModel"
+        public String getEngine() {
+            return engine;
+        }
+
+        public String getBound() {
+            return bound;
+        }
+    }
+
+    private interface CostModel {
+        double of(double v, double e);
+    }
+
+    public static class Measurement {
+        private final int nodes;
+        private final int edges;
+        private final long medianNanos;
+        private double predictedNanos;
+
+        Measurement(int nodes, int edges, long medianNanos) {
+            this.nodes = nodes;
+            this.edges = edges;
+            this.medianNanos = medianNanos;
+        }
+
+        public int getNodes() {
+            return nodes;
+        }
+
+        public int getEdges() {
+            return edges;
+        }
+
+        public long getMedianNanos() {
+            return medianNanos;
+        }
+
+        // The bound scaled by the least-squares constant that best fits all sizes
+        public double getPredictedNanos() {
+            return predictedNanos;
+        }
+    }
+
+    public static class Report {
+        private final Workload workload;
+        private final List<Measurement> measurements;
+        private final double measuredExponent;
+        private final double expectedExponent;
+
+        Report(Workload workload, List<Measurement> measurements, double measuredExponent, double expectedExponent) {
+            this.workload = workload;
+            this.measurements = measurements;
+            this.measuredExponent = measuredExponent;
+            this.expectedExponent = expectedExponent;
+        }
+
+        public String getAlgorithm() {
+            return workload.name;
+        }
+
+        public String getEngine() {
+            return workload.engine;
+        }
+
+        public String getBound() {
+            return workload.bound;
+        }
+
+        public List<Measurement> getMeasurements() {
+            return measurements;
+        }
+
+        public double getMeasuredExponent() {
+            return measuredExponent;
+        }
+
+        public double getExpectedExponent() {
+            return expectedExponent;
+        }
+
+        // Regression check: measured growth no steeper than the bound allows
+        public boolean scalesAsExpected() {
+            return measurements.size() < 2 || measuredExponent <= expectedExponent + EXPONENT_TOLERANCE;
+        }
+
+        public String summary() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(workload.name).append("   bound ").append(workload.bound).append("\n");
+            sb.append("engine: ").append(workload.engine).append("\n");
+            sb.append("─────────────────────────\n");
+            sb.append("V\tE\tmeasured\tpredicted\n");
+            for (Measurement m : measurements) {
+                sb.append(String.format("%d\t%d\t%.3f ms\t%.3f ms\n", m.nodes, m.edges,
+                        m.medianNanos / 1e6, m.predictedNanos / 1e6));
+            }
+            sb.append("─────────────────────────\n");
+            sb.append(String.format("Fitted growth: (V+E)^%.2f\n", measuredExponent));
+            sb.append(String.format("Bound implies: (V+E)^%.2f\n", expectedExponent));
+            sb.append(scalesAsExpected() ? "Scaling OK\n" : "SCALING REGRESSION: grows faster than the bound\n");
+            return sb.toString();
+        }
+    }
+
+    private static final Map<String, Workload> WORKLOADS = new LinkedHashMap<>();
+
+    static {
+        CostModel linear = (v, e) -> v + e;
+        CostModel logLinear = (v, e) -> (v + e) * log2(v);
+
+        add(new Workload("BFS", "Traversals.bfs on GraphModel", true, "O(V + E)", linear,
+                model -> () -> Traversals.bfs(model, 0)));
+        add(new Workload("DFS", "Traversals.dfs on GraphModel", true, "O(V + E)", linear,
+                model -> () -> Traversals.dfs(model, 0)));
+        add(new Workload("Dijkstra", "Traversals.dijkstra on GraphModel", true, "O((V + E) log V)", logLinear,
+                model -> () -> Traversals.dijkstra(model, 0)));
+        add(new Workload("Bellman-Ford", "Traversals.bellmanFord on GraphModel", true, "O(V × E)",
+                (v, e) -> v * e, model -> () -> Traversals.bellmanFord(model, 0)));
+        add(new Workload("Batch BFS", "ShortestPathBatch.multiSourceBfs on CompactGraph, S = " + BATCH_SOURCES,
+                true, "O(S (V + E))", linear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            int[] sources = batchSources(model.getNumNodes());
+            return () -> ShortestPathBatch.multiSourceBfs(graph, sources);
+        }));
+        add(new Workload("Batch Dijkstra",
+                "ShortestPathBatch.multiSourceDijkstra on CompactGraph, S = " + BATCH_SOURCES,
+                true, "O(S (V + E) log V)", logLinear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            int[] sources = batchSources(model.getNumNodes());
+            return () -> ShortestPathBatch.multiSourceDijkstra(graph, sources);
+        }));
+        // The benchmark graphs are sparse, so allPairs runs Dijkstra from every node
+        add(new Workload("All-Pairs", "ShortestPathBatch.allPairs on CompactGraph", true, "O(V (V + E) log V)",
+                (v, e) -> v * (v + e) * log2(v), model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> ShortestPathBatch.allPairs(graph);
+        }));
+        // Like the view, these derive the heuristic scale and the reverse graph once per
+        // graph, so only the query itself is timed
+        add(new Workload("A*", "PointToPointSearch.aStar on CompactGraph",
+                true, "O((V + E) log V)", logLinear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            double[] xs = model.getNodeAttributes().xValues();
+            double[] ys = model.getNodeAttributes().yValues();
+            double scale = PointToPointSearch.heuristicScale(graph, xs, ys);
+            int target = model.getNumNodes() - 1;
+            return () -> PointToPointSearch.aStar(graph, xs, ys, scale, 0, target);
+        }));
+        add(new Workload("Bidirectional Dijkstra", "PointToPointSearch.bidirectionalDijkstra on CompactGraph",
+                true, "O((V + E) log V)", logLinear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            CompactGraph reverse = graph.reverse();
+            int target = model.getNumNodes() - 1;
+            return () -> PointToPointSearch.bidirectionalDijkstra(graph, reverse, 0, target);
+        }));
+        // The view builds the index once per graph and then queries it; the build dominates.
+        // Its cost depends on how many shortcuts contraction adds, so there is no tight
+        // bound: the reference is what road-like graphs reach, and random graphs such as
+        // these contract much worse and are expected to exceed it.
+        add(new Workload("Contraction Hierarchies", "ContractionHierarchy.build + query on GraphModel", true,
+                "build O((V + E) log V) on road-like graphs", logLinear, model -> {
+            int target = model.getNumNodes() - 1;
+            return () -> ContractionHierarchy.build(model).query(0, target);
+        }));
+        add(new Workload("Connected Components", "GraphAnalysis.connectedComponents on GraphModel",
+                false, "O(V + E α(V))", linear,
+                model -> () -> GraphAnalysis.connectedComponents(model)));
+        add(new Workload("Strongly Connected Components", "GraphAnalysis.stronglyConnectedComponents on CompactGraph",
+                true, "O(V + E)", linear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> GraphAnalysis.stronglyConnectedComponents(graph);
+        }));
+        add(new Workload("Topological Sort", "GraphAnalysis.topologicalSort on CompactGraph",
+                true, "O(V + E)", linear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> GraphAnalysis.topologicalSort(graph);
+        }));
+        add(new Workload("Kruskal MST", "MinimumSpanningTree.kruskal on edge arrays",
+                false, "O(E + V α(V))", linear, model -> {
+            MinimumSpanningTree.EdgeArrays edges = MinimumSpanningTree.EdgeArrays.from(model);
+            return () -> MinimumSpanningTree.kruskal(edges);
+        }));
+        add(new Workload("Prim MST", "MinimumSpanningTree.prim on CompactGraph",
+                false, "O((V + E) log V)", logLinear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> MinimumSpanningTree.prim(graph, 0);
+        }));
+        add(new Workload("Borůvka MST", "MinimumSpanningTree.boruvka on edge arrays",
+                false, "O(E log V)", (v, e) -> e * log2(v), model -> {
+            MinimumSpanningTree.EdgeArrays edges = MinimumSpanningTree.EdgeArrays.from(model);
+            return () -> MinimumSpanningTree.boruvka(edges);
+        }));
+        add(new Workload("Max Flow (Dinic)", "MaxFlow.dinic", true, "O(V² E)", (v, e) -> v * v * e, model -> {
+            int target = model.getNumNodes() - 1;
+            return () -> MaxFlow.dinic(MaxFlow.Network.from(model), 0, target);
+        }));
+        add(new Workload("Max Flow (Push-Relabel)", "MaxFlow.pushRelabel",
+                true, "O(V² √E)", (v, e) -> v * v * Math.sqrt(e), model -> {
+            int target = model.getNumNodes() - 1;
+            return () -> MaxFlow.pushRelabel(MaxFlow.Network.from(model), 0, target);
+        }));
+        add(new Workload("PageRank", "Centrality.pageRank on CompactGraph", true, "O(k (V + E))", linear, model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> Centrality.pageRank(graph);
+        }));
+        add(new Workload("Betweenness", "Centrality.betweenness on CompactGraph",
+                true, "O(V (V + E))", (v, e) -> v * (v + e), model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> Centrality.betweenness(graph);
+        }));
+        add(new Workload("Triangle Count", "Clustering.count on CompactGraph",
+                false, "O(E √E)", (v, e) -> e * Math.sqrt(e), model -> {
+            CompactGraph graph = CompactGraph.from(model);
+            return () -> Clustering.count(graph);
+        }));
+    }
+
+    // Evenly spread over the nodes
+    private static int[] batchSources(int n) {
+        int[] sources = new int[Math.min(BATCH_SOURCES, n)];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = (int) ((long) i * n / sources.length);
+        }
+        return sources;
+    }
+
+    private static void add(Workload workload) {
+        WORKLOADS.put(workload.name, workload);
+    }
+
+    public static boolean supports(String algorithm) {
+        return WORKLOADS.containsKey(algorithm);
+    }
+
+    public static List<String> algorithms() {
+        return new ArrayList<>(WORKLOADS.keySet());
+    }
+
+    public static Report analyze(String algorithm) {
+        return analyze(algorithm, DEFAULT_SIZES, new Random(42), null);
+    }
+
+    // progress, if given, receives each measurement as soon as it is taken
+    public static Report analyze(String algorithm, int[] sizes, Random random, Consumer<Measurement> progress) {
+        Workload workload = WORKLOADS.get(algorithm);
+        if (workload == null) {
+            throw new IllegalArgumentException("No benchmark workload for " + algorithm);
+        }
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (int n : sizes) {
+            GraphModel model = randomGraph(n, workload.directed, random);
+            Runnable run = workload.prepare.apply(model);
+
+            long warmupStart = System.nanoTime();
+            long lastRun = 0;
+            for (int i = 0; i < WARMUP_RUNS || System.nanoTime() - warmupStart < WARMUP_NANOS; i++) {
+                long start = System.nanoTime();
+                run.run();
+                lastRun = System.nanoTime() - start;
+                if (lastRun > MAX_RUN_NANOS && i + 1 >= WARMUP_RUNS) break;
+            }
+
+            int repeats = (int) Math.max(1, MIN_SAMPLE_NANOS / Math.max(1, lastRun));
+            long[] times = new long[MEASURED_RUNS];
+            for (int i = 0; i < MEASURED_RUNS; i++) {
+                long start = System.nanoTime();
+                for (int r = 0; r < repeats; r++) {
+                    run.run();
+                }
+                times[i] = (System.nanoTime() - start) / repeats;
+            }
+            Arrays.sort(times);
+
+            int edges = model.getEdgeList().size() / (model.isDirected() ? 1 : 2);
+            Measurement m = new Measurement(n, edges, times[MEASURED_RUNS / 2]);
+            measurements.add(m);
+            if (progress != null) progress.accept(m);
+            if (m.medianNanos > MAX_RUN_NANOS) break;
+        }
+
+        fitPrediction(workload, measurements);
+        return new Report(workload, Collections.unmodifiableList(measurements),
+                slope(measurements, m -> (double) m.medianNanos),
+                slope(measurements, m -> workload.cost.of(m.nodes, m.edges)));
+    }
+
+    // Weighted graph with EDGES_PER_NODE · n edges from the views' random generator,
+    // nodes laid out on a circle so A* has positions to estimate from
+    private static GraphModel randomGraph(int n, boolean directed, Random random) {
+        GraphModel model = new GraphModel(n, directed, true);
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            model.setNodePosition(i, new Point2D(1000 * Math.cos(angle), 1000 * Math.sin(angle)));
+        }
+        model.addRandomEdges(EDGES_PER_NODE * n, random);
+        return model;
+    }
+
+    // Least-squares c for time ≈ c · cost through the origin
+    private static void fitPrediction(Workload workload, List<Measurement> measurements) {
+        double num = 0;
+        double den = 0;
+        for (Measurement m : measurements) {
+            double cost = workload.cost.of(m.nodes, m.edges);
+            num += cost * m.medianNanos;
+            den += cost * cost;
+        }
+        double c = den == 0 ? 0 : num / den;
+        for (Measurement m : measurements) {
+            m.predictedNanos = c * workload.cost.of(m.nodes, m.edges);
+        }
+    }
+
+    // Slope of log(y) against log(V + E) over the last FIT_POINTS sizes
+    private static double slope(List<Measurement> measurements, Function<Measurement, Double> y) {
+        List<Measurement> tail = measurements.subList(Math.max(0, measurements.size() - FIT_POINTS),
+                measurements.size());
+        int k = tail.size();
+        if (k < 2) return 0;
+        double sx = 0, sy = 0, sxx = 0, sxy = 0;
+        for (Measurement m : tail) {
+            double lx = Math.log(m.nodes + m.edges);
+            double ly = Math.log(Math.max(1, y.apply(m)));
+            sx += lx;
+            sy += ly;
+            sxx += lx * lx;
+            sxy += lx * ly;
+        }
+        double den = k * sxx - sx * sx;
+        return den == 0 ? 0 : (k * sxy - sx * sy) / den;
+    }
+
+    private static double log2(double x) {
+        return Math.log(Math.max(2, x)) / Math.log(2);
+    }
+}
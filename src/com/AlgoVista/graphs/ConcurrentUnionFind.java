@@ -0,0 +1,58 @@
+package com.AlgoVista.graphs;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+// Lock-free disjoint-set forest. Roots are always linked from the larger index to the
+// smaller one with a single CAS, which can never create a cycle, and finds use
+// CAS path halving. Safe to call union/find from any number of threads.
+public class ConcurrentUnionFind {
+    private final AtomicIntegerArray parent;
+
+    public ConcurrentUnionFind(int size) {
+        parent = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int size() {
+        return parent.length();
+    }
+
+    public int find(int x) {
+        while (true) {
+            int p = parent.get(x);
+            if (p == x) return x;
+            int grandparent = parent.get(p);
+            if (p != grandparent) {
+                parent.compareAndSet(x, p, grandparent);
+            }
+            x = grandparent;
+        }
+    }
+
+    // Returns true if a and b were in different sets
+    public boolean union(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) return false;
+            if (rootA < rootB) {
+                int tmp = rootA;
+                rootA = rootB;
+                rootB = tmp;
+            }
+            if (parent.compareAndSet(rootA, rootA, rootB)) return true;
+        }
+    }
+
+    public boolean connected(int a, int b) {
+        while (true) {
+            int rootA = find(a);
+            int rootB = find(b);
+            if (rootA == rootB) return true;
+            // rootA may have been linked meanwhile; only a still-root answer is final
+            if (parent.get(rootA) == rootA) return false;
+        }
+    }
+}
@@ -0,0 +1,623 @@
+package com.AlgoVista.graphs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Contraction Hierarchies index for repeated shortest-path queries on one graph.
+// Nodes are contracted in edge-difference order; every shortcut u -> w that replaces a
+// path u -> v -> w remembers v so query paths can be unpacked to original edges.
+// Queries run two upward Dijkstra searches that only ever move to higher ranks.
+public class ContractionHierarchy {
+    private static final int INF = Integer.MAX_VALUE / 2;
+    private static final int FILE_MAGIC = 0x41564348; // "AVCH"
+    private static final int FILE_VERSION = 1;
+    // Witness searches are cut off early; a missed witness only costs an extra shortcut
+    private static final int WITNESS_SETTLE_LIMIT = 500;
+    private static final int SIMULATION_SETTLE_LIMIT = 40;
+    private static final int PARALLEL_THRESHOLD = 64;
+
+    private final int numNodes;
+    private final int[] rank;
+    private final int numShortcuts;
+
+    // Upward arcs u -> v with rank[v] > rank[u], stored at u
+    private final int[] upOffsets, upTargets, upWeights, upMiddle;
+    // Arcs u -> v with rank[u] > rank[v], stored at v and pointing back to u
+    private final int[] downOffsets, downTargets, downWeights, downMiddle;
+
+    private ContractionHierarchy(int numNodes, int[] rank, int numShortcuts,
+                                 int[] upOffsets, int[] upTargets, int[] upWeights, int[] upMiddle,
+                                 int[] downOffsets, int[] downTargets, int[] downWeights, int[] downMiddle) {
+        this.numNodes = numNodes;
+        this.rank = rank;
+        this.numShortcuts = numShortcuts;
+        this.upOffsets = upOffsets;
+        this.upTargets = upTargets;
+        this.upWeights = upWeights;
+        this.upMiddle = upMiddle;
+        this.downOffsets = downOffsets;
+        this.downTargets = downTargets;
+        this.downWeights = downWeights;
+        this.downMiddle = downMiddle;
+    }
+
+    public static ContractionHierarchy build(GraphModel model) {
+        return build(CompactGraph.from(model));
+    }
+
+    public static ContractionHierarchy build(CompactGraph graph) {
+        return new Builder(graph).run();
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    public int getNumShortcuts() {
+        return numShortcuts;
+    }
+
+    public int getRank(int node) {
+        return rank[node];
+    }
+
+    // ---------------------------------------------------------------- queries
+
+    private static class QueryScratch {
+        int[] distF, distB, parentArcF, parentArcB;
+        int[] touched;
+        int touchedCount;
+        IndexedMinHeap queueF, queueB;
+
+        QueryScratch(int n) {
+            distF = new int[n];
+            distB = new int[n];
+            parentArcF = new int[n];
+            parentArcB = new int[n];
+            touched = new int[2 * n];
+            Arrays.fill(distF, INF);
+            Arrays.fill(distB, INF);
+            queueF = new IndexedMinHeap(n);
+            queueB = new IndexedMinHeap(n);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                distF[touched[i]] = INF;
+                distB[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            queueF.clear();
+            queueB.clear();
+        }
+    }
+
+    private final ThreadLocal<QueryScratch> scratch = new ThreadLocal<>();
+
+    private QueryScratch scratch() {
+        QueryScratch s = scratch.get();
+        if (s == null) {
+            s = new QueryScratch(numNodes);
+            scratch.set(s);
+        }
+        return s;
+    }
+
+    // Distance only; allocates nothing once the calling thread has its scratch
+    public int distance(int source, int target) {
+        QueryScratch s = scratch();
+        int meeting = search(s, source, target, null);
+        int result = meeting < 0 ? INF : s.distF[meeting] + s.distB[meeting];
+        s.reset();
+        return result;
+    }
+
+    public PointToPointSearch.Result query(int source, int target) {
+        QueryScratch s = scratch();
+        List<Integer> settled = new ArrayList<>();
+        int meeting = search(s, source, target, settled);
+
+        List<Integer> path = new ArrayList<>();
+        int distance = INF;
+        if (meeting >= 0) {
+            distance = s.distF[meeting] + s.distB[meeting];
+
+            // Forward half: source .. meeting
+            List<Integer> forwardArcs = new ArrayList<>();
+            for (int v = meeting; v != source; ) {
+                int arc = s.parentArcF[v];
+                forwardArcs.add(arc);
+                v = findUpTail(arc);
+            }
+            Collections.reverse(forwardArcs);
+            path.add(source);
+            for (int arc : forwardArcs) {
+                unpack(findUpTail(arc), upTargets[arc], upWeights[arc], upMiddle[arc], path);
+            }
+
+            // Backward half: meeting .. target
+            for (int v = meeting; v != target; ) {
+                int arc = s.parentArcB[v];
+                int next = findDownTail(arc);
+                unpack(v, next, downWeights[arc], downMiddle[arc], path);
+                v = next;
+            }
+        }
+
+        s.reset();
+        return new PointToPointSearch.Result(distance, path, settled);
+    }
+
+    private int search(QueryScratch s, int source, int target, List<Integer> settled) {
+        s.distF[source] = 0;
+        s.distB[target] = 0;
+        s.touched[s.touchedCount++] = source;
+        s.touched[s.touchedCount++] = target;
+        s.queueF.offer(source, 0);
+        s.queueB.offer(target, 0);
+
+        int best = INF;
+        int meeting = -1;
+        if (source == target) {
+            best = 0;
+            meeting = source;
+        }
+
+        while (!s.queueF.isEmpty() || !s.queueB.isEmpty()) {
+            int minF = s.queueF.isEmpty() ? INF : s.queueF.peekKey();
+            int minB = s.queueB.isEmpty() ? INF : s.queueB.peekKey();
+            if (Math.min(minF, minB) >= best) break;
+
+            boolean forward = minF <= minB;
+            IndexedMinHeap queue = forward ? s.queueF : s.queueB;
+            int[] dist = forward ? s.distF : s.distB;
+            int[] otherDist = forward ? s.distB : s.distF;
+            int[] parentArc = forward ? s.parentArcF : s.parentArcB;
+            int[] offsets = forward ? upOffsets : downOffsets;
+            int[] targets = forward ? upTargets : downTargets;
+            int[] weights = forward ? upWeights : downWeights;
+
+            int node = queue.poll();
+            if (settled != null) settled.add(node);
+            if (otherDist[node] < INF && dist[node] + otherDist[node] < best) {
+                best = dist[node] + otherDist[node];
+                meeting = node;
+            }
+
+            for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                int v = targets[a];
+                int newDist = dist[node] + weights[a];
+                if (newDist < dist[v]) {
+                    if (s.distF[v] == INF && s.distB[v] == INF) {
+                        s.touched[s.touchedCount++] = v;
+                    }
+                    dist[v] = newDist;
+                    parentArc[v] = a;
+                    queue.offer(v, newDist);
+                }
+            }
+        }
+
+        return meeting;
+    }
+
+    // Appends the original nodes of arc from -> to (excluding from) to the path
+    private void unpack(int from, int to, int weight, int middle, List<Integer> path) {
+        if (middle < 0) {
+            path.add(to);
+            return;
+        }
+        // from -> middle has rank[from] > rank[middle]: a down arc stored at middle
+        int first = findArc(downOffsets, downTargets, downWeights, middle, from, -1);
+        // middle -> to has rank[to] > rank[middle]: an up arc stored at middle
+        int second = findArc(upOffsets, upTargets, upWeights, middle, to, weight - downWeights[first]);
+        unpack(from, middle, downWeights[first], downMiddle[first], path);
+        unpack(middle, to, upWeights[second], upMiddle[second], path);
+    }
+
+    private int findArc(int[] offsets, int[] targets, int[] weights, int at, int other, int weight) {
+        int bestArc = -1;
+        for (int a = offsets[at]; a < offsets[at + 1]; a++) {
+            if (targets[a] != other) continue;
+            if (weight >= 0 ? weights[a] == weight : bestArc < 0 || weights[a] < weights[bestArc]) {
+                bestArc = a;
+                if (weight >= 0) break;
+            }
+        }
+        return bestArc;
+    }
+
+    private int findUpTail(int arc) {
+        return upperBound(upOffsets, arc);
+    }
+
+    // Down arcs are stored at their lower-ranked head, which is the next node towards the target
+    private int findDownTail(int arc) {
+        return upperBound(downOffsets, arc);
+    }
+
+    private int upperBound(int[] offsets, int arc) {
+        int lo = 0;
+        int hi = numNodes - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (offsets[mid] <= arc) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // ---------------------------------------------------------------- persistence
+
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(FILE_MAGIC);
+            out.writeInt(FILE_VERSION);
+            out.writeInt(numNodes);
+            out.writeInt(numShortcuts);
+            writeArray(out, rank);
+            writeArray(out, upOffsets);
+            writeArray(out, upTargets);
+            writeArray(out, upWeights);
+            writeArray(out, upMiddle);
+            writeArray(out, downOffsets);
+            writeArray(out, downTargets);
+            writeArray(out, downWeights);
+            writeArray(out, downMiddle);
+        }
+    }
+
+    public static ContractionHierarchy load(Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) {
+                throw new IOException("Not a contraction hierarchy file: " + file);
+            }
+            int version = in.readInt();
+            if (version != FILE_VERSION) {
+                throw new IOException("Unsupported contraction hierarchy version " + version);
+            }
+            int numNodes = in.readInt();
+            int numShortcuts = in.readInt();
+            return new ContractionHierarchy(numNodes, readArray(in), numShortcuts,
+                    readArray(in), readArray(in), readArray(in), readArray(in),
+                    readArray(in), readArray(in), readArray(in), readArray(in));
+        }
+    }
+
+    private static void writeArray(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    private static int[] readArray(DataInputStream in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    // ---------------------------------------------------------------- preprocessing
+
+    // Growable primitive arc list used while the graph is being contracted
+    private static class ArcList {
+        int[] nodes = new int[4];
+        int[] weights = new int[4];
+        int[] middles = new int[4];
+        int size;
+
+        // Keeps a single arc per neighbour, with the smaller weight
+        void put(int node, int weight, int middle) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    if (weight < weights[i]) {
+                        weights[i] = weight;
+                        middles[i] = middle;
+                    }
+                    return;
+                }
+            }
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+                middles = Arrays.copyOf(middles, size * 2);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            middles[size] = middle;
+            size++;
+        }
+
+        void remove(int node) {
+            for (int i = 0; i < size; i++) {
+                if (nodes[i] == node) {
+                    size--;
+                    nodes[i] = nodes[size];
+                    weights[i] = weights[size];
+                    middles[i] = middles[size];
+                    return;
+                }
+            }
+        }
+    }
+
+    private static class WitnessScratch {
+        final int[] dist;
+        final int[] touched;
+        final IndexedMinHeap heap;
+        int touchedCount;
+
+        WitnessScratch(int n) {
+            dist = new int[n];
+            touched = new int[n];
+            heap = new IndexedMinHeap(n);
+            Arrays.fill(dist, INF);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                dist[touched[i]] = INF;
+            }
+            touchedCount = 0;
+            heap.clear();
+        }
+    }
+
+    private static class Builder {
+        private final int n;
+        private final ArcList[] out;
+        private final ArcList[] in;
+        private final boolean[] contracted;
+        private final int[] contractedNeighbors;
+        private final ThreadLocal<WitnessScratch> witnessScratch;
+
+        // Every arc that ends up in the hierarchy: tail, head, weight, middle
+        private int[] arcTail = new int[16], arcHead = new int[16], arcWeight = new int[16], arcMiddle = new int[16];
+        private int arcCount;
+        private int shortcutCount;
+
+        Builder(CompactGraph graph) {
+            n = graph.getNumNodes();
+            out = new ArcList[n];
+            in = new ArcList[n];
+            for (int i = 0; i < n; i++) {
+                out[i] = new ArcList();
+                in[i] = new ArcList();
+            }
+            contracted = new boolean[n];
+            contractedNeighbors = new int[n];
+            witnessScratch = ThreadLocal.withInitial(() -> new WitnessScratch(n));
+
+            int[] offsets = graph.getOffsets();
+            int[] targets = graph.getTargets();
+            int[] weights = graph.getWeights();
+            for (int u = 0; u < n; u++) {
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    int v = targets[a];
+                    if (u == v) continue;
+                    out[u].put(v, weights[a], -1);
+                    in[v].put(u, weights[a], -1);
+                }
+            }
+        }
+
+        ContractionHierarchy run() {
+            // Original arcs (deduplicated) belong to the hierarchy as well
+            for (int u = 0; u < n; u++) {
+                for (int i = 0; i < out[u].size; i++) {
+                    recordArc(u, out[u].nodes[i], out[u].weights[i], -1);
+                }
+            }
+
+            int[] priority = new int[n];
+            IntStream.range(0, n).parallel().forEach(v -> priority[v] = computePriority(v));
+
+            IndexedMinHeap order = new IndexedMinHeap(n);
+            for (int v = 0; v < n; v++) {
+                order.offer(v, priority[v]);
+            }
+
+            int[] rank = new int[n];
+            int nextRank = 0;
+            while (!order.isEmpty()) {
+                int v = order.poll();
+
+                // Lazy update: re-evaluate and defer if v is no longer the cheapest node
+                int current = computePriority(v);
+                if (!order.isEmpty() && current > order.peekKey()) {
+                    order.offer(v, current);
+                    continue;
+                }
+
+                contract(v);
+                rank[v] = nextRank++;
+
+                for (int i = 0; i < out[v].size; i++) {
+                    updateNeighbor(out[v].nodes[i], order);
+                }
+                for (int i = 0; i < in[v].size; i++) {
+                    updateNeighbor(in[v].nodes[i], order);
+                }
+            }
+
+            return assemble(rank);
+        }
+
+        private void updateNeighbor(int u, IndexedMinHeap order) {
+            if (contracted[u]) return;
+            contractedNeighbors[u]++;
+            // Only decreases are applied here; increases are caught by the lazy check on poll
+            int key = computePriority(u);
+            if (order.contains(u) && key < order.getKey(u)) {
+                order.offer(u, key);
+            }
+        }
+
+        private int computePriority(int v) {
+            int removed = 0;
+            for (int i = 0; i < in[v].size; i++) if (!contracted[in[v].nodes[i]]) removed++;
+            for (int i = 0; i < out[v].size; i++) if (!contracted[out[v].nodes[i]]) removed++;
+            int added = findShortcuts(v, SIMULATION_SETTLE_LIMIT).size() / 3;
+            return (added - removed) + contractedNeighbors[v];
+        }
+
+        private void contract(int v) {
+            List<Integer> shortcuts = findShortcuts(v, WITNESS_SETTLE_LIMIT);
+            for (int i = 0; i < shortcuts.size(); i += 3) {
+                int u = shortcuts.get(i);
+                int w = shortcuts.get(i + 1);
+                int weight = shortcuts.get(i + 2);
+                out[u].put(w, weight, v);
+                in[w].put(u, weight, v);
+                recordArc(u, w, weight, v);
+                shortcutCount++;
+            }
+            contracted[v] = true;
+
+            // Drop v from its neighbours so later searches only walk the remaining graph
+            for (int i = 0; i < out[v].size; i++) {
+                in[out[v].nodes[i]].remove(v);
+            }
+            for (int i = 0; i < in[v].size; i++) {
+                out[in[v].nodes[i]].remove(v);
+            }
+        }
+
+        // Flattened (u, w, weight) triples of shortcuts needed if v were contracted now.
+        // Witness searches from each in-neighbour are independent and run in parallel.
+        private List<Integer> findShortcuts(int v, int settleLimit) {
+            ArcList incoming = in[v];
+            ArcList outgoing = out[v];
+
+            int maxOut = 0;
+            for (int j = 0; j < outgoing.size; j++) {
+                if (!contracted[outgoing.nodes[j]]) maxOut = Math.max(maxOut, outgoing.weights[j]);
+            }
+            final int maxOutWeight = maxOut;
+
+            IntStream sources = IntStream.range(0, incoming.size);
+            if ((long) incoming.size * outgoing.size >= PARALLEL_THRESHOLD) {
+                sources = sources.parallel();
+            }
+
+            List<int[]> found = Collections.synchronizedList(new ArrayList<>());
+            sources.forEach(i -> {
+                int u = incoming.nodes[i];
+                if (contracted[u]) return;
+                int viaWeight = incoming.weights[i];
+
+                WitnessScratch s = witnessScratch.get();
+                witnessSearch(s, u, v, viaWeight + maxOutWeight, settleLimit);
+                for (int j = 0; j < outgoing.size; j++) {
+                    int w = outgoing.nodes[j];
+                    if (w == u || contracted[w]) continue;
+                    int viaDist = viaWeight + outgoing.weights[j];
+                    if (s.dist[w] > viaDist) {
+                        found.add(new int[]{u, w, viaDist});
+                    }
+                }
+                s.reset();
+            });
+
+            List<Integer> flat = new ArrayList<>(found.size() * 3);
+            for (int[] shortcut : found) {
+                flat.add(shortcut[0]);
+                flat.add(shortcut[1]);
+                flat.add(shortcut[2]);
+            }
+            return flat;
+        }
+
+        // Bounded Dijkstra from u over uncontracted nodes, never passing through v
+        private void witnessSearch(WitnessScratch s, int u, int v, int limit, int settleLimit) {
+            s.dist[u] = 0;
+            s.touched[s.touchedCount++] = u;
+            s.heap.offer(u, 0);
+            int settled = 0;
+
+            while (!s.heap.isEmpty() && settled < settleLimit) {
+                int node = s.heap.poll();
+                int d = s.dist[node];
+                settled++;
+
+                ArcList arcs = out[node];
+                for (int i = 0; i < arcs.size; i++) {
+                    int next = arcs.nodes[i];
+                    if (next == v || contracted[next]) continue;
+                    int newDist = d + arcs.weights[i];
+                    if (newDist <= limit && newDist < s.dist[next]) {
+                        if (s.dist[next] == INF) s.touched[s.touchedCount++] = next;
+                        s.dist[next] = newDist;
+                        s.heap.offer(next, newDist);
+                    }
+                }
+            }
+        }
+
+        private void recordArc(int tail, int head, int weight, int middle) {
+            if (arcCount == arcTail.length) {
+                int size = arcCount * 2;
+                arcTail = Arrays.copyOf(arcTail, size);
+                arcHead = Arrays.copyOf(arcHead, size);
+                arcWeight = Arrays.copyOf(arcWeight, size);
+                arcMiddle = Arrays.copyOf(arcMiddle, size);
+            }
+            arcTail[arcCount] = tail;
+            arcHead[arcCount] = head;
+            arcWeight[arcCount] = weight;
+            arcMiddle[arcCount] = middle;
+            arcCount++;
+        }
+
+        private ContractionHierarchy assemble(int[] rank) {
+            int[] upOffsets = new int[n + 1];
+            int[] downOffsets = new int[n + 1];
+            for (int a = 0; a < arcCount; a++) {
+                if (rank[arcHead[a]] > rank[arcTail[a]]) {
+                    upOffsets[arcTail[a] + 1]++;
+                } else {
+                    downOffsets[arcHead[a] + 1]++;
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                upOffsets[i + 1] += upOffsets[i];
+                downOffsets[i + 1] += downOffsets[i];
+            }
+
+            int[] upTargets = new int[upOffsets[n]], upWeights = new int[upOffsets[n]], upMiddle = new int[upOffsets[n]];
+            int[] downTargets = new int[downOffsets[n]], downWeights = new int[downOffsets[n]], downMiddle = new int[downOffsets[n]];
+            int[] upFill = new int[n];
+            int[] downFill = new int[n];
+            for (int a = 0; a < arcCount; a++) {
+                int tail = arcTail[a];
+                int head = arcHead[a];
+                if (rank[head] > rank[tail]) {
+                    int slot = upOffsets[tail] + upFill[tail]++;
+                    upTargets[slot] = head;
+                    upWeights[slot] = arcWeight[a];
+                    upMiddle[slot] = arcMiddle[a];
+                } else {
+                    int slot = downOffsets[head] + downFill[head]++;
+                    downTargets[slot] = tail;
+                    downWeights[slot] = arcWeight[a];
+                    downMiddle[slot] = arcMiddle[a];
+                }
+            }
+
+            return new ContractionHierarchy(n, rank, shortcutCount,
+                    upOffsets, upTargets, upWeights, upMiddle,
+                    downOffsets, downTargets, downWeights, downMiddle);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.AlgoVista.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Single-source distances and parents kept up to date while edges are inserted,
+// in the style of Ramalingam-Reps: an insertion can only shorten paths, so the repair
+// is a Dijkstra restricted to the nodes whose distance actually drops.
+// With unitWeights the distances are BFS levels (hop counts) instead.
+public final class DynamicShortestPaths {
+    public static final int INF = Integer.MAX_VALUE / 2;
+
+    private final GraphModel model;
+    private final int source;
+    private final boolean unitWeights;
+    private final int[] dist;
+    private final int[] parent;
+    private final IndexedMinHeap heap;
+    private final List<Integer> lastAffected = new ArrayList<>();
+
+    public DynamicShortestPaths(GraphModel model, int source, boolean unitWeights) {
+        this.model = model;
+        this.source = source;
+        this.unitWeights = unitWeights;
+        this.dist = new int[model.getNumNodes()];
+        this.parent = new int[model.getNumNodes()];
+        this.heap = new IndexedMinHeap(model.getNumNodes());
+        recompute();
+    }
+
+    // Full O((V + E) log V) rebuild; only needed when the source changes
+    public void recompute() {
+        Arrays.fill(dist, INF);
+        Arrays.fill(parent, -1);
+        dist[source] = 0;
+        heap.offer(source, 0);
+        lastAffected.clear();
+        propagate();
+    }
+
+    // Call after model.addEdge(from, to, weight). Returns the nodes whose distance
+    // or parent changed; work is proportional to those nodes and their edges.
+    public List<Integer> edgeInserted(int from, int to, int weight) {
+        lastAffected.clear();
+        relaxInto(from, to, weight);
+        if (!model.isDirected()) {
+            relaxInto(to, from, weight);
+        }
+        propagate();
+        return lastAffected;
+    }
+
+    private void relaxInto(int from, int to, int weight) {
+        if (dist[from] >= INF) return;
+        int candidate = dist[from] + (unitWeights ? 1 : weight);
+        if (candidate < dist[to]) {
+            dist[to] = candidate;
+            parent[to] = from;
+            heap.offer(to, candidate);
+        }
+    }
+
+    private void propagate() {
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            lastAffected.add(node);
+            for (int[] neighbor : model.getAdjList().get(node)) {
+                relaxInto(node, neighbor[0], neighbor[1]);
+            }
+        }
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public boolean usesUnitWeights() {
+        return unitWeights;
+    }
+
+    public int getDistance(int node) {
+        return dist[node];
+    }
+
+    public int getParent(int node) {
+        return parent[node];
+    }
+}
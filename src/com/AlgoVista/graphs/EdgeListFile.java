@@ -0,0 +1,220 @@
+package com.AlgoVista.graphs;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+// Plain-text edge lists, read straight into a CompactGraph, or into an OffHeapGraph
+// for graphs too large for arrays:
+//
+//   # comments and blank lines are ignored
+//   <numNodes> [directed] [weighted]
+//   <from> <to> [weight]
+//   ...
+//
+// Nodes are 0-based. A missing weight counts as 1.
+public final class EdgeListFile {
+
+    private EdgeListFile() {
+    }
+
+    // Receives a file's header, then its edges in file order
+    private interface EdgeSink {
+        void header(int numNodes, boolean directed, boolean weighted);
+
+        void edge(int from, int to, int weight);
+    }
+
+    public static CompactGraph read(Path file) throws IOException {
+        class EdgeArrays implements EdgeSink {
+            int numNodes;
+            boolean directed;
+            boolean weighted;
+            int[] from = new int[1024];
+            int[] to = new int[1024];
+            int[] weights = new int[1024];
+            int numEdges;
+
+            @Override
+            public void header(int numNodes, boolean directed, boolean weighted) {
+                this.numNodes = numNodes;
+                this.directed = directed;
+                this.weighted = weighted;
+            }
+
+            @Override
+            public void edge(int u, int v, int weight) {
+                if (numEdges == from.length) {
+                    int capacity = from.length * 2;
+                    from = Arrays.copyOf(from, capacity);
+                    to = Arrays.copyOf(to, capacity);
+                    weights = Arrays.copyOf(weights, capacity);
+                }
+                from[numEdges] = u;
+                to[numEdges] = v;
+                weights[numEdges] = weight;
+                numEdges++;
+            }
+        }
+        EdgeArrays edges = new EdgeArrays();
+        parse(file, edges);
+        return CompactGraph.fromEdges(edges.numNodes, edges.from, edges.to, edges.weights, edges.numEdges,
+                edges.directed, edges.weighted);
+    }
+
+    // Streams the edges straight into off-heap memory, so the file may hold more edges
+    // than fit in arrays or on the heap. The graph is memory-mapped into mapTo when it
+    // is not null (reopen it with OffHeapGraph.open), and kept in native memory otherwise.
+    // With mapTo the edges are buffered in a temporary file beside it, so nothing counts
+    // against the native memory limit (-XX:MaxDirectMemorySize).
+    public static OffHeapGraph readOffHeap(Path file, Path mapTo) throws IOException {
+        // Roughly one edge per 8 bytes of text; the buffer grows if there are more
+        long expectedEdges = Files.size(file) / 8;
+        class OffHeapEdges implements EdgeSink {
+            OffHeapGraph.Builder builder;
+
+            @Override
+            public void header(int numNodes, boolean directed, boolean weighted) {
+                builder = new OffHeapGraph.Builder(numNodes, directed, weighted, expectedEdges,
+                        scratchDirectory(mapTo));
+            }
+
+            @Override
+            public void edge(int from, int to, int weight) {
+                builder.addEdge(from, to, weight);
+            }
+        }
+        OffHeapEdges edges = new OffHeapEdges();
+        try {
+            parse(file, edges);
+            return edges.builder.build(mapTo);
+        } finally {
+            if (edges.builder != null) edges.builder.close();
+        }
+    }
+
+    private static void parse(Path file, EdgeSink sink) throws IOException {
+        try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            int numNodes = -1;
+
+            String line;
+            int lineNumber = 0;
+            while ((line = in.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) continue;
+                String[] fields = line.split("\\s+");
+
+                if (numNodes < 0) {
+                    numNodes = parse(fields[0], file, lineNumber);
+                    boolean directed = false;
+                    boolean weighted = false;
+                    for (int i = 1; i < fields.length; i++) {
+                        if (fields[i].equalsIgnoreCase("directed")) directed = true;
+                        else if (fields[i].equalsIgnoreCase("weighted")) weighted = true;
+                        else throw error(file, lineNumber, "unknown header flag '" + fields[i] + "'");
+                    }
+                    sink.header(numNodes, directed, weighted);
+                    continue;
+                }
+
+                if (fields.length < 2) throw error(file, lineNumber, "expected '<from> <to> [weight]'");
+                int u = parse(fields[0], file, lineNumber);
+                int v = parse(fields[1], file, lineNumber);
+                if (u < 0 || u >= numNodes || v < 0 || v >= numNodes) {
+                    throw error(file, lineNumber, "node out of range 0.." + (numNodes - 1));
+                }
+                sink.edge(u, v, fields.length > 2 ? parse(fields[2], file, lineNumber) : 1);
+            }
+
+            if (numNodes < 0) throw new IOException(file + ": missing '<numNodes>' header");
+        }
+    }
+
+    public static void write(CompactGraph graph, Path file) throws IOException {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            out.write(Integer.toString(n));
+            if (graph.isDirected()) out.write(" directed");
+            if (graph.isWeighted()) out.write(" weighted");
+            out.newLine();
+            for (int u = 0; u < n; u++) {
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    int v = targets[a];
+                    // Undirected edges are stored as two arcs; write each once
+                    if (!graph.isDirected() && v < u) continue;
+                    out.write(u + " " + v);
+                    if (graph.isWeighted()) out.write(" " + weights[a]);
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // numEdges random edges without self-loops; weights are 1-9 when weighted. Unlike
+    // GraphModel.addRandomEdges duplicates are not filtered, which keeps generation
+    // O(E) for graphs far too large for a V x V bitset.
+    public static CompactGraph random(int numNodes, int numEdges, boolean directed, boolean weighted, long seed) {
+        if (numNodes < 2 && numEdges > 0) {
+            throw new IllegalArgumentException("Need at least 2 nodes for edges without self-loops");
+        }
+        Random random = new Random(seed);
+        int[] from = new int[numEdges];
+        int[] to = new int[numEdges];
+        int[] weights = new int[numEdges];
+        for (int e = 0; e < numEdges; e++) {
+            int u = random.nextInt(numNodes);
+            int v = random.nextInt(numNodes - 1);
+            if (v >= u) v++;
+            from[e] = u;
+            to[e] = v;
+            weights[e] = weighted ? random.nextInt(9) + 1 : 1;
+        }
+        return CompactGraph.fromEdges(numNodes, from, to, weights, numEdges, directed, weighted);
+    }
+
+    private static Path scratchDirectory(Path mapTo) {
+        return mapTo == null ? null : mapTo.toAbsolutePath().getParent();
+    }
+
+    // Same generator as random, drawing the same edges for the same seed, but into
+    // off-heap memory (mapped into mapTo when it is not null) so numEdges may pass 2^31
+    public static OffHeapGraph randomOffHeap(int numNodes, long numEdges, boolean directed, boolean weighted,
+                                             long seed, Path mapTo) throws IOException {
+        if (numNodes < 2 && numEdges > 0) {
+            throw new IllegalArgumentException("Need at least 2 nodes for edges without self-loops");
+        }
+        Random random = new Random(seed);
+        try (OffHeapGraph.Builder builder = new OffHeapGraph.Builder(numNodes, directed, weighted, numEdges,
+                scratchDirectory(mapTo))) {
+            for (long e = 0; e < numEdges; e++) {
+                int u = random.nextInt(numNodes);
+                int v = random.nextInt(numNodes - 1);
+                if (v >= u) v++;
+                builder.addEdge(u, v, weighted ? random.nextInt(9) + 1 : 1);
+            }
+            return builder.build(mapTo);
+        }
+    }
+
+    private static int parse(String field, Path file, int lineNumber) throws IOException {
+        try {
+            return Integer.parseInt(field);
+        } catch (NumberFormatException e) {
+            throw error(file, lineNumber, "not an integer: '" + field + "'");
+        }
+    }
+
+    private static IOException error(Path file, int lineNumber, String message) {
+        return new IOException(file + ":" + lineNumber + ": " + message);
+    }
+}
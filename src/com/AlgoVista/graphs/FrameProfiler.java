@@ -0,0 +1,137 @@
+package com.AlgoVista.graphs;
+
+import javafx.animation.AnimationTimer;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.TextAlignment;
+
+import java.util.Arrays;
+
+// Frame-time overlay for a graph canvas. An AnimationTimer records the timestamp of
+// every JavaFX pulse into a ring buffer (for FPS and dropped pulses), and the owning
+// view reports each redraw's duration and draw-call count into a second ring buffer.
+// The overlay box is repainted in the top-left corner a few times per second and
+// after every redraw, since a redraw clears the whole canvas.
+public class FrameProfiler {
+    private static final int SAMPLES = 240;
+    private static final long PULSE_NANOS = 1_000_000_000L / 60;
+    private static final int REPAINT_EVERY_PULSES = 15;
+    private static final double BOX_WIDTH = 210;
+    private static final double BOX_HEIGHT = 92;
+
+    private final GraphicsContext gc;
+    private final AnimationTimer timer;
+
+    private final long[] pulseTimes = new long[SAMPLES];
+    private int pulseHead;
+    private int pulseCount; // stops at SAMPLES
+    private int pulsesSinceRepaint;
+    private long droppedFrames;
+
+    private final long[] drawNanos = new long[SAMPLES];
+    private final long[] sorted = new long[SAMPLES];
+    private int drawHead;
+    private int drawCount;
+    private int lastDrawCalls;
+    private long overBudget;
+    private long budgetNanos;
+
+    private boolean enabled;
+
+    public FrameProfiler(Canvas canvas) {
+        this.gc = canvas.getGraphicsContext2D();
+        this.timer = new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                onPulse(now);
+            }
+        };
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        if (this.enabled == enabled) return;
+        this.enabled = enabled;
+        if (enabled) {
+            pulseHead = pulseCount = pulsesSinceRepaint = 0;
+            drawHead = drawCount = 0;
+            droppedFrames = 0;
+            overBudget = 0;
+            timer.start();
+        } else {
+            timer.stop();
+        }
+    }
+
+    // Time the view has for one redraw, e.g. the animation step length
+    public void setBudgetNanos(long budgetNanos) {
+        this.budgetNanos = budgetNanos;
+    }
+
+    public void recordDraw(long nanos, int drawCalls) {
+        if (!enabled) return;
+        drawNanos[drawHead] = nanos;
+        drawHead = (drawHead + 1) % SAMPLES;
+        if (drawCount < SAMPLES) drawCount++;
+        lastDrawCalls = drawCalls;
+        if (budgetNanos > 0 && nanos > budgetNanos) overBudget++;
+    }
+
+    private void onPulse(long now) {
+        if (pulseCount > 0) {
+            long previous = pulseTimes[(pulseHead + SAMPLES - 1) % SAMPLES];
+            long gap = now - previous;
+            // A gap of k pulse intervals means k - 1 frames were never shown
+            if (gap > PULSE_NANOS * 3 / 2) {
+                droppedFrames += Math.round((double) gap / PULSE_NANOS) - 1;
+            }
+        }
+        pulseTimes[pulseHead] = now;
+        pulseHead = (pulseHead + 1) % SAMPLES;
+        if (pulseCount < SAMPLES) pulseCount++;
+
+        if (++pulsesSinceRepaint >= REPAINT_EVERY_PULSES) {
+            pulsesSinceRepaint = 0;
+            drawOverlay();
+        }
+    }
+
+    public void drawOverlay() {
+        if (!enabled) return;
+
+        double fps = 0;
+        if (pulseCount > 1) {
+            long newest = pulseTimes[(pulseHead + SAMPLES - 1) % SAMPLES];
+            long oldest = pulseTimes[(pulseHead + SAMPLES - pulseCount) % SAMPLES];
+            fps = (pulseCount - 1) * 1e9 / Math.max(1, newest - oldest);
+        }
+
+        gc.save();
+        gc.setFill(Color.rgb(15, 23, 42, 0.85));
+        gc.fillRect(6, 6, BOX_WIDTH, BOX_HEIGHT);
+        gc.setFill(Color.WHITE);
+        gc.setFont(Font.font("Monospaced", 11));
+        gc.setTextAlign(TextAlignment.LEFT);
+        gc.fillText(String.format("FPS        %6.1f", fps), 12, 22);
+        gc.fillText(String.format("draw p50   %6.2f ms", percentile(0.50) / 1e6), 12, 36);
+        gc.fillText(String.format("draw p99   %6.2f ms", percentile(0.99) / 1e6), 12, 50);
+        gc.fillText(String.format("draw calls %6d", lastDrawCalls), 12, 64);
+        gc.fillText(String.format("dropped    %6d", droppedFrames), 12, 78);
+        gc.setFill(overBudget > 0 ? Color.ORANGERED : Color.LIGHTGREEN);
+        gc.fillText(String.format("over %.0f ms budget: %d", budgetNanos / 1e6, overBudget), 12, 92);
+        gc.restore();
+    }
+
+    private long percentile(double p) {
+        if (drawCount == 0) return 0;
+        System.arraycopy(drawNanos, 0, sorted, 0, drawCount);
+        Arrays.sort(sorted, 0, drawCount);
+        int index = (int) Math.ceil(p * drawCount) - 1;
+        return sorted[Math.max(0, Math.min(drawCount - 1, index))];
+    }
+}
@@ -0,0 +1,237 @@
+package com.AlgoVista.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Structural analysis engines: connected components, strongly connected components
+// and topological order. All work on primitive arrays and are iterative, so deep or
+// large graphs cannot overflow the call stack.
+public class GraphAnalysis {
+
+    public static class Components {
+        private final int count;
+        private final int[] label; // node -> component id in 0..count-1
+
+        public Components(int count, int[] label) {
+            this.count = count;
+            this.label = label;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public int getComponent(int node) {
+            return label[node];
+        }
+
+        public int[] getLabels() {
+            return label;
+        }
+
+        public List<List<Integer>> getGroups() {
+            List<List<Integer>> groups = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                groups.add(new ArrayList<>());
+            }
+            for (int node = 0; node < label.length; node++) {
+                groups.get(label[node]).add(node);
+            }
+            return groups;
+        }
+    }
+
+    public static class TopologicalOrder {
+        private final int[] order;
+        private final List<Integer> cycle;
+
+        public TopologicalOrder(int[] order, List<Integer> cycle) {
+            this.order = order;
+            this.cycle = cycle;
+        }
+
+        public boolean isAcyclic() {
+            return cycle.isEmpty();
+        }
+
+        // Complete order for a DAG; otherwise only the nodes placed before the cycle blocked Kahn
+        public int[] getOrder() {
+            return order;
+        }
+
+        // One directed cycle, first node repeated at the end; empty for a DAG
+        public List<Integer> getCycle() {
+            return cycle;
+        }
+    }
+
+    // Connected components (weak components for directed graphs) with the edge list
+    // processed in parallel by a lock-free union-find
+    public static Components connectedComponents(GraphModel model) {
+        List<GraphModel.Edge> edges = model.getEdgeList();
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(model.getNumNodes());
+        IntStream.range(0, edges.size()).parallel().forEach(i -> {
+            GraphModel.Edge edge = edges.get(i);
+            sets.union(edge.from, edge.to);
+        });
+        return labelSets(sets);
+    }
+
+    // Same as above for a bare edge list, for graphs too large for GraphModel
+    public static Components connectedComponents(int numNodes, int[] from, int[] to) {
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(numNodes);
+        IntStream.range(0, from.length).parallel().forEach(i -> sets.union(from[i], to[i]));
+        return labelSets(sets);
+    }
+
+    private static Components labelSets(ConcurrentUnionFind sets) {
+        int n = sets.size();
+        int[] root = new int[n];
+        IntStream.range(0, n).parallel().forEach(i -> root[i] = sets.find(i));
+
+        // Roots are always the smallest node of their set, so one ascending pass
+        // sees every root before any of its members
+        int[] label = new int[n];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            label[i] = root[i] == i ? count++ : label[root[i]];
+        }
+        return new Components(count, label);
+    }
+
+    // Tarjan's algorithm with an explicit call stack. Components are numbered in
+    // reverse topological order of the condensation.
+    public static Components stronglyConnectedComponents(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] label = new int[n];
+        boolean[] onStack = new boolean[n];
+        int[] stack = new int[n];
+        int[] callNode = new int[n];
+        int[] callArc = new int[n];
+        Arrays.fill(index, -1);
+
+        int nextIndex = 0;
+        int stackSize = 0;
+        int count = 0;
+
+        for (int start = 0; start < n; start++) {
+            if (index[start] != -1) continue;
+
+            int depth = 0;
+            callNode[0] = start;
+            callArc[0] = offsets[start];
+            index[start] = low[start] = nextIndex++;
+            stack[stackSize++] = start;
+            onStack[start] = true;
+
+            while (depth >= 0) {
+                int v = callNode[depth];
+                if (callArc[depth] < offsets[v + 1]) {
+                    int w = targets[callArc[depth]++];
+                    if (index[w] == -1) {
+                        index[w] = low[w] = nextIndex++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        depth++;
+                        callNode[depth] = w;
+                        callArc[depth] = offsets[w];
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            label[w] = count;
+                        } while (w != v);
+                        count++;
+                    }
+                    depth--;
+                    if (depth >= 0) {
+                        int u = callNode[depth];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                }
+            }
+        }
+
+        return new Components(count, label);
+    }
+
+    // Kahn's algorithm. If the graph has a cycle, one is extracted from the nodes
+    // that never reached in-degree zero.
+    public static TopologicalOrder topologicalSort(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+
+        int[] inDegree = new int[n];
+        for (int a = 0; a < targets.length; a++) {
+            inDegree[targets[a]]++;
+        }
+
+        int[] order = new int[n];
+        int head = 0;
+        int tail = 0;
+        for (int v = 0; v < n; v++) {
+            if (inDegree[v] == 0) order[tail++] = v;
+        }
+        while (head < tail) {
+            int v = order[head++];
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                if (--inDegree[targets[a]] == 0) {
+                    order[tail++] = targets[a];
+                }
+            }
+        }
+
+        if (tail == n) {
+            return new TopologicalOrder(order, Collections.emptyList());
+        }
+        return new TopologicalOrder(Arrays.copyOf(order, tail), findCycle(graph, inDegree));
+    }
+
+    // Every leftover node still has a leftover predecessor, so walking predecessors
+    // must eventually repeat a node; the repeated stretch is a cycle
+    private static List<Integer> findCycle(CompactGraph graph, int[] inDegree) {
+        int n = graph.getNumNodes();
+        CompactGraph reverse = graph.reverse();
+        int[] offsets = reverse.getOffsets();
+        int[] targets = reverse.getTargets();
+
+        int start = 0;
+        while (inDegree[start] == 0) start++;
+
+        int[] seenAt = new int[n];
+        Arrays.fill(seenAt, -1);
+        List<Integer> walk = new ArrayList<>();
+        int v = start;
+        while (seenAt[v] == -1) {
+            seenAt[v] = walk.size();
+            walk.add(v);
+            int next = -1;
+            for (int a = offsets[v]; a < offsets[v + 1]; a++) {
+                if (inDegree[targets[a]] > 0) {
+                    next = targets[a];
+                    break;
+                }
+            }
+            v = next;
+        }
+
+        List<Integer> cycle = new ArrayList<>(walk.subList(seenAt[v], walk.size()));
+        Collections.reverse(cycle);
+        cycle.add(cycle.get(0));
+        return cycle;
+    }
+}
@@ -1,12 +1,11 @@
 package com.AlgoVista.graphs;
 
+import com.AlgoVista.dashboard.ImageCache;
+import com.AlgoVista.dashboard.ViewCache;
 import javafx.fxml.FXML;
 import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
-import javafx.stage.Stage;
 
 import java.io.IOException;
 
@@ -28,15 +27,11 @@ public class GraphCategoryController {
             FXMLLoader loader1 = new FXMLLoader(getClass().getResource("/fxml/GraphSubCard.fxml"));
             VBox structureCard = loader1.load();
             GraphSubCardController controller1 = loader1.getController();
-            controller1.setData("Structure");
+            controller1.setData("Structure", ImageCache.get("structure.png"));
 
             // Normal style
             String structureNormalStyle =
                     "-fx-background-color: #1A1A1A;" +
-                            "-fx-background-image: url('file:///E:/JavaFx%20Project/Java_Fx/resources/com/AlgoVista/images/structure.png');" +
-                            "-fx-background-size: 95%;" +
-                            "-fx-background-position: center 25%;" +
-                            "-fx-background-repeat: no-repeat;" +
                             "-fx-background-radius: 10;" +
                             "-fx-border-color: #FFFFFF;" +
                             "-fx-border-width: 2;" +
@@ -46,10 +41,6 @@ public class GraphCategoryController {
             // Hover style
             String structureHoverStyle =
                     "-fx-background-color: #1A1A1A;" +
-                            "-fx-background-image: url('file:///E:/JavaFx%20Project/Java_Fx/resources/com/AlgoVista/images/structure.png');" +
-                            "-fx-background-size: 95%;" +
-                            "-fx-background-position: center 25%;" +
-                            "-fx-background-repeat: no-repeat;" +
                             "-fx-background-radius: 10;" +
                             "-fx-border-color: #FFFFFF;" +
                             "-fx-border-width: 2;" +
@@ -80,15 +71,11 @@ public class GraphCategoryController {
             FXMLLoader loader2 = new FXMLLoader(getClass().getResource("/fxml/GraphSubCard.fxml"));
             VBox traversalCard = loader2.load();
             GraphSubCardController controller2 = loader2.getController();
-            controller2.setData("Traversal");
+            controller2.setData("Traversal", ImageCache.get("traversal.png"));
 
             // Normal style
             String traversalNormalStyle =
                     "-fx-background-color: #1A1A1A;" +
-                            "-fx-background-image: url('file:///E:/JavaFx%20Project/Java_Fx/resources/com/AlgoVista/images/traversal.png');" +
-                            "-fx-background-size: 95%;" +
-                            "-fx-background-position: center 25%;" +
-                            "-fx-background-repeat: no-repeat;" +
                             "-fx-background-radius: 10;" +
                             "-fx-border-color: #FFFFFF;" +
                             "-fx-border-width: 2;" +
@@ -98,10 +85,6 @@ public class GraphCategoryController {
             // Hover style
             String traversalHoverStyle =
                     "-fx-background-color: #1A1A1A;" +
-                            "-fx-background-image: url('file:///E:/JavaFx%20Project/Java_Fx/resources/com/AlgoVista/images/traversal.png');" +
-                            "-fx-background-size: 95%;" +
-                            "-fx-background-position: center 25%;" +
-                            "-fx-background-repeat: no-repeat;" +
                             "-fx-background-radius: 10;" +
                             "-fx-border-color: #FFFFFF;" +
                             "-fx-border-width: 2;" +
@@ -132,25 +115,7 @@ public class GraphCategoryController {
     @FXML
     private void backToDashboard() {
         try {
-            FXMLLoader loader = new FXMLLoader();
-            loader.setLocation(getClass().getResource("/fxml/dashboard.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) cardContainer.getScene().getWindow();
-
-            // Save current window properties
-            double width = stage.getWidth();
-            double height = stage.getHeight();
-            double x = stage.getX();
-            double y = stage.getY();
-
-            Scene scene = new Scene(root, width, height);
-            stage.setScene(scene);
-
-            // Restore position
-            stage.setX(x);
-            stage.setY(y);
-
+            ViewCache.show(cardContainer, ViewCache.DASHBOARD);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -159,21 +124,7 @@ public class GraphCategoryController {
     private void openStructureView() {
         System.out.println("Structure card clicked - Opening structure view");
         try {
-            FXMLLoader loader = new FXMLLoader();
-            loader.setLocation(getClass().getResource("/fxml/GraphStructure.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) cardContainer.getScene().getWindow();
-            double width = stage.getWidth();
-            double height = stage.getHeight();
-            double x = stage.getX();
-            double y = stage.getY();
-
-            Scene scene = new Scene(root, width, height);
-            stage.setScene(scene);
-            stage.setX(x);
-            stage.setY(y);
-
+            ViewCache.show(cardContainer, ViewCache.GRAPH_STRUCTURE);
         } catch (IOException e) {
             System.out.println("Error loading GraphStructure.fxml:");
             e.printStackTrace();
@@ -183,21 +134,7 @@ public class GraphCategoryController {
     private void openTraversalView() {
         System.out.println("Traversal card clicked - Opening traversal view");
         try {
-            FXMLLoader loader = new FXMLLoader();
-            loader.setLocation(getClass().getResource("/fxml/GraphTraversal.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) cardContainer.getScene().getWindow();
-            double width = stage.getWidth();
-            double height = stage.getHeight();
-            double x = stage.getX();
-            double y = stage.getY();
-
-            Scene scene = new Scene(root, width, height);
-            stage.setScene(scene);
-            stage.setX(x);
-            stage.setY(y);
-
+            ViewCache.show(cardContainer, ViewCache.GRAPH_TRAVERSAL);
         } catch (IOException e) {
             System.out.println("Error loading GraphTraversal.fxml:");
             e.printStackTrace();
@@ -0,0 +1,328 @@
+package com.AlgoVista.graphs;
+
+import javafx.geometry.Point2D;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Undo/redo history for edits made to one GraphModel. Edits go through this log, which
+// applies them and appends one entry of three longs:
+//
+//   header   op << 56 | from << 28 | to       (node ids below 2^28)
+//   redo     new weight, or new x/y as two floats for a move
+//   undo     old weight, or old x/y as two floats for a move
+//
+// Undo and redo move a cursor and apply a single model operation, so both are O(1) in
+// the log. Every CHECKPOINT_INTERVAL entries, and before every clear, the model's
+// ImmutableGraph is kept; those share structure with the live graph, and jumpTo replays
+// from the nearest one instead of from the start of the session.
+public class GraphEditLog {
+    public static final byte ADD_EDGE = 1;
+    public static final byte REMOVE_EDGE = 2;
+    public static final byte MOVE_NODE = 3;
+    public static final byte REWEIGHT = 4;
+    public static final byte CLEAR = 5;
+
+    private static final int LONGS_PER_ENTRY = 3;
+    private static final int CHECKPOINT_INTERVAL = 64;
+    private static final int NODE_BITS = 28;
+    private static final int NODE_MASK = (1 << NODE_BITS) - 1;
+
+    private static final int FILE_MAGIC = 0x4156454C; // "AVEL"
+    private static final int FILE_VERSION = 1;
+
+    private final GraphModel model;
+    private long[] entries = new long[LONGS_PER_ENTRY * 64];
+    private int size;     // entries recorded
+    private int position; // entries currently applied; the rest can be redone
+    // State before entry i, for the i's that have one
+    private final TreeMap<Integer, ImmutableGraph> checkpoints = new TreeMap<>();
+
+    private Path savedFile;
+    private int savedCount = -1; // entries already in savedFile; -1 when it must be rewritten
+
+    public GraphEditLog(GraphModel model) {
+        if (model.getNumNodes() > NODE_MASK + 1) {
+            throw new IllegalArgumentException("Edit log supports at most " + (NODE_MASK + 1) + " nodes");
+        }
+        this.model = model;
+        checkpoints.put(0, model.snapshot());
+    }
+
+    public GraphModel getModel() {
+        return model;
+    }
+
+    public void addEdge(int from, int to, int weight) {
+        int n = model.getNumNodes();
+        if (from < 0 || to < 0 || from >= n || to >= n) return;
+        // Adding an existing edge reweights it, and has to undo as a reweight
+        if (model.hasEdge(from, to)) {
+            setWeight(from, to, weight);
+            return;
+        }
+        model.addEdge(from, to, weight);
+        record(ADD_EDGE, from, to, weight, 0);
+    }
+
+    public boolean removeEdge(int from, int to) {
+        if (!model.hasEdge(from, to)) return false;
+        int weight = model.getWeight(from, to);
+        model.removeEdge(from, to);
+        record(REMOVE_EDGE, from, to, weight, weight);
+        return true;
+    }
+
+    public boolean setWeight(int from, int to, int weight) {
+        if (!model.hasEdge(from, to)) return false;
+        int oldWeight = model.getWeight(from, to);
+        if (oldWeight == weight) return false;
+        model.setWeight(from, to, weight);
+        record(REWEIGHT, from, to, weight, oldWeight);
+        return true;
+    }
+
+    // oldPosition is where a drag started; the model may already show newPosition
+    public void moveNode(int node, Point2D oldPosition, Point2D newPosition) {
+        model.setNodePosition(node, newPosition);
+        record(MOVE_NODE, node, 0, pack(newPosition), pack(oldPosition));
+    }
+
+    public void clear() {
+        checkpoints.put(position, model.snapshot());
+        model.clear();
+        record(CLEAR, 0, 0, 0, 0);
+    }
+
+    public boolean canUndo() {
+        return position > 0;
+    }
+
+    public boolean canRedo() {
+        return position < size;
+    }
+
+    // Number of applied entries
+    public int getPosition() {
+        return position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The op of the entry undo would revert, or 0
+    public byte peekUndo() {
+        return position == 0 ? 0 : op(entries[(position - 1) * LONGS_PER_ENTRY]);
+    }
+
+    public boolean undo() {
+        if (position == 0) return false;
+        position--;
+        int base = position * LONGS_PER_ENTRY;
+        long header = entries[base];
+        int from = from(header);
+        int to = to(header);
+        long undo = entries[base + 2];
+        switch (op(header)) {
+            case ADD_EDGE:
+                model.removeEdge(from, to);
+                break;
+            case REMOVE_EDGE:
+                model.addEdge(from, to, (int) undo);
+                break;
+            case REWEIGHT:
+                model.setWeight(from, to, (int) undo);
+                break;
+            case MOVE_NODE:
+                model.setNodePosition(from, unpack(undo));
+                break;
+            case CLEAR:
+                model.restore(checkpoints.get(position));
+                break;
+        }
+        return true;
+    }
+
+    public boolean redo() {
+        if (position == size) return false;
+        apply(position);
+        position++;
+        return true;
+    }
+
+    // Moves to any point of the history: restores the nearest checkpoint at or before
+    // target and replays the entries after it
+    public void jumpTo(int target) {
+        if (target < 0 || target > size) throw new IndexOutOfBoundsException("Position " + target + ", size " + size);
+        if (target == position) return;
+        if (target > position && target - position <= CHECKPOINT_INTERVAL) {
+            while (position < target) redo();
+            return;
+        }
+        if (target < position && position - target <= CHECKPOINT_INTERVAL / 4) {
+            while (position > target) undo();
+            return;
+        }
+        Map.Entry<Integer, ImmutableGraph> checkpoint = checkpoints.floorEntry(target);
+        model.restore(checkpoint.getValue());
+        position = checkpoint.getKey();
+        while (position < target) redo();
+    }
+
+    private void apply(int index) {
+        int base = index * LONGS_PER_ENTRY;
+        long header = entries[base];
+        int from = from(header);
+        int to = to(header);
+        long redo = entries[base + 1];
+        switch (op(header)) {
+            case ADD_EDGE:
+                model.addEdge(from, to, (int) redo);
+                break;
+            case REMOVE_EDGE:
+                model.removeEdge(from, to);
+                break;
+            case REWEIGHT:
+                model.setWeight(from, to, (int) redo);
+                break;
+            case MOVE_NODE:
+                model.setNodePosition(from, unpack(redo));
+                break;
+            case CLEAR:
+                model.clear();
+                break;
+        }
+    }
+
+    private void record(byte op, int from, int to, long redo, long undo) {
+        // A new edit after undos drops the redo tail and everything derived from it
+        if (position < size) {
+            size = position;
+            checkpoints.tailMap(position, false).clear();
+            if (savedCount > position) savedCount = -1;
+        }
+        if ((size + 1) * LONGS_PER_ENTRY > entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        int base = size * LONGS_PER_ENTRY;
+        entries[base] = ((long) op << 56) | ((long) from << NODE_BITS) | to;
+        entries[base + 1] = redo;
+        entries[base + 2] = undo;
+        size++;
+        position++;
+
+        if (position % CHECKPOINT_INTERVAL == 0) {
+            checkpoints.put(position, model.snapshot());
+        }
+    }
+
+    private static byte op(long header) {
+        return (byte) (header >>> 56);
+    }
+
+    private static int from(long header) {
+        return (int) (header >>> NODE_BITS) & NODE_MASK;
+    }
+
+    private static int to(long header) {
+        return (int) header & NODE_MASK;
+    }
+
+    private static long pack(Point2D position) {
+        if (position == null) return -1L;
+        return ((long) Float.floatToIntBits((float) position.getX()) << 32)
+                | (Float.floatToIntBits((float) position.getY()) & 0xFFFFFFFFL);
+    }
+
+    private static Point2D unpack(long packed) {
+        if (packed == -1L) return null;
+        return new Point2D(Float.intBitsToFloat((int) (packed >>> 32)), Float.intBitsToFloat((int) packed));
+    }
+
+    // Writes the applied entries as a change file. Saving to the same file again only
+    // appends the entries added since; the file is rewritten when undone entries it
+    // already holds were replaced.
+    public void save(Path file) throws IOException {
+        boolean append = file.equals(savedFile) && savedCount >= 0 && savedCount <= position && Files.exists(file);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(append
+                ? Files.newOutputStream(file, StandardOpenOption.APPEND)
+                : Files.newOutputStream(file)))) {
+            if (!append) {
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(FILE_VERSION);
+                out.writeInt(model.getNumNodes());
+                out.writeBoolean(model.isDirected());
+                out.writeBoolean(model.isWeighted());
+            }
+            for (int i = append ? savedCount : 0; i < position; i++) {
+                int base = i * LONGS_PER_ENTRY;
+                out.writeLong(entries[base]);
+                out.writeLong(entries[base + 1]);
+                out.writeLong(entries[base + 2]);
+            }
+        }
+        savedFile = file;
+        savedCount = position;
+    }
+
+    // Replays a change file onto a model in the state the saved session started from,
+    // and returns a log holding the replayed history
+    public static GraphEditLog replay(Path file, GraphModel model) throws IOException {
+        GraphEditLog log = new GraphEditLog(model);
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != FILE_MAGIC) throw new IOException(file + " is not an edit log");
+            int version = in.readInt();
+            if (version != FILE_VERSION) throw new IOException("Unsupported edit log version " + version);
+            if (in.readInt() != model.getNumNodes() || in.readBoolean() != model.isDirected()
+                    || in.readBoolean() != model.isWeighted()) {
+                throw new IOException(file + " was recorded on a different graph");
+            }
+
+            while (true) {
+                long header;
+                try {
+                    header = in.readLong();
+                } catch (EOFException e) {
+                    break;
+                }
+                long redo = in.readLong();
+                long undo = in.readLong();
+                int from = from(header);
+                int to = to(header);
+                switch (op(header)) {
+                    case ADD_EDGE:
+                        log.addEdge(from, to, (int) redo);
+                        break;
+                    case REMOVE_EDGE:
+                        log.removeEdge(from, to);
+                        break;
+                    case REWEIGHT:
+                        log.setWeight(from, to, (int) redo);
+                        break;
+                    case MOVE_NODE:
+                        log.moveNode(from, unpack(undo), unpack(redo));
+                        break;
+                    case CLEAR:
+                        log.clear();
+                        break;
+                    default:
+                        throw new IOException("Corrupt edit log entry in " + file);
+                }
+            }
+        }
+        log.savedFile = file;
+        log.savedCount = log.size;
+        return log;
+    }
+}
@@ -0,0 +1,156 @@
+package com.AlgoVista.graphs;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+// Custom Flight Recorder events for graph work. Each event is started right before
+// the work and finished right after it; finish() commits the event when a recording
+// is listening and also feeds the duration into GraphMetrics. With no recording
+// running, JFR turns begin/commit into cheap no-ops.
+public final class GraphEvents {
+    private static final String CATEGORY = "AlgoVista";
+
+    private GraphEvents() {
+    }
+
+    @Name("com.AlgoVista.GraphGeneration")
+    @Label("Graph Generation")
+    @Description("Random graph generated in one of the graph views")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class Generation extends Event {
+        @Label("View") String view;
+        @Label("Nodes") int nodes;
+        @Label("Edges") int edges;
+        @Label("Directed") boolean directed;
+        @Label("Weighted") boolean weighted;
+
+        private transient long startNanos;
+
+        public static Generation start(String view) {
+            Generation event = new Generation();
+            event.view = view;
+            event.startNanos = System.nanoTime();
+            event.begin();
+            return event;
+        }
+
+        public void finish(GraphModel model) {
+            end();
+            GraphMetrics.observe("algovista_generation_seconds", "view", view, System.nanoTime() - startNanos);
+            if (shouldCommit()) {
+                nodes = model.getNumNodes();
+                edges = model.getEdgeList().size();
+                directed = model.isDirected();
+                weighted = model.isWeighted();
+                commit();
+            }
+        }
+    }
+
+    @Name("com.AlgoVista.IndexBuild")
+    @Label("Index Build")
+    @Description("Preprocessing that loads a graph into a query index")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class IndexBuild extends Event {
+        @Label("Index") String index;
+        @Label("Nodes") int nodes;
+        @Label("Edges") int edges;
+
+        private transient long startNanos;
+
+        public static IndexBuild start(String index) {
+            IndexBuild event = new IndexBuild();
+            event.index = index;
+            event.startNanos = System.nanoTime();
+            event.begin();
+            return event;
+        }
+
+        public void finish(GraphModel model) {
+            end();
+            GraphMetrics.observe("algovista_index_build_seconds", "index", index, System.nanoTime() - startNanos);
+            if (shouldCommit()) {
+                nodes = model.getNumNodes();
+                edges = model.getEdgeList().size();
+                commit();
+            }
+        }
+    }
+
+    @Name("com.AlgoVista.AlgorithmRun")
+    @Label("Algorithm Run")
+    @Description("One algorithm run in the Traversal view, including result formatting")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class AlgorithmRun extends Event {
+        @Label("Algorithm") String algorithm;
+        @Label("Nodes") int nodes;
+        @Label("Edges") int edges;
+        @Label("Steps") int steps;
+        @Label("Cached") boolean cached;
+
+        private transient long startNanos;
+
+        public static AlgorithmRun start(String algorithm) {
+            AlgorithmRun event = new AlgorithmRun();
+            event.algorithm = algorithm;
+            event.startNanos = System.nanoTime();
+            event.begin();
+            return event;
+        }
+
+        public void finish(GraphModel model, int steps, boolean cached) {
+            end();
+            if (!cached) {
+                GraphMetrics.observe("algovista_algorithm_seconds", "algorithm", algorithm,
+                        System.nanoTime() - startNanos);
+            }
+            GraphMetrics.increment(cached ? "algovista_algorithm_cache_hits_total" : "algovista_algorithm_runs_total",
+                    "algorithm", algorithm);
+            if (shouldCommit()) {
+                nodes = model.getNumNodes();
+                edges = model.getEdgeList().size();
+                this.steps = steps;
+                this.cached = cached;
+                commit();
+            }
+        }
+    }
+
+    @Name("com.AlgoVista.Render")
+    @Label("Render Pass")
+    @Description("One full redraw of a graph canvas")
+    @Category(CATEGORY)
+    @StackTrace(false)
+    public static class Render extends Event {
+        @Label("View") String view;
+        @Label("Nodes") int nodes;
+        @Label("Edges") int edges;
+
+        private transient long startNanos;
+
+        public static Render start(String view) {
+            Render event = new Render();
+            event.view = view;
+            event.startNanos = System.nanoTime();
+            event.begin();
+            return event;
+        }
+
+        public void finish(GraphModel model) {
+            end();
+            GraphMetrics.observe("algovista_render_seconds", "view", view, System.nanoTime() - startNanos);
+            if (shouldCommit()) {
+                nodes = model.getNumNodes();
+                edges = model.getEdgeList().size();
+                commit();
+            }
+        }
+    }
+}
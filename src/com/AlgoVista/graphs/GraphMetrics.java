@@ -0,0 +1,144 @@
+package com.AlgoVista.graphs;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+// In-process counters and duration summaries, exported in the Prometheus text format.
+// Setting -Dalgovista.metrics.file=<path> starts a daemon thread that rewrites the file
+// every few seconds (write to a temp file, then atomic move), so a node_exporter
+// textfile collector or a plain `cat` always sees a complete snapshot.
+public final class GraphMetrics {
+    public static final String FILE_PROPERTY = "algovista.metrics.file";
+    private static final long EXPORT_PERIOD_SECONDS = 5;
+
+    private static final Map<Series, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<Series, Summary> SUMMARIES = new ConcurrentHashMap<>();
+
+    static {
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null && !file.isEmpty()) {
+            startFileExport(Paths.get(file), EXPORT_PERIOD_SECONDS);
+        }
+    }
+
+    private GraphMetrics() {
+    }
+
+    // One metric name plus a single label
+    private static final class Series implements Comparable<Series> {
+        final String metric;
+        final String label;
+        final String value;
+
+        Series(String metric, String label, String value) {
+            this.metric = metric;
+            this.label = label;
+            this.value = value;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Series)) return false;
+            Series other = (Series) o;
+            return metric.equals(other.metric) && label.equals(other.label) && value.equals(other.value);
+        }
+
+        @Override
+        public int hashCode() {
+            return (metric.hashCode() * 31 + label.hashCode()) * 31 + value.hashCode();
+        }
+
+        @Override
+        public int compareTo(Series other) {
+            int c = metric.compareTo(other.metric);
+            return c != 0 ? c : value.compareTo(other.value);
+        }
+
+        String labels() {
+            return "{" + label + "=\"" + escape(value) + "\"}";
+        }
+    }
+
+    private static final class Summary {
+        final LongAdder count = new LongAdder();
+        final DoubleAdder seconds = new DoubleAdder();
+    }
+
+    public static void increment(String metric, String label, String value) {
+        COUNTERS.computeIfAbsent(new Series(metric, label, value), k -> new LongAdder()).increment();
+    }
+
+    public static void observe(String metric, String label, String value, long nanos) {
+        Summary summary = SUMMARIES.computeIfAbsent(new Series(metric, label, value), k -> new Summary());
+        summary.count.increment();
+        summary.seconds.add(nanos / 1e9);
+    }
+
+    // Current values in the Prometheus text exposition format
+    public static String scrape() {
+        StringBuilder sb = new StringBuilder();
+        String lastMetric = null;
+        for (Map.Entry<Series, LongAdder> entry : new TreeMap<>(COUNTERS).entrySet()) {
+            Series series = entry.getKey();
+            if (!series.metric.equals(lastMetric)) {
+                sb.append("# TYPE ").append(series.metric).append(" counter\n");
+                lastMetric = series.metric;
+            }
+            sb.append(series.metric).append(series.labels()).append(' ').append(entry.getValue().sum()).append('\n');
+        }
+
+        lastMetric = null;
+        for (Map.Entry<Series, Summary> entry : new TreeMap<>(SUMMARIES).entrySet()) {
+            Series series = entry.getKey();
+            Summary summary = entry.getValue();
+            if (!series.metric.equals(lastMetric)) {
+                sb.append("# TYPE ").append(series.metric).append(" summary\n");
+                lastMetric = series.metric;
+            }
+            String labels = series.labels();
+            sb.append(series.metric).append("_count").append(labels).append(' ')
+                    .append(summary.count.sum()).append('\n');
+            sb.append(series.metric).append("_sum").append(labels).append(' ')
+                    .append(summary.seconds.sum()).append('\n');
+        }
+        return sb.toString();
+    }
+
+    public static void writeTo(Path file) throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        Path temp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+        Files.write(temp, scrape().getBytes(StandardCharsets.UTF_8));
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void startFileExport(Path file, long periodSeconds) {
+        ScheduledExecutorService exporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "algovista-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        exporter.scheduleAtFixedRate(() -> {
+            try {
+                writeTo(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }, periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -2,20 +2,32 @@ package com.AlgoVista.graphs;
 
 import javafx.geometry.Point2D;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GraphModel {
+    // Versions come from one global counter, so a version identifies both the graph
+    // instance and its state: any two different graphs never share a version.
+    private static final AtomicLong VERSION_COUNTER = new AtomicLong();
+
     private int numNodes;
-    private int[][] adjMatrix;
-    private Map<Integer, List<int[]>> adjList; // int[]{neighbor, weight}
-    private List<Edge> edgeList;
-    private Map<Integer, Point2D> nodePositions;
+    private BitMatrix adjBits;
+    private int[][] adjMatrix; // weights, only kept for weighted graphs
+    private Map<Integer, List<int[]>> adjList; // int[]{neighbor, weight, edge id}
+    private NeighborIndex[] neighborIndex; // per node: neighbor -> position in adjList
+    private List<Edge> edgeList; // an edge's id is its index here
+    private Map<Integer, List<int[]>> adjListView;
+    private List<Edge> edgeListView;
+    private final NodeAttributes nodeAttributes;
     private boolean isDirected;
     private boolean isWeighted;
+    // Every mutation publishes a new immutable version here; readers on other threads
+    // take it with snapshot() instead of touching the mutable structures below
+    private volatile ImmutableGraph snapshot;
 
     public static class Edge {
-        public int from;
-        public int to;
-        public int weight;
+        public final int from;
+        public final int to;
+        public final int weight;
 
         public Edge(int from, int to, int weight) {
             this.from = from;
@@ -33,61 +45,231 @@ public class GraphModel {
         this.numNodes = numNodes;
         this.isDirected = isDirected;
         this.isWeighted = isWeighted;
-        this.adjMatrix = new int[numNodes][numNodes];
+        this.adjBits = new BitMatrix(numNodes);
+        this.adjMatrix = isWeighted ? new int[numNodes][numNodes] : null;
         this.adjList = new HashMap<>();
+        this.neighborIndex = new NeighborIndex[numNodes];
         this.edgeList = new ArrayList<>();
-        this.nodePositions = new HashMap<>();
+        this.nodeAttributes = new NodeAttributes(numNodes);
+        this.snapshot = ImmutableGraph.empty(numNodes, isDirected, isWeighted, VERSION_COUNTER.incrementAndGet());
 
         // Initialize adjacency list
         for (int i = 0; i < numNodes; i++) {
             adjList.put(i, new ArrayList<>());
+            neighborIndex[i] = new NeighborIndex();
         }
+        rebuildViews();
     }
 
+    // There is at most one edge per ordered pair: adding an existing one changes its
+    // weight, so the matrix, the adjacency list and the edge list always agree. An
+    // undirected edge is stored in both directions, a self-loop once.
     public void addEdge(int from, int to, int weight) {
         if (from >= numNodes || to >= numNodes || from < 0 || to < 0) return;
+        if (hasEdge(from, to)) {
+            setWeight(from, to, weight);
+            return;
+        }
 
-        // Add to matrix
-        adjMatrix[from][to] = weight;
-        if (!isDirected) {
-            adjMatrix[to][from] = weight;
+        insertArc(from, to, weight);
+        if (!isDirected && from != to) {
+            insertArc(to, from, weight);
         }
 
-        // Add to adjacency list
-        adjList.get(from).add(new int[]{to, weight});
-        if (!isDirected) {
-            adjList.get(to).add(new int[]{from, weight});
+        snapshot = snapshot.withEdge(from, to, weight, VERSION_COUNTER.incrementAndGet());
+    }
+
+    // Removes the from -> to edge, and its mirror when undirected: the last arc and the
+    // last edge move into the freed slots, so removal reorders the lists and changes the
+    // id of the edge that moved. O(1) amortised here, plus O(log V + log degree) for the
+    // snapshot (see ImmutableGraph). Returns false when there is no such edge.
+    public boolean removeEdge(int from, int to) {
+        if (from >= numNodes || to >= numNodes || from < 0 || to < 0 || !hasEdge(from, to)) return false;
+
+        // Positions before any arc moves; removing from's arc never moves to's arcs
+        boolean mirrored = !isDirected && from != to;
+        int fromIndex = neighborIndex[from].get(to);
+        int toIndex = mirrored ? neighborIndex[to].get(from) : -1;
+        deleteArc(from, to);
+        if (mirrored) {
+            deleteArc(to, from);
         }
 
-        // Add to edge list
+        snapshot = snapshot.withoutEdge(from, to, fromIndex, toIndex, VERSION_COUNTER.incrementAndGet());
+        return true;
+    }
+
+    // Changes the weight of the from -> to edge (both directions when undirected), at
+    // the same cost as removeEdge. Returns false when there is no such edge.
+    public boolean setWeight(int from, int to, int weight) {
+        if (from >= numNodes || to >= numNodes || from < 0 || to < 0 || !hasEdge(from, to)) return false;
+
+        boolean mirrored = !isDirected && from != to;
+        reweightArc(from, to, weight);
+        if (mirrored) {
+            reweightArc(to, from, weight);
+        }
+
+        snapshot = snapshot.withWeight(from, to, neighborIndex[from].get(to),
+                mirrored ? neighborIndex[to].get(from) : -1, weight, VERSION_COUNTER.incrementAndGet());
+        return true;
+    }
+
+    // Weight of the from -> to edge; 0 when there is none
+    public int getWeight(int from, int to) {
+        if (!hasEdge(from, to)) return 0;
+        return arc(from, to)[1];
+    }
+
+    // Index of the from -> to edge in getEdgeList(), or -1. Ids are stable until an edge
+    // is removed, which moves the last edge into the removed one's id.
+    public int getEdgeId(int from, int to) {
+        if (!hasEdge(from, to)) return -1;
+        return arc(from, to)[2];
+    }
+
+    private int[] arc(int from, int to) {
+        return adjList.get(from).get(neighborIndex[from].get(to));
+    }
+
+    private void insertArc(int from, int to, int weight) {
+        int id = edgeList.size();
         edgeList.add(new Edge(from, to, weight));
-        if (!isDirected) {
-            edgeList.add(new Edge(to, from, weight));
+
+        List<int[]> arcs = adjList.get(from);
+        neighborIndex[from].put(to, arcs.size());
+        arcs.add(new int[]{to, weight, id});
+
+        adjBits.set(from, to);
+        if (adjMatrix != null) {
+            adjMatrix[from][to] = weight;
         }
     }
 
+    private void deleteArc(int from, int to) {
+        // Swap-remove the arc, re-pointing the index at the arc that moved
+        List<int[]> arcs = adjList.get(from);
+        int position = neighborIndex[from].remove(to);
+        int[] removed = arcs.get(position);
+        int[] lastArc = arcs.remove(arcs.size() - 1);
+        if (lastArc != removed) {
+            arcs.set(position, lastArc);
+            neighborIndex[from].put(lastArc[0], position);
+        }
+
+        // Swap-remove the edge, giving the moved edge the freed id
+        int id = removed[2];
+        Edge lastEdge = edgeList.remove(edgeList.size() - 1);
+        if (id < edgeList.size()) {
+            edgeList.set(id, lastEdge);
+            arc(lastEdge.from, lastEdge.to)[2] = id;
+        }
+
+        adjBits.clear(from, to);
+        if (adjMatrix != null) {
+            adjMatrix[from][to] = 0;
+        }
+    }
+
+    private void reweightArc(int from, int to, int weight) {
+        int[] arc = arc(from, to);
+        arc[1] = weight;
+        edgeList.set(arc[2], new Edge(from, to, weight));
+        if (adjMatrix != null) {
+            adjMatrix[from][to] = weight;
+        }
+    }
+
+    // Adds up to numEdges random edges without self-loops or duplicates, giving up after
+    // 10 attempts per edge on graphs too dense to fit them. Weights are 1-9 when weighted.
+    public int addRandomEdges(int numEdges, Random random) {
+        int edgesAdded = 0;
+        int maxAttempts = numEdges * 10;
+        int attempts = 0;
+
+        while (edgesAdded < numEdges && attempts < maxAttempts) {
+            int from = random.nextInt(numNodes);
+            int to = random.nextInt(numNodes);
+
+            if (from != to && !hasEdge(from, to)) {
+                int weight = isWeighted ? random.nextInt(9) + 1 : 1;
+                addEdge(from, to, weight);
+                edgesAdded++;
+            }
+            attempts++;
+        }
+        return edgesAdded;
+    }
+
     public void setNodePosition(int nodeId, Point2D position) {
-        nodePositions.put(nodeId, position);
+        if (nodeId < 0 || nodeId >= numNodes) return;
+        if (position == null) {
+            nodeAttributes.clearPosition(nodeId);
+        } else {
+            nodeAttributes.setPosition(nodeId, position.getX(), position.getY());
+        }
+        snapshot = snapshot.withPosition(nodeId, position);
     }
 
+    // Built from the x and y columns; loops over all nodes should read those instead
     public Point2D getNodePosition(int nodeId) {
-        return nodePositions.get(nodeId);
+        if (!nodeAttributes.hasPosition(nodeId)) return null;
+        return new Point2D(nodeAttributes.getX(nodeId), nodeAttributes.getY(nodeId));
+    }
+
+    // Positions plus the traversal state, distance and parent per node, and any extra
+    // columns; all indexed by node id
+    public NodeAttributes getNodeAttributes() {
+        return nodeAttributes;
     }
 
     public int getNumNodes() {
         return numNodes;
     }
 
+    public boolean hasEdge(int from, int to) {
+        return adjBits.get(from, to);
+    }
+
+    // Live, but only readable from outside the package
+    public BitMatrix getAdjBits() {
+        return adjBits;
+    }
+
+    // A copy on each call: the stored weight matrix for weighted graphs, a 0/1 matrix
+    // built from the bitset otherwise. Single cells are cheaper through hasEdge and
+    // getWeight.
     public int[][] getAdjMatrix() {
-        return adjMatrix;
+        if (adjMatrix != null) {
+            int[][] copy = new int[numNodes][];
+            for (int i = 0; i < numNodes; i++) {
+                copy[i] = adjMatrix[i].clone();
+            }
+            return copy;
+        }
+
+        int[][] matrix = new int[numNodes][numNodes];
+        for (int i = 0; i < numNodes; i++) {
+            for (int j = 0; j < numNodes; j++) {
+                if (adjBits.get(i, j)) matrix[i][j] = 1;
+            }
+        }
+        return matrix;
     }
 
+    // Read-only views for the FX thread; other threads should use snapshot()
     public Map<Integer, List<int[]>> getAdjList() {
-        return adjList;
+        return adjListView;
     }
 
     public List<Edge> getEdgeList() {
-        return edgeList;
+        return edgeListView;
+    }
+
+    // The current version, consistent and safe to read from any thread while this
+    // model keeps changing
+    public ImmutableGraph snapshot() {
+        return snapshot;
     }
 
     public boolean isDirected() {
@@ -98,12 +280,77 @@ public class GraphModel {
         return isWeighted;
     }
 
+    // Changes whenever edges are added, removed or reweighted, or the graph is cleared
+    public long getVersion() {
+        return snapshot.getVersion();
+    }
+
+    // Empties the graph in place, keeping the node positions. The matrix rows and the
+    // adjacency lists are reused instead of reallocated.
     public void clear() {
-        adjMatrix = new int[numNodes][numNodes];
-        adjList.clear();
+        adjBits.clearAll();
+        if (adjMatrix != null) {
+            for (int[] row : adjMatrix) {
+                Arrays.fill(row, 0);
+            }
+        }
+        for (int u = 0; u < numNodes; u++) {
+            adjList.get(u).clear();
+            neighborIndex[u].clear();
+        }
         edgeList.clear();
-        for (int i = 0; i < numNodes; i++) {
-            adjList.put(i, new ArrayList<>());
+
+        snapshot = snapshot.withoutEdges(VERSION_COUNTER.incrementAndGet());
+    }
+
+    // Puts this model back into the state of an earlier snapshot of it (same node count
+    // and graph type). The snapshot's version is kept, since the graph is identical.
+    public void restore(ImmutableGraph state) {
+        if (state.getNumNodes() != numNodes || state.isDirected() != isDirected || state.isWeighted() != isWeighted) {
+            throw new IllegalArgumentException("Snapshot is of a different graph");
+        }
+
+        adjBits.clearAll();
+        if (adjMatrix != null) {
+            for (int[] row : adjMatrix) {
+                Arrays.fill(row, 0);
+            }
+        }
+        for (int u = 0; u < numNodes; u++) {
+            List<int[]> neighbors = adjList.get(u);
+            neighbors.clear();
+            neighborIndex[u].clear();
+            for (int i = 0; i < state.getDegree(u); i++) {
+                int v = state.getNeighbor(u, i);
+                int weight = state.getWeight(u, i);
+                neighborIndex[u].put(v, i);
+                neighbors.add(new int[]{v, weight, state.getEdgeId(u, i)});
+                adjBits.set(u, v);
+                if (adjMatrix != null) adjMatrix[u][v] = weight;
+            }
+        }
+        edgeList.clear();
+        for (int e = 0; e < state.getEdgeCount(); e++) {
+            edgeList.add(state.getEdge(e));
+        }
+        for (int u = 0; u < numNodes; u++) {
+            Point2D position = state.getNodePosition(u);
+            if (position == null) {
+                nodeAttributes.clearPosition(u);
+            } else {
+                nodeAttributes.setPosition(u, position.getX(), position.getY());
+            }
+        }
+
+        snapshot = state;
+    }
+
+    private void rebuildViews() {
+        Map<Integer, List<int[]>> lists = new HashMap<>();
+        for (Map.Entry<Integer, List<int[]>> entry : adjList.entrySet()) {
+            lists.put(entry.getKey(), Collections.unmodifiableList(entry.getValue()));
         }
+        adjListView = Collections.unmodifiableMap(lists);
+        edgeListView = Collections.unmodifiableList(edgeList);
     }
 }
\ No newline at end of file
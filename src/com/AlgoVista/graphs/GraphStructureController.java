@@ -1,19 +1,18 @@
 package com.AlgoVista.graphs;
 
+import com.AlgoVista.dashboard.ViewCache;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Point2D;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.control.*;
 import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.layout.GridPane;
-import javafx.stage.Stage;
+import javafx.scene.layout.HBox;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -25,10 +24,19 @@ public class GraphStructureController {
     @FXML private TableView<ObservableList<String>> matrixTable;
     @FXML private TableView<AdjListRow> adjListTable;
     @FXML private TableView<EdgeRow> edgeListTable;
+    @FXML private ComboBox<String> centralityCombo;
+    @FXML private TableView<CentralityRow> centralityTable;
+    @FXML private Label clusteringLabel;
     @FXML private Button finishCustomButton;
+    @FXML private HBox editButtons;
+    @FXML private Button undoButton, redoButton;
     private boolean customMode = false;
     private Integer selectedNode = null;
     private int customNodeCount = 0;
+    // Custom-mode edits go through the log so they can be undone
+    private GraphEditLog editLog;
+    private Integer draggedNode = null;
+    private Point2D dragStart = null;
 
     private GraphModel graphModel;
     private GraphVisualizer visualizer;
@@ -63,6 +71,22 @@ public class GraphStructureController {
         public String getTo() { return to; }
     }
 
+    public static class CentralityRow {
+        private String rank;
+        private String node;
+        private String score;
+
+        public CentralityRow(String rank, String node, String score) {
+            this.rank = rank;
+            this.node = node;
+            this.score = score;
+        }
+
+        public String getRank() { return rank; }
+        public String getNode() { return node; }
+        public String getScore() { return score; }
+    }
+
     @FXML
     public void initialize() {
         // Initialize graph type toggle group
@@ -77,6 +101,10 @@ public class GraphStructureController {
         spinnerNodes.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(3, 15, 7));
         spinnerEdges.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 50, 8));
 
+        // Initialize centrality selector
+        centralityCombo.getItems().addAll("None", "PageRank", "Degree", "Betweenness", "Clustering");
+        centralityCombo.setValue("None");
+
         // Initialize visualizer
         visualizer = new GraphVisualizer(graphCanvas);
 
@@ -92,7 +120,11 @@ public class GraphStructureController {
         boolean isDirected = rbDU.isSelected() || rbDW.isSelected();
         boolean isWeighted = rbUW.isSelected() || rbDW.isSelected();
 
+        // A new graph ends custom mode; its edit log belongs to the old one
+        if (customMode) leaveCustomMode();
+
         // Create new graph model
+        GraphEvents.Generation generation = GraphEvents.Generation.start("structure");
         graphModel = new GraphModel(numNodes, isDirected, isWeighted);
 
         // Generate random node positions in a circle
@@ -108,28 +140,21 @@ public class GraphStructureController {
         }
 
         // Generate random edges
-        Random random = new Random();
-        int edgesAdded = 0;
-        int maxAttempts = numEdges * 10;
-        int attempts = 0;
-
-        while (edgesAdded < numEdges && attempts < maxAttempts) {
-            int from = random.nextInt(numNodes);
-            int to = random.nextInt(numNodes);
-
-            if (from != to && graphModel.getAdjMatrix()[from][to] == 0) {
-                int weight = isWeighted ? random.nextInt(9) + 1 : 1;
-                graphModel.addEdge(from, to, weight);
-                edgesAdded++;
-            }
-            attempts++;
-        }
+        graphModel.addRandomEdges(numEdges, new Random());
+        generation.finish(graphModel);
 
         // Update visualization
         updateVisualization();
     }
 
     private void updateVisualization() {
+        // Score nodes first so the canvas can size and colour them
+        Clustering.Result clustering = Clustering.count(graphModel);
+        double[] scores = "Clustering".equals(centralityCombo.getValue())
+                ? clustering.getLocalCoefficients()
+                : computeCentrality();
+        visualizer.setNodeScores(scores);
+
         // Draw graph on canvas
         visualizer.drawGraph(graphModel);
 
@@ -137,6 +162,73 @@ public class GraphStructureController {
         updateMatrixTable();
         updateAdjListTable();
         updateEdgeListTable();
+        updateCentralityTable(scores);
+        updateClusteringLabel(clustering);
+    }
+
+    private void updateClusteringLabel(Clustering.Result clustering) {
+        clusteringLabel.setText(String.format("Triangles: %d%nGlobal clustering: %.4f%nAverage local: %.4f",
+                clustering.getTriangles(), clustering.getGlobalCoefficient(),
+                clustering.getAverageLocalCoefficient()));
+    }
+
+    @FXML
+    private void onCentralityChanged() {
+        if (graphModel != null && !customMode) {
+            updateVisualization();
+        }
+    }
+
+    private double[] computeCentrality() {
+        String measure = centralityCombo.getValue();
+        if (measure == null || measure.equals("None")) return null;
+
+        CompactGraph compact = CompactGraph.from(graphModel);
+        switch (measure) {
+            case "PageRank":
+                return Centrality.pageRank(compact);
+            case "Degree":
+                return Centrality.degree(compact);
+            case "Betweenness":
+                return Centrality.betweenness(compact);
+            default:
+                return null;
+        }
+    }
+
+    private void updateCentralityTable(double[] scores) {
+        centralityTable.getColumns().clear();
+        centralityTable.getItems().clear();
+        if (scores == null) return;
+
+        // Create columns
+        TableColumn<CentralityRow, String> rankCol = new TableColumn<>("Rank");
+        rankCol.setCellValueFactory(new PropertyValueFactory<>("rank"));
+        rankCol.setPrefWidth(60);
+
+        TableColumn<CentralityRow, String> nodeCol = new TableColumn<>("Node");
+        nodeCol.setCellValueFactory(new PropertyValueFactory<>("node"));
+        nodeCol.setPrefWidth(60);
+
+        TableColumn<CentralityRow, String> scoreCol = new TableColumn<>(centralityCombo.getValue());
+        scoreCol.setCellValueFactory(new PropertyValueFactory<>("score"));
+        scoreCol.setPrefWidth(100);
+
+        centralityTable.getColumns().addAll(rankCol, nodeCol, scoreCol);
+
+        // Add data, highest score first
+        Integer[] nodes = new Integer[scores.length];
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = i;
+        }
+        Arrays.sort(nodes, (a, b) -> Double.compare(scores[b], scores[a]));
+        for (int i = 0; i < nodes.length; i++) {
+            centralityTable.getItems().add(new CentralityRow(
+                    String.valueOf(i + 1),
+                    String.valueOf(nodes[i]),
+                    String.format("%.4f", scores[nodes[i]])
+            ));
+        }
     }
 
     private void updateMatrixTable() {
@@ -249,29 +341,50 @@ public class GraphStructureController {
     @FXML
     private void clearGraph() {
         if (graphModel != null) {
-            graphModel.clear();
+            if (editLog != null) {
+                editLog.clear();
+                selectedNode = null;
+                updateEditButtons();
+            } else {
+                graphModel.clear();
+            }
             updateVisualization();
         }
     }
 
     @FXML
-    private void backToCategory() {
-        try {
-            FXMLLoader loader = new FXMLLoader();
-            loader.setLocation(getClass().getResource("/fxml/GraphCategory.fxml"));
-            Parent root = loader.load();
+    private void undoEdit() {
+        if (editLog != null && editLog.undo()) {
+            selectedNode = null;
+            visualizer.drawGraph(graphModel);
+            updateEditButtons();
+        }
+    }
+
+    @FXML
+    private void redoEdit() {
+        if (editLog != null && editLog.redo()) {
+            selectedNode = null;
+            visualizer.drawGraph(graphModel);
+            updateEditButtons();
+        }
+    }
 
-            Stage stage = (Stage) graphCanvas.getScene().getWindow();
-            double width = stage.getWidth();
-            double height = stage.getHeight();
-            double x = stage.getX();
-            double y = stage.getY();
+    private void updateEditButtons() {
+        undoButton.setDisable(editLog == null || !editLog.canUndo());
+        redoButton.setDisable(editLog == null || !editLog.canRedo());
+    }
 
-            Scene scene = new Scene(root, width, height);
-            stage.setScene(scene);
-            stage.setX(x);
-            stage.setY(y);
+    private void setEditButtonsVisible(boolean visible) {
+        editButtons.setVisible(visible);
+        editButtons.setManaged(visible);
+    }
 
+    @FXML
+    private void backToCategory() {
+        try {
+            // The view stays cached with its graph and settings for the next visit
+            ViewCache.show(graphCanvas, ViewCache.GRAPH_CATEGORY);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -293,8 +406,9 @@ public class GraphStructureController {
                     return;
                 }
 
-                // Start custom mode
+                // Start custom mode; centrality is recomputed when the graph is finished
                 customMode = true;
+                visualizer.setNodeScores(null);
                 finishCustomButton.setVisible(true);
 
                 // Get graph type
@@ -316,13 +430,21 @@ public class GraphStructureController {
                     graphModel.setNodePosition(i, new Point2D(x, y));
                 }
 
-                // Enable canvas click handler
+                // The log starts from the empty layout, so undo never goes past it
+                editLog = new GraphEditLog(graphModel);
+                setEditButtonsVisible(true);
+                updateEditButtons();
+
+                // Enable canvas click and drag handlers
                 setupCanvasClickHandler();
+                setupCanvasDragHandler();
 
                 // Draw empty graph
                 visualizer.drawGraph(graphModel);
 
-                showAlert("Custom Mode", "Click on a node, then click on another node to create an edge.\nClick 'Finish Custom Graph' when done.");
+                showAlert("Custom Mode", "Click on a node, then click on another node to create an edge.\n"
+                        + "Click two connected nodes to change the weight, Shift-click the second one to remove the edge.\n"
+                        + "Drag nodes to move them. Click 'Finish Custom Graph' when done.");
 
             } catch (NumberFormatException e) {
                 showAlert("Invalid Input", "Please enter a valid number.");
@@ -332,7 +454,8 @@ public class GraphStructureController {
 
     private void setupCanvasClickHandler() {
         graphCanvas.setOnMouseClicked(event -> {
-            if (!customMode) return;
+            // The end of a drag is not a click
+            if (!customMode || !event.isStillSincePress()) return;
 
             double x = event.getX();
             double y = event.getY();
@@ -346,48 +469,83 @@ public class GraphStructureController {
                     selectedNode = clickedNode;
                     System.out.println("Selected node: " + selectedNode);
                 } else {
-                    // Second node selected - create edge
+                    // Second node selected - create, change or remove the edge
                     if (clickedNode.equals(selectedNode)) {
                         // Same node clicked - deselect
                         selectedNode = null;
                         return;
                     }
 
-                    int weight = 1;
-                    if (graphModel.isWeighted()) {
-                        // Ask for weight
-                        TextInputDialog weightDialog = new TextInputDialog("1");
+                    boolean connected = graphModel.hasEdge(selectedNode, clickedNode);
+                    if (event.isShiftDown()) {
+                        if (connected) editLog.removeEdge(selectedNode, clickedNode);
+                    } else if (connected && !graphModel.isWeighted()) {
+                        showAlert("Edge Exists", "These nodes are already connected.\nShift-click the second node to remove the edge.");
+                    } else if (graphModel.isWeighted()) {
+                        // Ask for weight; an existing edge is reweighted
+                        TextInputDialog weightDialog = new TextInputDialog(
+                                connected ? String.valueOf(graphModel.getWeight(selectedNode, clickedNode)) : "1");
                         weightDialog.setTitle("Edge Weight");
-                        weightDialog.setHeaderText("Enter edge weight:");
+                        weightDialog.setHeaderText(connected ? "Enter new edge weight:" : "Enter edge weight:");
                         weightDialog.setContentText("Weight:");
 
                         weightDialog.showAndWait().ifPresent(result -> {
                             try {
                                 int w = Integer.parseInt(result);
-                                graphModel.addEdge(selectedNode, clickedNode, w);
-                                visualizer.drawGraph(graphModel);
+                                if (connected) {
+                                    editLog.setWeight(selectedNode, clickedNode, w);
+                                } else {
+                                    editLog.addEdge(selectedNode, clickedNode, w);
+                                }
                             } catch (NumberFormatException e) {
                                 showAlert("Invalid Input", "Please enter a valid number.");
                             }
                         });
                     } else {
                         // Unweighted - just add edge
-                        graphModel.addEdge(selectedNode, clickedNode, weight);
-                        visualizer.drawGraph(graphModel);
+                        editLog.addEdge(selectedNode, clickedNode, 1);
                     }
 
+                    visualizer.drawGraph(graphModel);
+                    updateEditButtons();
                     selectedNode = null;
                 }
             }
         });
     }
 
+    // Dragging a node moves it live; the whole move becomes one undoable edit on release
+    private void setupCanvasDragHandler() {
+        graphCanvas.setOnMousePressed(event -> {
+            if (!customMode) return;
+            draggedNode = findNodeAtPosition(event.getX(), event.getY());
+            dragStart = draggedNode == null ? null : graphModel.getNodePosition(draggedNode);
+        });
+        graphCanvas.setOnMouseDragged(event -> {
+            if (draggedNode == null) return;
+            double x = Math.max(0, Math.min(graphCanvas.getWidth(), event.getX()));
+            double y = Math.max(0, Math.min(graphCanvas.getHeight(), event.getY()));
+            graphModel.setNodePosition(draggedNode, new Point2D(x, y));
+            visualizer.drawGraph(graphModel);
+        });
+        graphCanvas.setOnMouseReleased(event -> {
+            if (draggedNode == null) return;
+            Point2D end = graphModel.getNodePosition(draggedNode);
+            if (!end.equals(dragStart)) {
+                editLog.moveNode(draggedNode, dragStart, end);
+                updateEditButtons();
+            }
+            draggedNode = null;
+            dragStart = null;
+        });
+    }
+
     private Integer findNodeAtPosition(double x, double y) {
         double nodeRadius = 25;
+        NodeAttributes attributes = graphModel.getNodeAttributes();
         for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            Point2D pos = graphModel.getNodePosition(i);
-            if (pos != null) {
-                double distance = Math.sqrt(Math.pow(x - pos.getX(), 2) + Math.pow(y - pos.getY(), 2));
+            if (attributes.hasPosition(i)) {
+                double distance = Math.hypot(x - attributes.getX(i), y - attributes.getY(i));
                 if (distance <= nodeRadius) {
                     return i;
                 }
@@ -398,12 +556,7 @@ public class GraphStructureController {
 
     @FXML
     private void finishCustomMode() {
-        customMode = false;
-        finishCustomButton.setVisible(false);
-        selectedNode = null;
-
-        // Remove click handler
-        graphCanvas.setOnMouseClicked(null);
+        leaveCustomMode();
 
         // Update all tables
         updateVisualization();
@@ -411,6 +564,20 @@ public class GraphStructureController {
         showAlert("Custom Graph Complete", "Your custom graph has been created!");
     }
 
+    private void leaveCustomMode() {
+        customMode = false;
+        finishCustomButton.setVisible(false);
+        selectedNode = null;
+        editLog = null;
+        setEditButtonsVisible(false);
+
+        // Remove click and drag handlers
+        graphCanvas.setOnMouseClicked(null);
+        graphCanvas.setOnMousePressed(null);
+        graphCanvas.setOnMouseDragged(null);
+        graphCanvas.setOnMouseReleased(null);
+    }
+
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
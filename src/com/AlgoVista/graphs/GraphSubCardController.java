@@ -2,11 +2,15 @@ package com.AlgoVista.graphs;
 
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
 
 public class GraphSubCardController {
     @FXML private Label cardTitle;
+    @FXML private ImageView cardImage;
 
-    public void setData(String title) {
+    public void setData(String title, Image image) {
         cardTitle.setText(title);
+        cardImage.setImage(image);
     }
-}
\ No newline at end of file
+}
@@ -1,14 +1,18 @@
 package com.AlgoVista.graphs;
 
+import com.AlgoVista.dashboard.ViewCache;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.geometry.Point2D;
-import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.chart.LineChart;
+import javafx.scene.chart.NumberAxis;
+import javafx.scene.chart.XYChart;
 import javafx.scene.control.*;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -23,38 +27,114 @@ public class GraphTraversalController {
     @FXML private Canvas graphCanvas;
     @FXML private RadioButton rbUU, rbUW, rbDU, rbDW;
     @FXML private ComboBox<String> algorithmCombo;
-    @FXML private Spinner<Integer> startNodeSpinner, nodesSpinner, edgesSpinner;
+    @FXML private Spinner<Integer> startNodeSpinner, targetNodeSpinner, nodesSpinner, edgesSpinner;
+    @FXML private TextField sourcesField;
     @FXML private Slider speedSlider;
     @FXML private Button playButton, pauseButton, resetButton;
-    @FXML private Label traversalOrderLabel, timeComplexityLabel, spaceComplexityLabel;
+    @FXML private Label traversalOrderLabel, timeComplexityLabel, spaceComplexityLabel, measuredLabel;
     @FXML private TextArea distanceTableArea;
     @FXML private Label algorithmInfoLabel;
     @FXML private Button finishCustomButton;
+    @FXML private Button undoButton, redoButton;
+    @FXML private CheckBox frameStatsToggle;
+    @FXML private Button benchmarkButton;
     private boolean customMode = false;
     private Integer selectedNode = null;
     private int customNodeCount = 0;
+    // Custom-mode edits go through the log so they can be undone
+    private GraphEditLog editLog;
+    private Integer draggedNode = null;
+    private Point2D dragStart = null;
 
     private GraphModel graphModel;
     private GraphicsContext gc;
     private ToggleGroup graphTypeGroup;
+    private FrameProfiler frameProfiler;
+    private int drawCalls;
 
     private Timeline animation;
     private List<Integer> traversalOrder;
     private int currentStep;
-    private Map<Integer, Color> nodeColors;
-    private Map<Integer, Integer> distances;
-    private Map<Integer, Integer> parent;
+    // Node colors, distances and parents live in the model's NodeAttributes columns;
+    // this says whether the dist and parent columns hold the last run's result
+    private boolean hasDistances;
+    private List<Integer> highlightedPath = new ArrayList<>();
+    private int[] nodeGroups;
+    private List<int[]> stepEdges;
+    private final Set<Long> highlightedEdges = new HashSet<>();
+    private Map<Long, String> edgeLabels;
+    private DynamicShortestPaths livePaths;
+    private String[] liveTableRows;
+    private ContractionHierarchy chIndex;
+    private long chIndexVersion = -1;
+    // CSR form of the graph and what point-to-point queries derive from it, built once
+    // per graph version. The A* scale also depends on the layout, so it is keyed on the
+    // snapshot, which moving a node replaces.
+    private CompactGraph cachedCompact;
+    private long cachedCompactVersion = -1;
+    private CompactGraph cachedReverse;
+    private ImmutableGraph scaleSnapshot;
+    private double heuristicScale;
+
+    // Results of earlier runs, bounded by count and by the number of values they hold
+    private static final int RESULT_CACHE_ENTRIES = 64;
+    private static final long RESULT_CACHE_WEIGHT = 2_000_000;
+    private final AlgorithmResultCache<CachedRun> resultCache =
+            new AlgorithmResultCache<>(RESULT_CACHE_ENTRIES, RESULT_CACHE_WEIGHT, CachedRun::weight);
+
+    private static class CachedRun {
+        final List<Integer> order;
+        final List<Integer> path;
+        final int[] groups;
+        final List<int[]> edges;
+        final Map<Long, String> labels;
+        final int[] distances;
+        final int[] parent;
+        final String table;
+
+        CachedRun(List<Integer> order, List<Integer> path, int[] groups, List<int[]> edges,
+                  Map<Long, String> labels, int[] distances, int[] parent,
+                  String table) {
+            this.order = order;
+            this.path = path;
+            this.groups = groups;
+            this.edges = edges;
+            this.labels = labels;
+            this.distances = distances;
+            this.parent = parent;
+            this.table = table;
+        }
+
+        long weight() {
+            long maps = (distances == null ? 0 : distances.length) + (parent == null ? 0 : parent.length);
+            return order.size() + path.size() + (groups == null ? 0 : groups.length)
+                    + (edges == null ? 0 : 2L * edges.size()) + (labels == null ? 0 : labels.size())
+                    + maps + table.length() / 4;
+        }
+    }
 
     private static final double NODE_RADIUS = 25;
     private static final Color UNVISITED_COLOR = Color.LIGHTGRAY;
     private static final Color VISITING_COLOR = Color.YELLOW;
     private static final Color VISITED_COLOR = Color.LIGHTGREEN;
     private static final Color PATH_COLOR = Color.ORANGE;
+    private static final int MAX_MATRIX_COLUMNS = 30;
+    private static final Color[] GROUP_COLORS = {
+            Color.LIGHTGREEN, Color.LIGHTSKYBLUE, Color.PLUM, Color.KHAKI,
+            Color.LIGHTCORAL, Color.AQUAMARINE, Color.NAVAJOWHITE, Color.LIGHTPINK
+    };
 
     @FXML
     public void initialize() {
         gc = graphCanvas.getGraphicsContext2D();
 
+        // Frame-time overlay, off until the checkbox is ticked
+        frameProfiler = new FrameProfiler(graphCanvas);
+        frameStatsToggle.selectedProperty().addListener((obs, oldValue, newValue) -> {
+            frameProfiler.setEnabled(newValue);
+            drawGraph();
+        });
+
         // Initialize graph type toggle group
         graphTypeGroup = new ToggleGroup();
         rbUU.setToggleGroup(graphTypeGroup);
@@ -64,16 +144,18 @@ public class GraphTraversalController {
         rbUU.setSelected(true);
 
         // Initialize algorithm combo
-        algorithmCombo.getItems().addAll("BFS", "DFS", "Dijkstra", "Bellman-Ford");
+        algorithmCombo.getItems().addAll("BFS", "DFS", "Dijkstra", "Bellman-Ford",
+                "Batch BFS", "Batch Dijkstra", "All-Pairs", "A*", "Bidirectional Dijkstra",
+                "Contraction Hierarchies",
+                "Connected Components", "Strongly Connected Components", "Topological Sort",
+                "Kruskal MST", "Prim MST", "Borůvka MST", "Max Flow (Dinic)", "Max Flow (Push-Relabel)");
         algorithmCombo.setValue("BFS");
 
         // Initialize spinners
         nodesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(3, 15, 7));
         edgesSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(1, 50, 8));
         startNodeSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 6, 0));
-
-        // Initialize node colors
-        nodeColors = new HashMap<>();
+        targetNodeSpinner.setValueFactory(new SpinnerValueFactory.IntegerSpinnerValueFactory(0, 6, 6));
 
         // Generate initial graph
         generateRandomGraph();
@@ -83,6 +165,12 @@ public class GraphTraversalController {
         algorithmCombo.setOnAction(e -> {
             updateComplexity();
             updateAlgorithmInfo();
+            if (customMode) startLiveDistances();
+        });
+
+        // Live distances in custom mode follow the selected start node
+        startNodeSpinner.valueProperty().addListener((obs, oldValue, newValue) -> {
+            if (customMode && newValue != null) startLiveDistances();
         });
 
         // At the end of initialize() method
@@ -97,13 +185,20 @@ public class GraphTraversalController {
         boolean isDirected = rbDU.isSelected() || rbDW.isSelected();
         boolean isWeighted = rbUW.isSelected() || rbDW.isSelected();
 
+        // A new graph ends custom mode; its edit log belongs to the old one
+        if (customMode) leaveCustomMode();
+
         // Create new graph model
+        GraphEvents.Generation generation = GraphEvents.Generation.start("traversal");
         graphModel = new GraphModel(numNodes, isDirected, isWeighted);
 
-        // Update start node spinner max value
+        // Update start and target node spinner max values
         startNodeSpinner.setValueFactory(
                 new SpinnerValueFactory.IntegerSpinnerValueFactory(0, numNodes - 1, 0)
         );
+        targetNodeSpinner.setValueFactory(
+                new SpinnerValueFactory.IntegerSpinnerValueFactory(0, numNodes - 1, numNodes - 1)
+        );
 
         // Generate random node positions in a circle
         double centerX = graphCanvas.getWidth() / 2;
@@ -118,22 +213,8 @@ public class GraphTraversalController {
         }
 
         // Generate random edges
-        Random random = new Random();
-        int edgesAdded = 0;
-        int maxAttempts = numEdges * 10;
-        int attempts = 0;
-
-        while (edgesAdded < numEdges && attempts < maxAttempts) {
-            int from = random.nextInt(numNodes);
-            int to = random.nextInt(numNodes);
-
-            if (from != to && graphModel.getAdjMatrix()[from][to] == 0) {
-                int weight = isWeighted ? random.nextInt(9) + 1 : 1;
-                graphModel.addEdge(from, to, weight);
-                edgesAdded++;
-            }
-            attempts++;
-        }
+        graphModel.addRandomEdges(numEdges, new Random());
+        generation.finish(graphModel);
 
         // Reset visualization
         resetVisualization();
@@ -141,10 +222,10 @@ public class GraphTraversalController {
     }
 
     private void resetVisualization() {
-        nodeColors.clear();
-        for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            nodeColors.put(i, UNVISITED_COLOR);
-        }
+        graphModel.getNodeAttributes().resetTraversal();
+        hasDistances = false;
+        highlightedEdges.clear();
+        edgeLabels = null;
         drawGraph();
         traversalOrderLabel.setText("Traversal Order: ");
         distanceTableArea.clear();
@@ -159,28 +240,91 @@ public class GraphTraversalController {
 
         String algorithm = algorithmCombo.getValue();
         int startNode = startNodeSpinner.getValue();
+        GraphEvents.AlgorithmRun runEvent = GraphEvents.AlgorithmRun.start(algorithm);
 
         // Reset
         currentStep = 0;
+        highlightedPath = new ArrayList<>();
+        nodeGroups = null;
+        stepEdges = null;
+        edgeLabels = null;
         resetVisualization();
 
-        // Run algorithm
-        switch (algorithm) {
-            case "BFS":
-                traversalOrder = bfs(startNode);
-                break;
-            case "DFS":
-                traversalOrder = dfs(startNode);
-                break;
-            case "Dijkstra":
-                traversalOrder = dijkstra(startNode);
-                displayDistanceTable();
-                break;
-            case "Bellman-Ford":
-                traversalOrder = bellmanFord(startNode);
-                displayDistanceTable();
-                break;
+        // Reuse the previous result if this exact run was already done on this graph version
+        AlgorithmResultCache.Key cacheKey = new AlgorithmResultCache.Key(
+                graphModel.getVersion(), algorithm, startNode, cacheVariant(algorithm));
+        CachedRun cached = resultCache.get(cacheKey);
+
+        if (cached != null) {
+            traversalOrder = cached.order;
+            highlightedPath = cached.path;
+            nodeGroups = cached.groups;
+            stepEdges = cached.edges;
+            edgeLabels = cached.labels;
+            if (cached.distances != null) {
+                NodeAttributes attributes = graphModel.getNodeAttributes();
+                System.arraycopy(cached.distances, 0, attributes.dist().array(), 0, cached.distances.length);
+                System.arraycopy(cached.parent, 0, attributes.parent().array(), 0, cached.parent.length);
+                hasDistances = true;
+            }
+            distanceTableArea.setText(cached.table);
+            measuredLabel.setText("Measured: cached result");
+        } else {
+            // Run algorithm
+            AlgorithmStats.Run run = AlgorithmStats.start();
+            switch (algorithm) {
+                case "BFS":
+                    traversalOrder = Traversals.bfs(graphModel, startNode);
+                    break;
+                case "DFS":
+                    traversalOrder = Traversals.dfs(graphModel, startNode);
+                    break;
+                case "Dijkstra":
+                    traversalOrder = Traversals.dijkstra(graphModel, startNode);
+                    hasDistances = true;
+                    displayDistanceTable();
+                    break;
+                case "Bellman-Ford":
+                    traversalOrder = Traversals.bellmanFord(graphModel, startNode);
+                    hasDistances = true;
+                    displayDistanceTable();
+                    break;
+                case "Batch BFS":
+                case "Batch Dijkstra":
+                case "All-Pairs":
+                    traversalOrder = runBatch(algorithm);
+                    break;
+                case "A*":
+                case "Bidirectional Dijkstra":
+                case "Contraction Hierarchies":
+                    traversalOrder = runPointToPoint(algorithm, startNode, targetNodeSpinner.getValue());
+                    break;
+                case "Connected Components":
+                case "Strongly Connected Components":
+                case "Topological Sort":
+                    traversalOrder = runAnalysis(algorithm);
+                    break;
+                case "Kruskal MST":
+                case "Prim MST":
+                case "Borůvka MST":
+                    traversalOrder = runMinimumSpanningTree(algorithm, startNode);
+                    break;
+                case "Max Flow (Dinic)":
+                case "Max Flow (Push-Relabel)":
+                    traversalOrder = runMaxFlow(algorithm, startNode, targetNodeSpinner.getValue());
+                    break;
+            }
+            measuredLabel.setText(run.stop().summary());
+
+            if (!traversalOrder.isEmpty()) {
+                resultCache.put(cacheKey, new CachedRun(traversalOrder, highlightedPath, nodeGroups,
+                        stepEdges, edgeLabels,
+                        hasDistances ? graphModel.getNodeAttributes().dist().array().clone() : null,
+                        hasDistances ? graphModel.getNodeAttributes().parent().array().clone() : null,
+                        distanceTableArea.getText()));
+            }
         }
+        runEvent.finish(graphModel, traversalOrder.size(), cached != null);
 
         // Animate
         animateTraversal();
@@ -189,18 +333,26 @@ public class GraphTraversalController {
     private void animateTraversal() {
         double speed = speedSlider.getValue();
         Duration duration = Duration.millis(1000 / speed);
+        frameProfiler.setBudgetNanos((long) (duration.toMillis() * 1_000_000));
 
+        NodeAttributes.ByteColumn state = graphModel.getNodeAttributes().state();
         animation = new Timeline(new KeyFrame(duration, e -> {
             if (currentStep < traversalOrder.size()) {
                 int node = traversalOrder.get(currentStep);
 
                 // Update color
                 if (currentStep == 0) {
-                    nodeColors.put(node, VISITING_COLOR);
+                    state.set(node, NodeAttributes.VISITING);
                 } else {
                     int prevNode = traversalOrder.get(currentStep - 1);
-                    nodeColors.put(prevNode, VISITED_COLOR);
-                    nodeColors.put(node, VISITING_COLOR);
+                    state.set(prevNode, NodeAttributes.VISITED);
+                    state.set(node, NodeAttributes.VISITING);
+                }
+
+                // Reveal the tree edge (if any) that this step added
+                if (stepEdges != null && stepEdges.get(currentStep) != null) {
+                    int[] edge = stepEdges.get(currentStep);
+                    highlightedEdges.add(edgeKey(edge[0], edge[1]));
                 }
 
                 // Update traversal order display
@@ -212,9 +364,17 @@ public class GraphTraversalController {
                 // Mark last node as visited
                 if (!traversalOrder.isEmpty()) {
                     int lastNode = traversalOrder.get(traversalOrder.size() - 1);
-                    nodeColors.put(lastNode, VISITED_COLOR);
-                    drawGraph();
+                    state.set(lastNode, NodeAttributes.VISITED);
+                }
+                if (nodeGroups != null) {
+                    for (int node = 0; node < nodeGroups.length; node++) {
+                        state.set(node, (byte) (NodeAttributes.GROUP + nodeGroups[node] % GROUP_COLORS.length));
+                    }
+                }
+                for (int node : highlightedPath) {
+                    state.set(node, NodeAttributes.ON_PATH);
                 }
+                drawGraph();
                 animation.stop();
             }
         }));
@@ -250,145 +410,429 @@ public class GraphTraversalController {
         resetVisualization();
     }
 
-    // BFS Algorithm
-    private List<Integer> bfs(int start) {
+    // Components are coloured by group when the animation ends; a cycle is shown as a path
+    private List<Integer> runAnalysis(String algorithm) {
+        StringBuilder sb = new StringBuilder();
         List<Integer> order = new ArrayList<>();
-        boolean[] visited = new boolean[graphModel.getNumNodes()];
-        Queue<Integer> queue = new LinkedList<>();
-
-        queue.add(start);
-        visited[start] = true;
-
-        while (!queue.isEmpty()) {
-            int node = queue.poll();
-            order.add(node);
 
-            for (int[] neighbor : graphModel.getAdjList().get(node)) {
-                int next = neighbor[0];
-                if (!visited[next]) {
-                    visited[next] = true;
-                    queue.add(next);
+        if (algorithm.equals("Topological Sort")) {
+            if (!graphModel.isDirected()) {
+                distanceTableArea.setText("Topological order needs a directed graph (D/U or D/W).");
+                return order;
+            }
+            GraphAnalysis.TopologicalOrder topo = GraphAnalysis.topologicalSort(compactGraph());
+            for (int node : topo.getOrder()) {
+                order.add(node);
+            }
+            if (topo.isAcyclic()) {
+                sb.append("Graph is a DAG.\n");
+            } else {
+                highlightedPath = topo.getCycle();
+                sb.append("Cycle detected - no topological order exists.\nCycle: ");
+                for (int i = 0; i < highlightedPath.size(); i++) {
+                    if (i > 0) sb.append(" → ");
+                    sb.append(highlightedPath.get(i));
                 }
+                sb.append("\nNodes placed before the cycle: ").append(order.size())
+                        .append(" of ").append(graphModel.getNumNodes()).append("\n");
             }
+            distanceTableArea.setText(sb.toString());
+            return order;
         }
 
+        GraphAnalysis.Components components = algorithm.equals("Connected Components")
+                ? GraphAnalysis.connectedComponents(graphModel)
+                : GraphAnalysis.stronglyConnectedComponents(compactGraph());
+        nodeGroups = components.getLabels();
+
+        List<List<Integer>> groups = components.getGroups();
+        sb.append(components.getCount()).append(" component(s)\n");
+        sb.append("─────────────────────────\n");
+        for (int i = 0; i < groups.size(); i++) {
+            sb.append("C").append(i).append(": ").append(groups.get(i)).append("\n");
+            order.addAll(groups.get(i));
+        }
+        distanceTableArea.setText(sb.toString());
         return order;
     }
 
-    // DFS Algorithm
-    private List<Integer> dfs(int start) {
+    // Spanning tree edges are revealed one animation step at a time
+    private List<Integer> runMinimumSpanningTree(String algorithm, int startNode) {
         List<Integer> order = new ArrayList<>();
-        boolean[] visited = new boolean[graphModel.getNumNodes()];
-        dfsHelper(start, visited, order);
-        return order;
-    }
+        if (graphModel.isDirected()) {
+            distanceTableArea.setText("Minimum spanning trees need an undirected graph (U/U or U/W).");
+            return order;
+        }
+
+        MinimumSpanningTree.Result tree;
+        switch (algorithm) {
+            case "Kruskal MST":
+                tree = MinimumSpanningTree.kruskal(MinimumSpanningTree.EdgeArrays.from(graphModel));
+                break;
+            case "Prim MST":
+                tree = MinimumSpanningTree.prim(compactGraph(), startNode);
+                break;
+            default:
+                tree = MinimumSpanningTree.boruvka(MinimumSpanningTree.EdgeArrays.from(graphModel));
+                break;
+        }
 
-    private void dfsHelper(int node, boolean[] visited, List<Integer> order) {
-        visited[node] = true;
-        order.add(node);
+        stepEdges = new ArrayList<>();
+        for (int[] step : MinimumSpanningTree.animationTrace(tree, startNode)) {
+            order.add(step[0]);
+            stepEdges.add(step[1] < 0 ? null : new int[]{step[1], step[2]});
+        }
 
-        for (int[] neighbor : graphModel.getAdjList().get(node)) {
-            int next = neighbor[0];
-            if (!visited[next]) {
-                dfsHelper(next, visited, order);
-            }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Edge\t\tWeight\n");
+        sb.append("─────────────────────────\n");
+        for (int i = 0; i < tree.size(); i++) {
+            sb.append(String.format("%d - %d\t\t%d\n", tree.getFrom(i), tree.getTo(i), tree.getWeight(i)));
         }
+        sb.append("─────────────────────────\n");
+        sb.append("Total weight: ").append(tree.getTotalWeight()).append("\n");
+        int components = graphModel.getNumNodes() - tree.size();
+        if (components > 1) {
+            sb.append("Graph is disconnected: spanning forest of ").append(components).append(" trees\n");
+        }
+        distanceTableArea.setText(sb.toString());
+        return order;
     }
 
-    // Dijkstra's Algorithm
-    private List<Integer> dijkstra(int start) {
-        int n = graphModel.getNumNodes();
-        distances = new HashMap<>();
-        parent = new HashMap<>();
-        boolean[] visited = new boolean[n];
+    // Max flow from source to target: edges show flow/capacity, the min cut is revealed
+    // edge by edge and the two sides of the cut are coloured as groups
+    private List<Integer> runMaxFlow(String algorithm, int source, int target) {
         List<Integer> order = new ArrayList<>();
+        if (source == target) {
+            distanceTableArea.setText("Source and target must be different nodes.");
+            return order;
+        }
+
+        MaxFlow.Network network = MaxFlow.Network.from(graphModel);
+        long start = System.nanoTime();
+        MaxFlow.Result flow = algorithm.equals("Max Flow (Dinic)")
+                ? MaxFlow.dinic(network, source, target)
+                : MaxFlow.pushRelabel(network, source, target);
+        long elapsed = System.nanoTime() - start;
+
+        List<GraphModel.Edge> edges = graphModel.getEdgeList();
+        int n = graphModel.getNumNodes();
+        nodeGroups = new int[n];
+        for (int node = 0; node < n; node++) {
+            if (flow.isSourceSide(node)) {
+                order.add(node);
+            } else {
+                nodeGroups[node] = 1;
+            }
+        }
 
-        // Initialize distances
-        for (int i = 0; i < n; i++) {
-            distances.put(i, Integer.MAX_VALUE);
-            parent.put(i, -1);
+        // An undirected edge is drawn once, so its label shows the net flow across it
+        Map<Long, Integer> netFlow = new HashMap<>();
+        Map<Long, Integer> capacity = new HashMap<>();
+        for (int e = 0; e < edges.size(); e++) {
+            GraphModel.Edge edge = edges.get(e);
+            long key = edgeKey(edge.from, edge.to);
+            int sign = graphModel.isDirected() || edge.from < edge.to ? 1 : -1;
+            netFlow.merge(key, sign * flow.getFlow(e), Integer::sum);
+            capacity.putIfAbsent(key, edge.weight);
+        }
+        edgeLabels = new HashMap<>();
+        for (Map.Entry<Long, Integer> entry : netFlow.entrySet()) {
+            edgeLabels.put(entry.getKey(), Math.abs(entry.getValue()) + "/" + capacity.get(entry.getKey()));
         }
-        distances.put(start, 0);
 
-        PriorityQueue<int[]> pq = new PriorityQueue<>(Comparator.comparingInt(a -> a[1]));
-        pq.add(new int[]{start, 0});
+        int sourceSideSize = order.size();
+        stepEdges = new ArrayList<>();
+        for (int i = 0; i < sourceSideSize; i++) {
+            stepEdges.add(null);
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("Source: ").append(source).append("   Target: ").append(target).append("\n");
+        sb.append(String.format("Max flow: %d   (%.2f ms)\n", flow.getValue(), elapsed / 1e6));
+        sb.append("─────────────────────────\n");
+        sb.append("Min cut edges:\n");
+        for (int e : flow.getCutEdges()) {
+            GraphModel.Edge edge = edges.get(e);
+            if (edge.weight == 0) continue;
+            sb.append(String.format("%d → %d\t\tcapacity %d\n", edge.from, edge.to, edge.weight));
+            order.add(edge.to);
+            stepEdges.add(new int[]{edge.from, edge.to});
+        }
+        sb.append("─────────────────────────\n");
+        sb.append("Source side: ").append(order.subList(0, sourceSideSize)).append("\n");
+        distanceTableArea.setText(sb.toString());
+        return order;
+    }
 
-        while (!pq.isEmpty()) {
-            int[] current = pq.poll();
-            int node = current[0];
+    private long edgeKey(int u, int v) {
+        if (!graphModel.isDirected() && u > v) {
+            int tmp = u;
+            u = v;
+            v = tmp;
+        }
+        return (long) u * graphModel.getNumNodes() + v;
+    }
 
-            if (visited[node]) continue;
+    // Extra inputs besides the start node that change an algorithm's result
+    private String cacheVariant(String algorithm) {
+        switch (algorithm) {
+            case "Batch BFS":
+            case "Batch Dijkstra":
+                return "sources=" + (sourcesField.getText() == null ? "" : sourcesField.getText().trim());
+            case "A*":
+            case "Bidirectional Dijkstra":
+            case "Contraction Hierarchies":
+            case "Max Flow (Dinic)":
+            case "Max Flow (Push-Relabel)":
+                return "target=" + targetNodeSpinner.getValue();
+            default:
+                return null;
+        }
+    }
 
-            visited[node] = true;
-            order.add(node);
+    // The current graph as a CompactGraph, rebuilt only after it changed; rebuilding drops
+    // the reverse graph and the A* scale derived from the previous one
+    private CompactGraph compactGraph() {
+        if (cachedCompact == null || cachedCompactVersion != graphModel.getVersion()) {
+            cachedCompact = CompactGraph.from(graphModel);
+            cachedCompactVersion = graphModel.getVersion();
+            cachedReverse = null;
+            scaleSnapshot = null;
+        }
+        return cachedCompact;
+    }
 
-            for (int[] neighbor : graphModel.getAdjList().get(node)) {
-                int next = neighbor[0];
-                int weight = neighbor[1];
-                int newDist = distances.get(node) + weight;
+    // Point-to-point search - animates only the nodes settled before the target was reached
+    private List<Integer> runPointToPoint(String algorithm, int source, int target) {
+        StringBuilder sb = new StringBuilder();
+        PointToPointSearch.Result result;
 
-                if (newDist < distances.get(next)) {
-                    distances.put(next, newDist);
-                    parent.put(next, node);
-                    pq.add(new int[]{next, newDist});
+        switch (algorithm) {
+            case "A*": {
+                CompactGraph graph = compactGraph();
+                NodeAttributes attributes = graphModel.getNodeAttributes();
+                if (scaleSnapshot != graphModel.snapshot()) {
+                    heuristicScale = PointToPointSearch.heuristicScale(graph, attributes.xValues(), attributes.yValues());
+                    scaleSnapshot = graphModel.snapshot();
+                }
+                result = PointToPointSearch.aStar(graph, attributes.xValues(), attributes.yValues(),
+                        heuristicScale, source, target);
+                break;
+            }
+            case "Contraction Hierarchies":
+                // The index is built once per graph and reused by every later query
+                if (chIndex == null || chIndexVersion != graphModel.getVersion()) {
+                    long buildStart = System.nanoTime();
+                    GraphEvents.IndexBuild buildEvent = GraphEvents.IndexBuild.start("contraction-hierarchy");
+                    chIndex = ContractionHierarchy.build(graphModel);
+                    buildEvent.finish(graphModel);
+                    chIndexVersion = graphModel.getVersion();
+                    sb.append(String.format("Index built in %.2f ms, %d shortcuts\n",
+                            (System.nanoTime() - buildStart) / 1e6, chIndex.getNumShortcuts()));
                 }
+                long queryStart = System.nanoTime();
+                result = chIndex.query(source, target);
+                sb.append(String.format("Query answered in %.1f µs\n", (System.nanoTime() - queryStart) / 1e3));
+                break;
+            default:
+                CompactGraph graph = compactGraph();
+                if (cachedReverse == null) {
+                    cachedReverse = graph.reverse();
+                }
+                result = PointToPointSearch.bidirectionalDijkstra(graph, cachedReverse, source, target);
+                break;
+        }
+
+        highlightedPath = result.getPath();
+
+        sb.append("Source: ").append(source).append("   Target: ").append(target).append("\n");
+        sb.append("─────────────────────────\n");
+        if (result.isReachable()) {
+            sb.append("Distance: ").append(result.getDistance()).append("\n");
+            sb.append("Path: ");
+            for (int i = 0; i < highlightedPath.size(); i++) {
+                if (i > 0) sb.append(" → ");
+                sb.append(highlightedPath.get(i));
             }
+            sb.append("\n");
+        } else {
+            sb.append("Target is not reachable from source.\n");
         }
+        sb.append("Settled: ").append(result.getSettledOrder().size())
+                .append(" of ").append(graphModel.getNumNodes()).append(" nodes\n");
+        distanceTableArea.setText(sb.toString());
 
+        return result.getSettledOrder();
+    }
+
+    // Batch shortest paths - one row of the distance table per source
+    private List<Integer> runBatch(String algorithm) {
+        CompactGraph compact = compactGraph();
+        ShortestPathBatch.DistanceMatrix matrix;
+
+        if (algorithm.equals("All-Pairs")) {
+            matrix = ShortestPathBatch.allPairs(compact);
+        } else {
+            int[] sources = parseSources();
+            if (sources == null) return new ArrayList<>();
+            matrix = algorithm.equals("Batch BFS")
+                    ? ShortestPathBatch.multiSourceBfs(compact, sources)
+                    : ShortestPathBatch.multiSourceDijkstra(compact, sources);
+        }
+
+        displayDistanceMatrix(matrix);
+
+        // Animate the sources so the user sees which rows were computed
+        List<Integer> order = new ArrayList<>();
+        for (int source : matrix.getSources()) {
+            order.add(source);
+        }
         return order;
     }
 
-    // Bellman-Ford Algorithm
-    private List<Integer> bellmanFord(int start) {
+    private int[] parseSources() {
         int n = graphModel.getNumNodes();
-        distances = new HashMap<>();
-        parent = new HashMap<>();
-        List<Integer> order = new ArrayList<>();
+        String text = sourcesField.getText() == null ? "" : sourcesField.getText().trim();
+        if (text.isEmpty()) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
 
-        // Initialize distances
-        for (int i = 0; i < n; i++) {
-            distances.put(i, Integer.MAX_VALUE);
-            parent.put(i, -1);
-        }
-        distances.put(start, 0);
-        order.add(start);
-
-        // Relax edges V-1 times
-        for (int i = 0; i < n - 1; i++) {
-            for (GraphModel.Edge edge : graphModel.getEdgeList()) {
-                if (distances.get(edge.from) != Integer.MAX_VALUE) {
-                    int newDist = distances.get(edge.from) + edge.weight;
-                    if (newDist < distances.get(edge.to)) {
-                        distances.put(edge.to, newDist);
-                        parent.put(edge.to, edge.from);
-                        if (!order.contains(edge.to)) {
-                            order.add(edge.to);
-                        }
-                    }
+        String[] parts = text.split("[,\\s]+");
+        int[] sources = new int[parts.length];
+        try {
+            for (int i = 0; i < parts.length; i++) {
+                sources[i] = Integer.parseInt(parts[i]);
+                if (sources[i] < 0 || sources[i] >= n) {
+                    showAlert("Invalid Sources", "Source nodes must be between 0 and " + (n - 1) + ".");
+                    return null;
                 }
             }
+        } catch (NumberFormatException e) {
+            showAlert("Invalid Sources", "Enter source nodes as a comma separated list, e.g. 0, 2, 5.");
+            return null;
         }
+        return sources;
+    }
 
-        return order;
+    private void displayDistanceMatrix(ShortestPathBatch.DistanceMatrix matrix) {
+        int n = matrix.getNumNodes();
+        int[] sources = matrix.getSources();
+        int columns = Math.min(n, MAX_MATRIX_COLUMNS);
+
+        StringBuilder sb = new StringBuilder();
+        sb.append("Src\\Dst");
+        for (int j = 0; j < columns; j++) {
+            sb.append(String.format("%4d", j));
+        }
+        sb.append("\n");
+        sb.append("─".repeat(7 + 4 * columns)).append("\n");
+
+        for (int row = 0; row < sources.length && row < MAX_MATRIX_COLUMNS; row++) {
+            sb.append(String.format("%-7d", sources[row]));
+            for (int j = 0; j < columns; j++) {
+                int dist = matrix.get(row, j);
+                sb.append(String.format("%4s", dist >= ShortestPathBatch.INF ? "∞" : String.valueOf(dist)));
+            }
+            sb.append("\n");
+        }
+
+        if (n > MAX_MATRIX_COLUMNS || sources.length > MAX_MATRIX_COLUMNS) {
+            sb.append("… showing ").append(Math.min(sources.length, MAX_MATRIX_COLUMNS)).append(" of ")
+                    .append(sources.length).append(" sources, ").append(columns).append(" of ")
+                    .append(n).append(" nodes\n");
+        }
+
+        distanceTableArea.setText(sb.toString());
     }
 
     private void displayDistanceTable() {
-        if (distances == null) return;
+        if (!hasDistances) return;
+        int[] distances = graphModel.getNodeAttributes().dist().array();
+        int[] parent = graphModel.getNodeAttributes().parent().array();
 
         StringBuilder sb = new StringBuilder();
         sb.append("Node\tDistance\tParent\n");
         sb.append("─────────────────────────\n");
 
         for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            int dist = distances.get(i);
-            String distStr = (dist == Integer.MAX_VALUE) ? "∞" : String.valueOf(dist);
-            String parentStr = (parent.get(i) == -1) ? "-" : String.valueOf(parent.get(i));
+            int dist = distances[i];
+            String distStr = (dist == NodeAttributes.NO_DISTANCE) ? "∞" : String.valueOf(dist);
+            String parentStr = (parent[i] == NodeAttributes.NO_PARENT) ? "-" : String.valueOf(parent[i]);
             sb.append(String.format("%d\t%s\t\t%s\n", i, distStr, parentStr));
         }
 
         distanceTableArea.setText(sb.toString());
     }
 
+    // Times the selected engine on growing random graphs off the FX thread, then plots
+    // the measurements against the complexity bound scaled to fit them
+    @FXML
+    private void runBenchmark() {
+        String algorithm = algorithmCombo.getValue();
+        if (!ComplexityAnalyzer.supports(algorithm)) {
+            showAlert("Benchmark", "There is no benchmark workload for " + algorithm + ".\nAvailable: "
+                    + String.join(", ", ComplexityAnalyzer.algorithms()));
+            return;
+        }
+
+        benchmarkButton.setDisable(true);
+        distanceTableArea.setText("Benchmarking " + algorithm + "…\n");
+        Task<ComplexityAnalyzer.Report> task = new Task<>() {
+            @Override
+            protected ComplexityAnalyzer.Report call() {
+                return ComplexityAnalyzer.analyze(algorithm, ComplexityAnalyzer.DEFAULT_SIZES, new Random(42),
+                        m -> Platform.runLater(() -> distanceTableArea.appendText(String.format(
+                                "V=%d E=%d\t%.3f ms\n", m.getNodes(), m.getEdges(), m.getMedianNanos() / 1e6))));
+            }
+        };
+        task.setOnSucceeded(e -> {
+            benchmarkButton.setDisable(false);
+            distanceTableArea.setText(task.getValue().summary());
+            showBenchmarkChart(task.getValue());
+        });
+        task.setOnFailed(e -> {
+            benchmarkButton.setDisable(false);
+            distanceTableArea.setText("Benchmark failed: " + task.getException());
+        });
+
+        Thread worker = new Thread(task, "algovista-benchmark");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    private void showBenchmarkChart(ComplexityAnalyzer.Report report) {
+        NumberAxis xAxis = new NumberAxis();
+        xAxis.setLabel("log10(V + E)");
+        xAxis.setForceZeroInRange(false);
+        NumberAxis yAxis = new NumberAxis();
+        yAxis.setLabel("log10(time in ms)");
+        yAxis.setForceZeroInRange(false);
+
+        XYChart.Series<Number, Number> measured = new XYChart.Series<>();
+        measured.setName("Measured");
+        XYChart.Series<Number, Number> predicted = new XYChart.Series<>();
+        predicted.setName("Predicted " + report.getBound());
+        for (ComplexityAnalyzer.Measurement m : report.getMeasurements()) {
+            double x = Math.log10(m.getNodes() + m.getEdges());
+            measured.getData().add(new XYChart.Data<>(x, Math.log10(m.getMedianNanos() / 1e6)));
+            predicted.getData().add(new XYChart.Data<>(x, Math.log10(m.getPredictedNanos() / 1e6)));
+        }
+
+        LineChart<Number, Number> chart = new LineChart<>(xAxis, yAxis);
+        chart.setTitle(String.format("%s: fitted (V+E)^%.2f, bound (V+E)^%.2f", report.getAlgorithm(),
+                report.getMeasuredExponent(), report.getExpectedExponent()));
+        chart.getData().add(measured);
+        chart.getData().add(predicted);
+
+        Stage stage = new Stage();
+        stage.initOwner(graphCanvas.getScene().getWindow());
+        stage.setTitle("Benchmark - " + report.getAlgorithm() + " (" + report.getEngine() + ")");
+        stage.setScene(new Scene(chart, 640, 420));
+        stage.show();
+    }
+
     private void updateComplexity() {
         String algorithm = algorithmCombo.getValue();
         int V = graphModel != null ? graphModel.getNumNodes() : 7;
@@ -415,61 +859,132 @@ public class GraphTraversalController {
                 timeComplexity = "Time: O(V × E) = O(" + V + " × " + E + ")";
                 spaceComplexity = "Space: O(V) = O(" + V + ")";
                 break;
+            case "Batch BFS":
+                timeComplexity = "Time: O(S × (V + E)) = O(S × (" + V + " + " + E + "))";
+                spaceComplexity = "Space: O(S × V) = O(S × " + V + ")";
+                break;
+            case "Batch Dijkstra":
+                timeComplexity = "Time: O(S × (V + E) log V) = O(S × (" + V + " + " + E + ") log " + V + ")";
+                spaceComplexity = "Space: O(S × V) = O(S × " + V + ")";
+                break;
+            case "All-Pairs":
+                timeComplexity = "Time: O(V³) or O(V × (V + E) log V) = O(" + V + "³)";
+                spaceComplexity = "Space: O(V²) = O(" + V + "²)";
+                break;
+            case "Connected Components":
+                timeComplexity = "Time: O(V + E α(V)) = O(" + V + " + " + E + " α)";
+                spaceComplexity = "Space: O(V) = O(" + V + ")";
+                break;
+            case "Strongly Connected Components":
+            case "Topological Sort":
+                timeComplexity = "Time: O(V + E) = O(" + V + " + " + E + ")";
+                spaceComplexity = "Space: O(V) = O(" + V + ")";
+                break;
+            case "Max Flow (Dinic)":
+                timeComplexity = "Time: O(V² E) = O(" + V + "² · " + E + ")";
+                spaceComplexity = "Space: O(V + E) = O(" + V + " + " + E + ")";
+                break;
+            case "Max Flow (Push-Relabel)":
+                timeComplexity = "Time: O(V² √E) = O(" + V + "² √" + E + ")";
+                spaceComplexity = "Space: O(V + E) = O(" + V + " + " + E + ")";
+                break;
+            case "Kruskal MST":
+                timeComplexity = "Time: O(E + V α(V)) with radix sort = O(" + E + " + " + V + ")";
+                spaceComplexity = "Space: O(V + E) = O(" + V + " + " + E + ")";
+                break;
+            case "Prim MST":
+                timeComplexity = "Time: O((V + E) log V) = O((" + V + " + " + E + ") log " + V + ")";
+                spaceComplexity = "Space: O(V) = O(" + V + ")";
+                break;
+            case "Borůvka MST":
+                timeComplexity = "Time: O(E log V) = O(" + E + " log " + V + "), parallel per round";
+                spaceComplexity = "Space: O(V + E) = O(" + V + " + " + E + ")";
+                break;
+            case "Contraction Hierarchies":
+                timeComplexity = "Time: preprocessing once, then a small upward search per query";
+                spaceComplexity = "Space: O(V + E + shortcuts)";
+                break;
+            case "A*":
+            case "Bidirectional Dijkstra":
+                timeComplexity = "Time: O((V + E) log V) worst case = O((" + V + " + " + E + ") log " + V + ")";
+                spaceComplexity = "Space: O(V) = O(" + V + ")";
+                break;
         }
 
         timeComplexityLabel.setText(timeComplexity);
         spaceComplexityLabel.setText(spaceComplexity);
+        measuredLabel.setText(AlgorithmStats.ENABLED ? "Measured: run to see counts"
+                : "Measured: timings only (-Dalgovista.stats=true for counts)");
     }
 
     private void drawGraph() {
+        GraphEvents.Render render = GraphEvents.Render.start("traversal");
+        long drawStart = System.nanoTime();
+        drawCalls = 0;
+
         // Clear canvas
         gc.clearRect(0, 0, graphCanvas.getWidth(), graphCanvas.getHeight());
         gc.setFill(Color.WHITE);
         gc.fillRect(0, 0, graphCanvas.getWidth(), graphCanvas.getHeight());
+        drawCalls += 2;
 
         // Draw edges
         drawEdges();
 
         // Draw nodes
         drawNodes();
+
+        render.finish(graphModel);
+        frameProfiler.recordDraw(System.nanoTime() - drawStart, drawCalls);
+        frameProfiler.drawOverlay();
     }
 
     private void drawEdges() {
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(2);
 
+        NodeAttributes attributes = graphModel.getNodeAttributes();
         for (GraphModel.Edge edge : graphModel.getEdgeList()) {
             if (!graphModel.isDirected() && edge.from > edge.to) continue;
 
-            Point2D fromPos = graphModel.getNodePosition(edge.from);
-            Point2D toPos = graphModel.getNodePosition(edge.to);
-
-            if (fromPos != null && toPos != null) {
-                gc.strokeLine(fromPos.getX(), fromPos.getY(), toPos.getX(), toPos.getY());
+            if (attributes.hasPosition(edge.from) && attributes.hasPosition(edge.to)) {
+                double fromX = attributes.getX(edge.from);
+                double fromY = attributes.getY(edge.from);
+                double toX = attributes.getX(edge.to);
+                double toY = attributes.getY(edge.to);
+                boolean highlighted = highlightedEdges.contains(edgeKey(edge.from, edge.to));
+                gc.setStroke(highlighted ? PATH_COLOR : Color.BLACK);
+                gc.setLineWidth(highlighted ? 5 : 2);
+                gc.strokeLine(fromX, fromY, toX, toY);
+                drawCalls++;
+                gc.setStroke(Color.BLACK);
+                gc.setLineWidth(2);
 
-                // Draw weight if weighted
-                if (graphModel.isWeighted() && edge.weight > 1) {
-                    double midX = (fromPos.getX() + toPos.getX()) / 2;
-                    double midY = (fromPos.getY() + toPos.getY()) / 2;
+                // Draw flow/capacity overlay, or the weight if weighted
+                String label = edgeLabels != null ? edgeLabels.get(edgeKey(edge.from, edge.to)) : null;
+                if (label != null || (graphModel.isWeighted() && edge.weight > 1)) {
+                    double midX = (fromX + toX) / 2;
+                    double midY = (fromY + toY) / 2;
 
                     gc.setFill(Color.RED);
                     gc.setFont(Font.font(14));
-                    gc.fillText(String.valueOf(edge.weight), midX, midY);
+                    gc.fillText(label != null ? label : String.valueOf(edge.weight), midX, midY);
+                    drawCalls++;
                 }
 
                 // Draw arrow for directed graphs
                 if (graphModel.isDirected()) {
-                    drawArrow(fromPos, toPos);
+                    drawArrow(fromX, fromY, toX, toY);
                 }
             }
         }
     }
 
-    private void drawArrow(Point2D from, Point2D to) {
-        double angle = Math.atan2(to.getY() - from.getY(), to.getX() - from.getX());
+    private void drawArrow(double fromX, double fromY, double toX, double toY) {
+        double angle = Math.atan2(toY - fromY, toX - fromX);
 
-        double arrowX = to.getX() - NODE_RADIUS * Math.cos(angle);
-        double arrowY = to.getY() - NODE_RADIUS * Math.sin(angle);
+        double arrowX = toX - NODE_RADIUS * Math.cos(angle);
+        double arrowY = toY - NODE_RADIUS * Math.sin(angle);
 
         double arrowLength = 10;
         double arrowAngle = Math.PI / 6;
@@ -481,29 +996,46 @@ public class GraphTraversalController {
 
         gc.strokeLine(arrowX, arrowY, x1, y1);
         gc.strokeLine(arrowX, arrowY, x2, y2);
+        drawCalls += 2;
+    }
+
+    private static Color colorOf(byte state) {
+        switch (state) {
+            case NodeAttributes.UNVISITED:
+                return UNVISITED_COLOR;
+            case NodeAttributes.VISITING:
+                return VISITING_COLOR;
+            case NodeAttributes.VISITED:
+                return VISITED_COLOR;
+            case NodeAttributes.ON_PATH:
+                return PATH_COLOR;
+            default:
+                return GROUP_COLORS[(state - NodeAttributes.GROUP) % GROUP_COLORS.length];
+        }
     }
 
     private void drawNodes() {
+        NodeAttributes attributes = graphModel.getNodeAttributes();
+        byte[] state = attributes.state().array();
         for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            Point2D pos = graphModel.getNodePosition(i);
-            if (pos != null) {
-                Color color = nodeColors.getOrDefault(i, UNVISITED_COLOR);
+            if (attributes.hasPosition(i)) {
+                double x = attributes.getX(i);
+                double y = attributes.getY(i);
 
                 // Draw circle
-                gc.setFill(color);
-                gc.fillOval(pos.getX() - NODE_RADIUS, pos.getY() - NODE_RADIUS,
-                        NODE_RADIUS * 2, NODE_RADIUS * 2);
+                gc.setFill(colorOf(state[i]));
+                gc.fillOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
 
                 gc.setStroke(Color.BLACK);
                 gc.setLineWidth(2);
-                gc.strokeOval(pos.getX() - NODE_RADIUS, pos.getY() - NODE_RADIUS,
-                        NODE_RADIUS * 2, NODE_RADIUS * 2);
+                gc.strokeOval(x - NODE_RADIUS, y - NODE_RADIUS, NODE_RADIUS * 2, NODE_RADIUS * 2);
 
                 // Draw node label
                 gc.setFill(Color.BLACK);
                 gc.setFont(Font.font(16));
                 gc.setTextAlign(TextAlignment.CENTER);
-                gc.fillText(String.valueOf(i), pos.getX(), pos.getY() + 5);
+                gc.fillText(String.valueOf(i), x, y + 5);
+                drawCalls += 3;
             }
         }
     }
@@ -514,22 +1046,10 @@ public class GraphTraversalController {
             if (animation != null) {
                 animation.stop();
             }
+            frameStatsToggle.setSelected(false);
 
-            FXMLLoader loader = new FXMLLoader();
-            loader.setLocation(getClass().getResource("/fxml/GraphCategory.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = (Stage) graphCanvas.getScene().getWindow();
-            double width = stage.getWidth();
-            double height = stage.getHeight();
-            double x = stage.getX();
-            double y = stage.getY();
-
-            Scene scene = new Scene(root, width, height);
-            stage.setScene(scene);
-            stage.setX(x);
-            stage.setY(y);
-
+            // The view stays cached with its graph and settings for the next visit
+            ViewCache.show(graphCanvas, ViewCache.GRAPH_CATEGORY);
         } catch (IOException e) {
             e.printStackTrace();
         }
@@ -555,6 +1075,62 @@ public class GraphTraversalController {
                 info = "Finds shortest path and detects negative cycles. " +
                         "Works with negative weights. Slower than Dijkstra.";
                 break;
+            case "Batch BFS":
+                info = "Runs BFS from every listed source in parallel, one source per worker. " +
+                        "Leave Sources empty to use all nodes.";
+                break;
+            case "Batch Dijkstra":
+                info = "Runs Dijkstra from every listed source in parallel, one source per worker. " +
+                        "Leave Sources empty to use all nodes.";
+                break;
+            case "All-Pairs":
+                info = "Distance between every pair of nodes. Uses blocked Floyd-Warshall on dense " +
+                        "graphs and repeated Dijkstra/BFS on sparse ones.";
+                break;
+            case "A*":
+                info = "Shortest path from start to target, guided by straight-line distance " +
+                        "to the target. Stops as soon as the target is reached.";
+                break;
+            case "Bidirectional Dijkstra":
+                info = "Searches forward from start and backward from target at the same time. " +
+                        "Stops when the two searches meet on a shortest path.";
+                break;
+            case "Connected Components":
+                info = "Groups nodes that are connected ignoring edge direction. " +
+                        "Uses a lock-free union-find over the edge list.";
+                break;
+            case "Strongly Connected Components":
+                info = "Groups nodes that can all reach each other along directed edges. " +
+                        "Uses Tarjan's algorithm with an explicit stack.";
+                break;
+            case "Topological Sort":
+                info = "Orders nodes so every edge points forward (Kahn's algorithm). " +
+                        "If the graph has a cycle, one cycle is reported instead.";
+                break;
+            case "Max Flow (Dinic)":
+                info = "Builds BFS level graphs from the source and saturates each with a blocking flow. " +
+                        "Edge weights are capacities; labels show flow/capacity and the min cut is highlighted.";
+                break;
+            case "Max Flow (Push-Relabel)":
+                info = "Pushes excess from the highest labelled node downhill towards the target, " +
+                        "with gap and global relabelling heuristics. Labels show flow/capacity.";
+                break;
+            case "Kruskal MST":
+                info = "Adds edges from lightest to heaviest, skipping any that would close a cycle. " +
+                        "Edges are radix sorted; cycles are checked with union-find.";
+                break;
+            case "Prim MST":
+                info = "Grows one tree from the start node, always adding the lightest edge " +
+                        "that leaves the tree. Uses an indexed priority queue.";
+                break;
+            case "Borůvka MST":
+                info = "Every component picks its lightest outgoing edge in parallel, then all picks " +
+                        "are merged. Needs only O(log V) rounds.";
+                break;
+            case "Contraction Hierarchies":
+                info = "Preprocesses the graph once by contracting nodes and adding shortcuts. " +
+                        "Each query then only searches upward from start and target.";
+                break;
         }
 
         algorithmInfoLabel.setText(info);
@@ -590,10 +1166,13 @@ public class GraphTraversalController {
                 // Create new empty graph
                 graphModel = new GraphModel(customNodeCount, isDirected, isWeighted);
 
-                // Update start node spinner
+                // Update start and target node spinners
                 startNodeSpinner.setValueFactory(
                         new SpinnerValueFactory.IntegerSpinnerValueFactory(0, customNodeCount - 1, 0)
                 );
+                targetNodeSpinner.setValueFactory(
+                        new SpinnerValueFactory.IntegerSpinnerValueFactory(0, customNodeCount - 1, customNodeCount - 1)
+                );
 
                 // Place nodes in a circle
                 double centerX = graphCanvas.getWidth() / 2;
@@ -608,16 +1187,21 @@ public class GraphTraversalController {
                 }
 
                 // Reset colors
-                nodeColors.clear();
-                for (int i = 0; i < customNodeCount; i++) {
-                    nodeColors.put(i, UNVISITED_COLOR);
-                }
+                graphModel.getNodeAttributes().state().reset();
+
+                // The log starts from the empty layout, so undo never goes past it
+                editLog = new GraphEditLog(graphModel);
+                undoButton.setVisible(true);
+                redoButton.setVisible(true);
+                updateEditButtons();
 
-                // Enable canvas click handler
+                // Enable canvas click and drag handlers
                 setupCanvasClickHandler();
+                setupCanvasDragHandler();
 
                 // Draw empty graph
                 drawGraph();
+                startLiveDistances();
 
                 // Update info
                 traversalOrderLabel.setText("Custom Mode Active");
@@ -626,6 +1210,9 @@ public class GraphTraversalController {
                 showAlert("Custom Mode",
                         "✓ Click first node\n" +
                                 "✓ Click second node to create edge\n" +
+                                "✓ Click two connected nodes to change the weight\n" +
+                                "✓ Shift-click the second node to remove the edge\n" +
+                                "✓ Drag nodes to move them, Undo/Redo to step through edits\n" +
                                 "✓ Click 'Finish' when done");
 
             } catch (NumberFormatException e) {
@@ -636,7 +1223,8 @@ public class GraphTraversalController {
 
     private void setupCanvasClickHandler() {
         graphCanvas.setOnMouseClicked(event -> {
-            if (!customMode) return;
+            // The end of a drag is not a click
+            if (!customMode || !event.isStillSincePress()) return;
 
             double x = event.getX();
             double y = event.getY();
@@ -648,71 +1236,75 @@ public class GraphTraversalController {
                 if (selectedNode == null) {
                     // First node selected - highlight it
                     selectedNode = clickedNode;
-                    nodeColors.put(selectedNode, VISITING_COLOR);
+                    graphModel.getNodeAttributes().state().set(selectedNode, NodeAttributes.VISITING);
                     drawGraph();
                     algorithmInfoLabel.setText("Node " + selectedNode + " selected. Now click another node to create an edge.");
                 } else {
                     // Second node selected - create edge
                     if (clickedNode.equals(selectedNode)) {
                         // Same node clicked - deselect
-                        nodeColors.put(selectedNode, UNVISITED_COLOR);
+                        graphModel.getNodeAttributes().state().set(selectedNode, NodeAttributes.UNVISITED);
                         selectedNode = null;
                         drawGraph();
                         algorithmInfoLabel.setText("Selection cancelled. Click on two nodes to create an edge.");
                         return;
                     }
 
-                    int weight = 1;
-                    if (graphModel.isWeighted()) {
-                        // Ask for weight
-                        TextInputDialog weightDialog = new TextInputDialog("1");
-                        weightDialog.setTitle("Edge Weight");
-                        weightDialog.setHeaderText("Creating edge: " + selectedNode + " → " + clickedNode);
-                        weightDialog.setContentText("Enter weight:");
-
-                        Optional<String> weightResult = weightDialog.showAndWait();
-                        if (weightResult.isPresent()) {
-                            try {
-                                weight = Integer.parseInt(weightResult.get());
-                                if (weight <= 0) {
-                                    showAlert("Invalid Weight", "Weight must be positive.");
-                                    nodeColors.put(selectedNode, UNVISITED_COLOR);
-                                    selectedNode = null;
-                                    drawGraph();
-                                    return;
-                                }
-                            } catch (NumberFormatException e) {
-                                showAlert("Invalid Input", "Please enter a valid number.");
-                                nodeColors.put(selectedNode, UNVISITED_COLOR);
-                                selectedNode = null;
-                                drawGraph();
-                                return;
-                            }
+                    int from = selectedNode;
+                    boolean connected = graphModel.hasEdge(from, clickedNode);
+                    String message;
+                    if (event.isShiftDown()) {
+                        if (connected) {
+                            // Removal can lengthen paths, which the live tree cannot repair
+                            editLog.removeEdge(from, clickedNode);
+                            startLiveDistances();
+                            message = "Edge removed.";
                         } else {
-                            // User canceled weight input
-                            nodeColors.put(selectedNode, UNVISITED_COLOR);
-                            selectedNode = null;
-                            drawGraph();
+                            message = "No edge " + from + " → " + clickedNode + " to remove.";
+                        }
+                    } else if (connected && !graphModel.isWeighted()) {
+                        message = "Already connected; Shift-click the second node to remove the edge.";
+                    } else if (connected) {
+                        Integer weight = askWeight("Changing weight: " + from + " → " + clickedNode,
+                                graphModel.getWeight(from, clickedNode));
+                        if (weight == null) {
+                            cancelSelection();
                             return;
                         }
-                    }
+                        editLog.setWeight(from, clickedNode, weight);
+                        startLiveDistances();
+                        message = "Weight changed.";
+                    } else {
+                        int weight = 1;
+                        if (graphModel.isWeighted()) {
+                            Integer entered = askWeight("Creating edge: " + from + " → " + clickedNode, 1);
+                            if (entered == null) {
+                                cancelSelection();
+                                return;
+                            }
+                            weight = entered;
+                        }
 
-                    // Add the edge
-                    graphModel.addEdge(selectedNode, clickedNode, weight);
+                        // Add the edge and repair only the distances it shortens
+                        editLog.addEdge(from, clickedNode, weight);
+                        int updated = updateLiveDistances(from, clickedNode, weight);
+                        message = "Edge created! " + updated + " distance(s) updated.";
+                    }
 
                     // Reset selection
-                    nodeColors.put(selectedNode, UNVISITED_COLOR);
+                    graphModel.getNodeAttributes().state().set(from, NodeAttributes.UNVISITED);
                     selectedNode = null;
 
                     // Redraw
                     drawGraph();
+                    updateEditButtons();
 
-                    algorithmInfoLabel.setText("Edge created! Click on two nodes to add more edges, or click 'Finish'.");
+                    algorithmInfoLabel.setText(message + " Click on two nodes to add more edges, or click 'Finish'.");
                 }
             } else {
                 // Clicked empty space - deselect
                 if (selectedNode != null) {
-                    nodeColors.put(selectedNode, UNVISITED_COLOR);
+                    graphModel.getNodeAttributes().state().set(selectedNode, NodeAttributes.UNVISITED);
                     selectedNode = null;
                     drawGraph();
                     algorithmInfoLabel.setText("Selection cancelled. Click on two nodes to create an edge.");
@@ -721,11 +1313,132 @@ public class GraphTraversalController {
         });
     }
 
+    // Weight from a dialog, or null (after telling the user why) when cancelled or invalid
+    private Integer askWeight(String header, int initial) {
+        TextInputDialog weightDialog = new TextInputDialog(String.valueOf(initial));
+        weightDialog.setTitle("Edge Weight");
+        weightDialog.setHeaderText(header);
+        weightDialog.setContentText("Enter weight:");
+
+        Optional<String> weightResult = weightDialog.showAndWait();
+        if (weightResult.isEmpty()) return null;
+        try {
+            int weight = Integer.parseInt(weightResult.get());
+            if (weight <= 0) {
+                showAlert("Invalid Weight", "Weight must be positive.");
+                return null;
+            }
+            return weight;
+        } catch (NumberFormatException e) {
+            showAlert("Invalid Input", "Please enter a valid number.");
+            return null;
+        }
+    }
+
+    private void cancelSelection() {
+        graphModel.getNodeAttributes().state().set(selectedNode, NodeAttributes.UNVISITED);
+        selectedNode = null;
+        drawGraph();
+    }
+
+    // Dragging a node moves it live; the whole move becomes one undoable edit on release
+    private void setupCanvasDragHandler() {
+        graphCanvas.setOnMousePressed(event -> {
+            if (!customMode) return;
+            draggedNode = findNodeAtPosition(event.getX(), event.getY());
+            dragStart = draggedNode == null ? null : graphModel.getNodePosition(draggedNode);
+        });
+        graphCanvas.setOnMouseDragged(event -> {
+            if (draggedNode == null) return;
+            double x = Math.max(0, Math.min(graphCanvas.getWidth(), event.getX()));
+            double y = Math.max(0, Math.min(graphCanvas.getHeight(), event.getY()));
+            graphModel.setNodePosition(draggedNode, new Point2D(x, y));
+            drawGraph();
+        });
+        graphCanvas.setOnMouseReleased(event -> {
+            if (draggedNode == null) return;
+            Point2D end = graphModel.getNodePosition(draggedNode);
+            if (!end.equals(dragStart)) {
+                editLog.moveNode(draggedNode, dragStart, end);
+                updateEditButtons();
+            }
+            draggedNode = null;
+            dragStart = null;
+        });
+    }
+
+    @FXML
+    private void undoEdit() {
+        if (editLog != null && editLog.undo()) afterHistoryStep("Undone.");
+    }
+
+    @FXML
+    private void redoEdit() {
+        if (editLog != null && editLog.redo()) afterHistoryStep("Redone.");
+    }
+
+    private void afterHistoryStep(String message) {
+        if (selectedNode != null) {
+            graphModel.getNodeAttributes().state().set(selectedNode, NodeAttributes.UNVISITED);
+            selectedNode = null;
+        }
+        startLiveDistances();
+        drawGraph();
+        updateEditButtons();
+        algorithmInfoLabel.setText(message + " " + editLog.getPosition() + " of " + editLog.size() + " edit(s) applied.");
+    }
+
+    private void updateEditButtons() {
+        undoButton.setDisable(editLog == null || !editLog.canUndo());
+        redoButton.setDisable(editLog == null || !editLog.canRedo());
+    }
+
+    // Distances from the start node, kept current while edges are added in custom mode
+    private void startLiveDistances() {
+        boolean unitWeights = !graphModel.isWeighted() || "BFS".equals(algorithmCombo.getValue());
+        livePaths = new DynamicShortestPaths(graphModel, startNodeSpinner.getValue(), unitWeights);
+        liveTableRows = new String[graphModel.getNumNodes()];
+        for (int i = 0; i < liveTableRows.length; i++) {
+            liveTableRows[i] = formatLiveRow(i);
+        }
+        showLiveTable();
+    }
+
+    private int updateLiveDistances(int from, int to, int weight) {
+        if (livePaths == null) return 0;
+        List<Integer> affected = livePaths.edgeInserted(from, to, weight);
+        for (int node : affected) {
+            liveTableRows[node] = formatLiveRow(node);
+        }
+        showLiveTable();
+        return affected.size();
+    }
+
+    private String formatLiveRow(int node) {
+        int dist = livePaths.getDistance(node);
+        int par = livePaths.getParent(node);
+        String distStr = (dist >= DynamicShortestPaths.INF) ? "∞" : String.valueOf(dist);
+        String parentStr = (par == -1) ? "-" : String.valueOf(par);
+        return String.format("%d\t%s\t\t%s\n", node, distStr, parentStr);
+    }
+
+    private void showLiveTable() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Live ").append(livePaths.usesUnitWeights() ? "BFS levels" : "distances")
+                .append(" from node ").append(livePaths.getSource()).append("\n");
+        sb.append("Node\tDistance\tParent\n");
+        sb.append("─────────────────────────\n");
+        for (String row : liveTableRows) {
+            sb.append(row);
+        }
+        distanceTableArea.setText(sb.toString());
+    }
+
     private Integer findNodeAtPosition(double x, double y) {
+        NodeAttributes attributes = graphModel.getNodeAttributes();
         for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            Point2D pos = graphModel.getNodePosition(i);
-            if (pos != null) {
-                double distance = Math.sqrt(Math.pow(x - pos.getX(), 2) + Math.pow(y - pos.getY(), 2));
+            if (attributes.hasPosition(i)) {
+                double distance = Math.hypot(x - attributes.getX(i), y - attributes.getY(i));
                 if (distance <= NODE_RADIUS) {
                     return i;
                 }
@@ -736,22 +1449,10 @@ public class GraphTraversalController {
 
     @FXML
     private void finishCustomMode() {
-        customMode = false;
-        finishCustomButton.setVisible(false);
-        selectedNode = null;
-
-        // Re-enable buttons
-        playButton.setDisable(false);
-        pauseButton.setDisable(false);
-        resetButton.setDisable(false);
-
-        // Remove click handler
-        graphCanvas.setOnMouseClicked(null);
+        leaveCustomMode();
 
         // Reset colors
-        for (int i = 0; i < graphModel.getNumNodes(); i++) {
-            nodeColors.put(i, UNVISITED_COLOR);
-        }
+        graphModel.getNodeAttributes().state().reset();
 
         // Redraw
         drawGraph();
@@ -764,6 +1465,27 @@ public class GraphTraversalController {
         showAlert("Custom Graph Complete", "Your custom graph is ready! Now you can run traversal algorithms on it.");
     }
 
+    private void leaveCustomMode() {
+        customMode = false;
+        finishCustomButton.setVisible(false);
+        undoButton.setVisible(false);
+        redoButton.setVisible(false);
+        selectedNode = null;
+        editLog = null;
+
+        // Re-enable buttons
+        playButton.setDisable(false);
+        pauseButton.setDisable(false);
+        resetButton.setDisable(false);
+
+        // Remove click and drag handlers
+        graphCanvas.setOnMouseClicked(null);
+        graphCanvas.setOnMousePressed(null);
+        graphCanvas.setOnMouseDragged(null);
+        graphCanvas.setOnMouseReleased(null);
+        livePaths = null;
+    }
+
     private void showAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.INFORMATION);
         alert.setTitle(title);
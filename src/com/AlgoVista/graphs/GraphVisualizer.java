@@ -1,6 +1,5 @@
 package com.AlgoVista.graphs;
 
-import javafx.geometry.Point2D;
 import javafx.scene.canvas.Canvas;
 import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
@@ -11,13 +10,36 @@ public class GraphVisualizer {
     private Canvas canvas;
     private GraphicsContext gc;
     private static final double NODE_RADIUS = 25;
+    private static final double MIN_SCALE = 0.6;
+    private static final double MAX_SCALE = 1.3;
+    private static final Color LOW_SCORE_COLOR = Color.LIGHTBLUE;
+    private static final Color HIGH_SCORE_COLOR = Color.ORANGERED;
+
+    // Optional per-node scores (e.g. centrality); null draws every node the same
+    private double[] nodeScores;
+    private double minScore;
+    private double maxScore;
 
     public GraphVisualizer(Canvas canvas) {
         this.canvas = canvas;
         this.gc = canvas.getGraphicsContext2D();
     }
 
+    public void setNodeScores(double[] nodeScores) {
+        this.nodeScores = nodeScores;
+        minScore = Double.POSITIVE_INFINITY;
+        maxScore = Double.NEGATIVE_INFINITY;
+        if (nodeScores != null) {
+            for (double score : nodeScores) {
+                minScore = Math.min(minScore, score);
+                maxScore = Math.max(maxScore, score);
+            }
+        }
+    }
+
     public void drawGraph(GraphModel model) {
+        GraphEvents.Render render = GraphEvents.Render.start("structure");
+
         // Clear canvas
         gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
         gc.setFill(Color.WHITE);
@@ -28,26 +50,30 @@ public class GraphVisualizer {
 
         // Draw nodes
         drawNodes(model);
+
+        render.finish(model);
     }
 
     private void drawEdges(GraphModel model) {
         gc.setStroke(Color.BLACK);
         gc.setLineWidth(2);
 
+        NodeAttributes attributes = model.getNodeAttributes();
         for (GraphModel.Edge edge : model.getEdgeList()) {
             // Avoid drawing duplicate edges for undirected graphs
             if (!model.isDirected() && edge.from > edge.to) continue;
 
-            Point2D fromPos = model.getNodePosition(edge.from);
-            Point2D toPos = model.getNodePosition(edge.to);
-
-            if (fromPos != null && toPos != null) {
-                gc.strokeLine(fromPos.getX(), fromPos.getY(), toPos.getX(), toPos.getY());
+            if (attributes.hasPosition(edge.from) && attributes.hasPosition(edge.to)) {
+                double fromX = attributes.getX(edge.from);
+                double fromY = attributes.getY(edge.from);
+                double toX = attributes.getX(edge.to);
+                double toY = attributes.getY(edge.to);
+                gc.strokeLine(fromX, fromY, toX, toY);
 
                 // Draw weight if weighted
                 if (model.isWeighted() && edge.weight > 1) {
-                    double midX = (fromPos.getX() + toPos.getX()) / 2;
-                    double midY = (fromPos.getY() + toPos.getY()) / 2;
+                    double midX = (fromX + toX) / 2;
+                    double midY = (fromY + toY) / 2;
 
                     gc.setFill(Color.RED);
                     gc.setFont(Font.font(14));
@@ -56,18 +82,18 @@ public class GraphVisualizer {
 
                 // Draw arrow for directed graphs
                 if (model.isDirected()) {
-                    drawArrow(fromPos, toPos);
+                    drawArrow(fromX, fromY, toX, toY, NODE_RADIUS * scaleOf(edge.to));
                 }
             }
         }
     }
 
-    private void drawArrow(Point2D from, Point2D to) {
-        double angle = Math.atan2(to.getY() - from.getY(), to.getX() - from.getX());
+    private void drawArrow(double fromX, double fromY, double toX, double toY, double radius) {
+        double angle = Math.atan2(toY - fromY, toX - fromX);
 
         // Arrow position (at the edge of the destination node)
-        double arrowX = to.getX() - NODE_RADIUS * Math.cos(angle);
-        double arrowY = to.getY() - NODE_RADIUS * Math.sin(angle);
+        double arrowX = toX - radius * Math.cos(angle);
+        double arrowY = toY - radius * Math.sin(angle);
 
         // Arrow head
         double arrowLength = 10;
@@ -83,25 +109,39 @@ public class GraphVisualizer {
     }
 
     private void drawNodes(GraphModel model) {
+        NodeAttributes attributes = model.getNodeAttributes();
         for (int i = 0; i < model.getNumNodes(); i++) {
-            Point2D pos = model.getNodePosition(i);
-            if (pos != null) {
+            if (attributes.hasPosition(i)) {
+                double x = attributes.getX(i);
+                double y = attributes.getY(i);
+                double radius = NODE_RADIUS * scaleOf(i);
+
                 // Draw circle
-                gc.setFill(Color.LIGHTBLUE);
-                gc.fillOval(pos.getX() - NODE_RADIUS, pos.getY() - NODE_RADIUS,
-                        NODE_RADIUS * 2, NODE_RADIUS * 2);
+                gc.setFill(nodeScores == null ? LOW_SCORE_COLOR
+                        : LOW_SCORE_COLOR.interpolate(HIGH_SCORE_COLOR, normalizedScore(i)));
+                gc.fillOval(x - radius, y - radius, radius * 2, radius * 2);
 
                 gc.setStroke(Color.BLACK);
                 gc.setLineWidth(2);
-                gc.strokeOval(pos.getX() - NODE_RADIUS, pos.getY() - NODE_RADIUS,
-                        NODE_RADIUS * 2, NODE_RADIUS * 2);
+                gc.strokeOval(x - radius, y - radius, radius * 2, radius * 2);
 
                 // Draw node label
                 gc.setFill(Color.BLACK);
                 gc.setFont(Font.font(16));
                 gc.setTextAlign(TextAlignment.CENTER);
-                gc.fillText(String.valueOf(i), pos.getX(), pos.getY() + 5);
+                gc.fillText(String.valueOf(i), x, y + 5);
             }
         }
     }
-}
\ No newline at end of file
+
+    private double scaleOf(int node) {
+        if (nodeScores == null) return 1;
+        return MIN_SCALE + (MAX_SCALE - MIN_SCALE) * normalizedScore(node);
+    }
+
+    // Score mapped to [0, 1] between the smallest and largest score
+    private double normalizedScore(int node) {
+        if (node >= nodeScores.length) return 0;
+        return maxScore > minScore ? (nodeScores[node] - minScore) / (maxScore - minScore) : 0.5;
+    }
+}
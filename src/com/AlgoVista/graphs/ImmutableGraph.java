@@ -0,0 +1,216 @@
+package com.AlgoVista.graphs;
+
+import javafx.geometry.Point2D;
+
+// One version of a graph that never changes. The with* methods return a new version
+// that shares all untouched nodes, arcs, edges and positions with this one (see
+// PersistentArray): each node's arcs are themselves a PersistentArray of 32-slot
+// chunks, so an edit copies one root-to-leaf path per touched array, O(log V +
+// log degree) with base 32, however high the degree. Any number of algorithm, layout
+// and render threads can read a version without locks.
+public final class ImmutableGraph {
+    private final int numNodes;
+    private final boolean isDirected;
+    private final boolean isWeighted;
+    private final long version;
+    // Per node, arcs {neighbor, weight, edgeId}; arc arrays are never written after
+    // they are published
+    private final PersistentArray<PersistentArray<int[]>> adjacency;
+    private final PersistentArray<GraphModel.Edge> edges;
+    private final PersistentArray<Integer> edgeArcs; // per edge id, its arc's index in from's list
+    private final PersistentArray<Point2D> positions;
+    private final int numArcs;
+
+    private ImmutableGraph(int numNodes, boolean isDirected, boolean isWeighted, long version,
+                           PersistentArray<PersistentArray<int[]>> adjacency, PersistentArray<GraphModel.Edge> edges,
+                           PersistentArray<Integer> edgeArcs, PersistentArray<Point2D> positions, int numArcs) {
+        this.numNodes = numNodes;
+        this.isDirected = isDirected;
+        this.isWeighted = isWeighted;
+        this.version = version;
+        this.adjacency = adjacency;
+        this.edges = edges;
+        this.edgeArcs = edgeArcs;
+        this.positions = positions;
+        this.numArcs = numArcs;
+    }
+
+    public static ImmutableGraph empty(int numNodes, boolean isDirected, boolean isWeighted, long version) {
+        return new ImmutableGraph(numNodes, isDirected, isWeighted, version,
+                PersistentArray.filled(numNodes, PersistentArray.empty()), PersistentArray.empty(),
+                PersistentArray.empty(), PersistentArray.filled(numNodes, null), 0);
+    }
+
+    // The edit methods mirror GraphModel's and are only called by it, in the same order
+    // on the same arcs, so arc order and edge ids stay identical to the model's. The
+    // model passes the arc positions it has in its NeighborIndex instead of this
+    // version searching for them.
+
+    // Adds the from -> to edge, which must not exist yet; undirected edges are stored
+    // both ways, self-loops once
+    ImmutableGraph withEdge(int from, int to, int weight, long newVersion) {
+        Builder b = new Builder();
+        b.appendArc(from, to, weight);
+        if (!isDirected && from != to) b.appendArc(to, from, weight);
+        return b.build(newVersion);
+    }
+
+    // Swap-removes the from -> to arc at fromIndex and, when undirected, the mirror arc
+    // at toIndex, as GraphModel.removeEdge does
+    ImmutableGraph withoutEdge(int from, int to, int fromIndex, int toIndex, long newVersion) {
+        Builder b = new Builder();
+        b.removeArc(from, fromIndex);
+        if (!isDirected && from != to) b.removeArc(to, toIndex);
+        return b.build(newVersion);
+    }
+
+    ImmutableGraph withWeight(int from, int to, int fromIndex, int toIndex, int weight, long newVersion) {
+        Builder b = new Builder();
+        b.reweightArc(from, fromIndex, weight);
+        if (!isDirected && from != to) b.reweightArc(to, toIndex, weight);
+        return b.build(newVersion);
+    }
+
+    // No edges, same node positions
+    public ImmutableGraph withoutEdges(long newVersion) {
+        return new ImmutableGraph(numNodes, isDirected, isWeighted, newVersion,
+                PersistentArray.filled(numNodes, PersistentArray.empty()), PersistentArray.empty(),
+                PersistentArray.empty(), positions, 0);
+    }
+
+    // Positions do not change the version; they only matter for drawing and A*
+    public ImmutableGraph withPosition(int node, Point2D position) {
+        if (node < 0 || node >= numNodes) return this;
+        return new ImmutableGraph(numNodes, isDirected, isWeighted, version,
+                adjacency, edges, edgeArcs, positions.set(node, position), numArcs);
+    }
+
+    // The arrays of the version being made, changed one step at a time
+    private final class Builder {
+        PersistentArray<PersistentArray<int[]>> adjacency = ImmutableGraph.this.adjacency;
+        PersistentArray<GraphModel.Edge> edges = ImmutableGraph.this.edges;
+        PersistentArray<Integer> edgeArcs = ImmutableGraph.this.edgeArcs;
+        int numArcs = ImmutableGraph.this.numArcs;
+
+        void appendArc(int from, int to, int weight) {
+            PersistentArray<int[]> arcs = adjacency.get(from);
+            edgeArcs = edgeArcs.append(arcs.size());
+            adjacency = adjacency.set(from, arcs.append(new int[]{to, weight, edges.size()}));
+            edges = edges.append(new GraphModel.Edge(from, to, weight));
+            numArcs++;
+        }
+
+        void reweightArc(int from, int index, int weight) {
+            PersistentArray<int[]> arcs = adjacency.get(from);
+            int[] arc = arcs.get(index);
+            adjacency = adjacency.set(from, arcs.set(index, new int[]{arc[0], weight, arc[2]}));
+            edges = edges.set(arc[2], new GraphModel.Edge(from, arc[0], weight));
+        }
+
+        // Same steps as GraphModel.deleteArc: the node's last arc takes the removed
+        // arc's place, then the last edge takes the removed edge's id
+        void removeArc(int from, int index) {
+            PersistentArray<int[]> arcs = adjacency.get(from);
+            int id = arcs.get(index)[2];
+            int lastArc = arcs.size() - 1;
+            PersistentArray<int[]> newArcs = arcs.removeLast();
+            if (index < lastArc) {
+                int[] moved = arcs.get(lastArc);
+                newArcs = newArcs.set(index, moved);
+                edgeArcs = edgeArcs.set(moved[2], index);
+            }
+            adjacency = adjacency.set(from, newArcs);
+
+            int lastId = edges.size() - 1;
+            GraphModel.Edge lastEdge = edges.get(lastId);
+            int lastEdgeArc = edgeArcs.get(lastId);
+            edges = edges.removeLast();
+            edgeArcs = edgeArcs.removeLast();
+            if (id < lastId) {
+                edges = edges.set(id, lastEdge);
+                edgeArcs = edgeArcs.set(id, lastEdgeArc);
+                PersistentArray<int[]> ownerArcs = adjacency.get(lastEdge.from);
+                int[] arc = ownerArcs.get(lastEdgeArc);
+                adjacency = adjacency.set(lastEdge.from, ownerArcs.set(lastEdgeArc, new int[]{arc[0], arc[1], id}));
+            }
+            numArcs--;
+        }
+
+        ImmutableGraph build(long newVersion) {
+            return new ImmutableGraph(numNodes, isDirected, isWeighted, newVersion,
+                    adjacency, edges, edgeArcs, positions, numArcs);
+        }
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    // Arcs as in the adjacency list: twice the edge count for undirected graphs
+    public int getNumArcs() {
+        return numArcs;
+    }
+
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    public boolean isWeighted() {
+        return isWeighted;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getDegree(int node) {
+        return adjacency.get(node).size();
+    }
+
+    public int getNeighbor(int node, int index) {
+        return adjacency.get(node).get(index)[0];
+    }
+
+    public int getWeight(int node, int index) {
+        return adjacency.get(node).get(index)[1];
+    }
+
+    // Index of the node's index-th arc's edge in getEdge, as GraphModel.getEdgeId
+    public int getEdgeId(int node, int index) {
+        return adjacency.get(node).get(index)[2];
+    }
+
+    // Copies node's neighbors and weights into the arrays at offset; returns the count
+    public int copyArcs(int node, int[] targets, int[] weights, int offset) {
+        PersistentArray<int[]> arcs = adjacency.get(node);
+        int count = arcs.size();
+        for (int i = 0; i < count; i++) {
+            int[] arc = arcs.get(i);
+            targets[offset + i] = arc[0];
+            weights[offset + i] = arc[1];
+        }
+        return count;
+    }
+
+    // Scans from's arcs: O(degree), unlike GraphModel.hasEdge
+    public boolean hasEdge(int from, int to) {
+        PersistentArray<int[]> arcs = adjacency.get(from);
+        for (int i = 0; i < arcs.size(); i++) {
+            if (arcs.get(i)[0] == to) return true;
+        }
+        return false;
+    }
+
+    // Edge entries as in GraphModel.getEdgeList, including both directions when undirected
+    public int getEdgeCount() {
+        return edges.size();
+    }
+
+    public GraphModel.Edge getEdge(int index) {
+        return edges.get(index);
+    }
+
+    public Point2D getNodePosition(int node) {
+        return positions.get(node);
+    }
+}
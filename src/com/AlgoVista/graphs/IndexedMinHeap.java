@@ -0,0 +1,116 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+
+// Binary min-heap over node ids 0..capacity-1 with O(log n) decrease-key.
+// Holds no per-operation objects, so one instance can be reused across runs.
+public class IndexedMinHeap {
+    private final int[] heap;   // heap slot -> node
+    private final int[] pos;    // node -> heap slot, -1 when not queued
+    private final int[] keys;   // node -> current key
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        pos = new int[capacity];
+        keys = new int[capacity];
+        Arrays.fill(pos, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean contains(int node) {
+        return pos[node] >= 0;
+    }
+
+    public int getKey(int node) {
+        return keys[node];
+    }
+
+    public int peekKey() {
+        return keys[heap[0]];
+    }
+
+    // Inserts the node, or lowers its key if it is already queued with a larger one.
+    // Returns false when nothing changed.
+    public boolean offer(int node, int key) {
+        int slot = pos[node];
+        if (slot < 0) {
+            AlgorithmStats.heapPush();
+            slot = size++;
+            heap[slot] = node;
+            pos[node] = slot;
+            keys[node] = key;
+            siftUp(slot);
+            return true;
+        }
+        if (key < keys[node]) {
+            AlgorithmStats.decreaseKey();
+            keys[node] = key;
+            siftUp(slot);
+            return true;
+        }
+        return false;
+    }
+
+    public int poll() {
+        AlgorithmStats.heapPop();
+        int min = heap[0];
+        pos[min] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            pos[last] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            pos[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int slot) {
+        int node = heap[slot];
+        int key = keys[node];
+        while (slot > 0) {
+            int parentSlot = (slot - 1) >>> 1;
+            int parentNode = heap[parentSlot];
+            if (keys[parentNode] <= key) break;
+            heap[slot] = parentNode;
+            pos[parentNode] = slot;
+            slot = parentSlot;
+        }
+        heap[slot] = node;
+        pos[node] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int node = heap[slot];
+        int key = keys[node];
+        int half = size >>> 1;
+        while (slot < half) {
+            int child = 2 * slot + 1;
+            int right = child + 1;
+            if (right < size && keys[heap[right]] < keys[heap[child]]) {
+                child = right;
+            }
+            if (key <= keys[heap[child]]) break;
+            heap[slot] = heap[child];
+            pos[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = node;
+        pos[node] = slot;
+    }
+}
@@ -0,0 +1,409 @@
+package com.AlgoVista.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Maximum flow / minimum cut engines over a residual CSR network. Edge weights are
+// the capacities and must be non-negative.
+public class MaxFlow {
+
+    // Residual network: every input edge becomes a forward arc (capacity = weight)
+    // paired with a reverse arc of capacity 0, both stored in CSR order by tail
+    public static class Network {
+        private final int numNodes;
+        private final int[] edgeFrom;
+        private final int[] edgeTo;
+        private final int[] offsets;
+        private final int[] heads;
+        private final int[] capacity;
+        private final int[] reverse;  // arc -> its paired arc
+        private final int[] edgeArc;  // input edge -> forward arc, -1 for self-loops
+
+        public Network(int numNodes, int[] from, int[] to, int[] capacity) {
+            this.numNodes = numNodes;
+            this.edgeFrom = from;
+            this.edgeTo = to;
+            int m = from.length;
+
+            int[] degree = new int[numNodes + 1];
+            int arcs = 0;
+            for (int e = 0; e < m; e++) {
+                if (from[e] == to[e]) continue;
+                degree[from[e] + 1]++;
+                degree[to[e] + 1]++;
+                arcs += 2;
+            }
+            for (int v = 0; v < numNodes; v++) {
+                degree[v + 1] += degree[v];
+            }
+            this.offsets = degree.clone();
+
+            int[] next = Arrays.copyOf(degree, numNodes);
+            this.heads = new int[arcs];
+            this.capacity = new int[arcs];
+            this.reverse = new int[arcs];
+            this.edgeArc = new int[m];
+            for (int e = 0; e < m; e++) {
+                if (from[e] == to[e]) {
+                    edgeArc[e] = -1;
+                    continue;
+                }
+                int forward = next[from[e]]++;
+                int backward = next[to[e]]++;
+                heads[forward] = to[e];
+                heads[backward] = from[e];
+                this.capacity[forward] = capacity[e];
+                reverse[forward] = backward;
+                reverse[backward] = forward;
+                edgeArc[e] = forward;
+            }
+        }
+
+        // Edges are indexed like model.getEdgeList(); an undirected model lists each
+        // edge in both directions, so each direction gets the full capacity
+        public static Network from(GraphModel model) {
+            List<GraphModel.Edge> edges = model.getEdgeList();
+            int m = edges.size();
+            int[] from = new int[m];
+            int[] to = new int[m];
+            int[] capacity = new int[m];
+            for (int e = 0; e < m; e++) {
+                GraphModel.Edge edge = edges.get(e);
+                from[e] = edge.from;
+                to[e] = edge.to;
+                capacity[e] = edge.weight;
+            }
+            return new Network(model.getNumNodes(), from, to, capacity);
+        }
+
+        public int getNumNodes() {
+            return numNodes;
+        }
+
+        public int getNumEdges() {
+            return edgeFrom.length;
+        }
+    }
+
+    public static class Result {
+        private final long value;
+        private final int[] edgeFlow;
+        private final boolean[] sourceSide;
+        private final int[] edgeFrom;
+        private final int[] edgeTo;
+
+        public Result(long value, int[] edgeFlow, boolean[] sourceSide, int[] edgeFrom, int[] edgeTo) {
+            this.value = value;
+            this.edgeFlow = edgeFlow;
+            this.sourceSide = sourceSide;
+            this.edgeFrom = edgeFrom;
+            this.edgeTo = edgeTo;
+        }
+
+        public long getValue() {
+            return value;
+        }
+
+        // Flow on input edge e, indexed like the edges the network was built from
+        public int getFlow(int e) {
+            return edgeFlow[e];
+        }
+
+        public int[] getEdgeFlows() {
+            return edgeFlow;
+        }
+
+        // Source side of a minimum cut: the nodes still reachable from s in the residual graph
+        public boolean isSourceSide(int node) {
+            return sourceSide[node];
+        }
+
+        // Input edges crossing from the source side to the sink side; all are saturated
+        public List<Integer> getCutEdges() {
+            List<Integer> cut = new ArrayList<>();
+            for (int e = 0; e < edgeFrom.length; e++) {
+                if (sourceSide[edgeFrom[e]] && !sourceSide[edgeTo[e]]) cut.add(e);
+            }
+            return cut;
+        }
+    }
+
+    // Dinic: BFS level graph, then blocking flow by iterative DFS with current-arc pointers
+    public static Result dinic(Network net, int s, int t) {
+        int n = net.numNodes;
+        int[] offsets = net.offsets;
+        int[] heads = net.heads;
+        int[] reverse = net.reverse;
+        int[] residual = net.capacity.clone();
+
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        int[] current = new int[n];
+        int[] pathArc = new int[n];
+        long flow = 0;
+
+        while (s != t && levelGraph(net, residual, s, t, level, queue)) {
+            System.arraycopy(offsets, 0, current, 0, n);
+            int depth = 0;
+            int v = s;
+            while (true) {
+                if (v == t) {
+                    int bottleneck = Integer.MAX_VALUE;
+                    for (int i = 0; i < depth; i++) {
+                        bottleneck = Math.min(bottleneck, residual[pathArc[i]]);
+                    }
+                    int firstSaturated = -1;
+                    for (int i = 0; i < depth; i++) {
+                        int a = pathArc[i];
+                        residual[a] -= bottleneck;
+                        residual[reverse[a]] += bottleneck;
+                        if (residual[a] == 0 && firstSaturated < 0) firstSaturated = i;
+                    }
+                    flow += bottleneck;
+                    // Resume from the tail of the first saturated arc instead of from s
+                    depth = firstSaturated;
+                    v = heads[reverse[pathArc[depth]]];
+                    continue;
+                }
+
+                int a = current[v];
+                int end = offsets[v + 1];
+                while (a < end && (residual[a] == 0 || level[heads[a]] != level[v] + 1)) a++;
+                current[v] = a;
+
+                if (a < end) {
+                    pathArc[depth++] = a;
+                    v = heads[a];
+                } else {
+                    // Dead end: drop v from the level graph and retreat
+                    level[v] = -1;
+                    if (depth == 0) break;
+                    int back = pathArc[--depth];
+                    v = heads[reverse[back]];
+                    current[v]++;
+                }
+            }
+        }
+
+        return buildResult(net, residual, s, flow, queue);
+    }
+
+    private static boolean levelGraph(Network net, int[] residual, int s, int t, int[] level, int[] queue) {
+        Arrays.fill(level, -1);
+        level[s] = 0;
+        queue[0] = s;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int a = net.offsets[v]; a < net.offsets[v + 1]; a++) {
+                int w = net.heads[a];
+                if (residual[a] > 0 && level[w] < 0) {
+                    level[w] = level[v] + 1;
+                    queue[tail++] = w;
+                }
+            }
+        }
+        return level[t] >= 0;
+    }
+
+    // Highest-label push-relabel with the gap heuristic and periodic global relabelling.
+    // Runs until no node has excess, so the preflow ends up as a valid flow.
+    public static Result pushRelabel(Network net, int s, int t) {
+        int n = net.numNodes;
+        int[] offsets = net.offsets;
+        int[] heads = net.heads;
+        int[] reverse = net.reverse;
+        int[] residual = net.capacity.clone();
+        if (s == t) {
+            return buildResult(net, residual, s, 0, new int[n]);
+        }
+
+        PushRelabelState state = new PushRelabelState(n);
+        int[] height = state.height;
+        long[] excess = state.excess;
+        int[] current = state.current;
+        int relabelsBeforeGlobal = n + net.heads.length / 2;
+
+        state.globalRelabel(net, residual, s, t);
+        for (int a = offsets[s]; a < offsets[s + 1]; a++) {
+            int w = heads[a];
+            int pushed = residual[a];
+            if (pushed == 0) continue;
+            residual[a] = 0;
+            residual[reverse[a]] += pushed;
+            excess[s] -= pushed;
+            if (excess[w] == 0 && w != t) state.activate(w);
+            excess[w] += pushed;
+        }
+
+        int relabels = 0;
+        int v;
+        while ((v = state.pollHighest()) >= 0) {
+            while (excess[v] > 0) {
+                int end = offsets[v + 1];
+                int a = current[v];
+                while (a < end && (residual[a] == 0 || height[v] != height[heads[a]] + 1)) a++;
+                current[v] = a;
+
+                if (a < end) {
+                    int w = heads[a];
+                    int pushed = (int) Math.min(excess[v], residual[a]);
+                    residual[a] -= pushed;
+                    residual[reverse[a]] += pushed;
+                    excess[v] -= pushed;
+                    if (excess[w] == 0 && w != s && w != t) state.activate(w);
+                    excess[w] += pushed;
+                    continue;
+                }
+
+                // Relabel to one above the lowest residual neighbour
+                int newHeight = 2 * n;
+                for (int b = offsets[v]; b < end; b++) {
+                    if (residual[b] > 0) newHeight = Math.min(newHeight, height[heads[b]] + 1);
+                }
+                int oldHeight = height[v];
+                state.setHeight(v, newHeight);
+                current[v] = offsets[v];
+
+                if (state.count[oldHeight] == 0 && oldHeight < n) {
+                    // Gap: nothing above oldHeight can reach t any more
+                    for (int u = 0; u < n; u++) {
+                        if (u != s && height[u] > oldHeight && height[u] < n) {
+                            state.setHeight(u, n + 1);
+                            current[u] = offsets[u];
+                        }
+                    }
+                }
+
+                if (++relabels >= relabelsBeforeGlobal) {
+                    relabels = 0;
+                    // This queues every node with excess, v included, so stop discharging it here
+                    state.globalRelabel(net, residual, s, t);
+                    break;
+                }
+            }
+        }
+
+        return buildResult(net, residual, s, excess[t], state.queue);
+    }
+
+    private static class PushRelabelState {
+        final int n;
+        final int[] height;
+        final long[] excess;
+        final int[] current;
+        final int[] count;       // nodes per height, for the gap check
+        final int[] bucketHead;  // active nodes per height, singly linked through nextActive
+        final int[] nextActive;
+        final int[] queue;
+        int highest = -1;
+
+        PushRelabelState(int n) {
+            this.n = n;
+            height = new int[n];
+            excess = new long[n];
+            current = new int[n];
+            count = new int[2 * n + 1];
+            bucketHead = new int[2 * n + 1];
+            nextActive = new int[n];
+            queue = new int[n];
+            Arrays.fill(bucketHead, -1);
+        }
+
+        void activate(int v) {
+            int h = height[v];
+            nextActive[v] = bucketHead[h];
+            bucketHead[h] = v;
+            if (h > highest) highest = h;
+        }
+
+        // Gap lifts leave nodes in buckets below their new height; those are moved up lazily
+        int pollHighest() {
+            while (highest >= 0) {
+                int v = bucketHead[highest];
+                if (v < 0) {
+                    highest--;
+                    continue;
+                }
+                bucketHead[highest] = nextActive[v];
+                if (height[v] != highest) {
+                    activate(v);
+                    continue;
+                }
+                return v;
+            }
+            return -1;
+        }
+
+        void setHeight(int v, int h) {
+            count[height[v]]--;
+            height[v] = h;
+            count[h]++;
+        }
+
+        // Exact heights: distance to t in the residual graph, or n + distance to s for
+        // nodes that can only return their excess to the source
+        void globalRelabel(MaxFlow.Network net, int[] residual, int s, int t) {
+            Arrays.fill(height, 2 * n);
+            height[s] = n;
+            height[t] = 0;
+            bfsBackward(net, residual, t);
+            bfsBackward(net, residual, s);
+
+            Arrays.fill(count, 0);
+            Arrays.fill(bucketHead, -1);
+            highest = -1;
+            for (int v = 0; v < n; v++) {
+                count[height[v]]++;
+                current[v] = net.offsets[v];
+                if (v != s && v != t && excess[v] > 0) activate(v);
+            }
+        }
+
+        private void bfsBackward(MaxFlow.Network net, int[] residual, int root) {
+            queue[0] = root;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int w = queue[head++];
+                for (int a = net.offsets[w]; a < net.offsets[w + 1]; a++) {
+                    int u = net.heads[a];
+                    // u -> w has residual capacity exactly when the paired arc does
+                    if (height[u] == 2 * n && residual[net.reverse[a]] > 0) {
+                        height[u] = height[w] + 1;
+                        queue[tail++] = u;
+                    }
+                }
+            }
+        }
+    }
+
+    private static Result buildResult(Network net, int[] residual, int s, long value, int[] queue) {
+        int n = net.numNodes;
+        boolean[] sourceSide = new boolean[n];
+        sourceSide[s] = true;
+        queue[0] = s;
+        int head = 0;
+        int tail = 1;
+        while (head < tail) {
+            int v = queue[head++];
+            for (int a = net.offsets[v]; a < net.offsets[v + 1]; a++) {
+                int w = net.heads[a];
+                if (residual[a] > 0 && !sourceSide[w]) {
+                    sourceSide[w] = true;
+                    queue[tail++] = w;
+                }
+            }
+        }
+
+        int m = net.edgeArc.length;
+        int[] edgeFlow = new int[m];
+        for (int e = 0; e < m; e++) {
+            int a = net.edgeArc[e];
+            if (a >= 0) edgeFlow[e] = net.capacity[a] - residual[a];
+        }
+        return new Result(value, edgeFlow, sourceSide, net.edgeFrom, net.edgeTo);
+    }
+}
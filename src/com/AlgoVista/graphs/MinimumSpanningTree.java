@@ -0,0 +1,332 @@
+package com.AlgoVista.graphs;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Minimum spanning tree (forest, if the graph is disconnected) engines for
+// undirected graphs. Edge weights must be non-negative.
+public class MinimumSpanningTree {
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final int BORUVKA_LEAF_SIZE = 1 << 14;
+    private static final long NO_EDGE = Long.MAX_VALUE;
+
+    public static class Result {
+        private final int[] from;
+        private final int[] to;
+        private final int[] weight;
+        private final int size;
+        private final long totalWeight;
+
+        public Result(int[] from, int[] to, int[] weight, int size) {
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+            this.size = size;
+            long total = 0;
+            for (int i = 0; i < size; i++) {
+                total += weight[i];
+            }
+            this.totalWeight = total;
+        }
+
+        // Number of tree edges, in the order the algorithm accepted them
+        public int size() {
+            return size;
+        }
+
+        public int getFrom(int i) {
+            return from[i];
+        }
+
+        public int getTo(int i) {
+            return to[i];
+        }
+
+        public int getWeight(int i) {
+            return weight[i];
+        }
+
+        public long getTotalWeight() {
+            return totalWeight;
+        }
+    }
+
+    // Edges of the model as parallel arrays, each undirected edge once
+    // (a directed model's edges are all kept and treated as undirected)
+    public static class EdgeArrays {
+        public final int numNodes;
+        public final int[] from;
+        public final int[] to;
+        public final int[] weight;
+
+        public EdgeArrays(int numNodes, int[] from, int[] to, int[] weight) {
+            this.numNodes = numNodes;
+            this.from = from;
+            this.to = to;
+            this.weight = weight;
+        }
+
+        public static EdgeArrays from(GraphModel model) {
+            List<GraphModel.Edge> edges = model.getEdgeList();
+            int count = 0;
+            for (GraphModel.Edge edge : edges) {
+                if (edge.from < edge.to || (model.isDirected() && edge.from != edge.to)) count++;
+            }
+            int[] from = new int[count];
+            int[] to = new int[count];
+            int[] weight = new int[count];
+            int i = 0;
+            for (GraphModel.Edge edge : edges) {
+                if (edge.from < edge.to || (model.isDirected() && edge.from != edge.to)) {
+                    from[i] = edge.from;
+                    to[i] = edge.to;
+                    weight[i] = edge.weight;
+                    i++;
+                }
+            }
+            return new EdgeArrays(model.getNumNodes(), from, to, weight);
+        }
+    }
+
+    // Kruskal: LSD radix sort of edge ids by weight, then one union-find pass
+    public static Result kruskal(EdgeArrays edges) {
+        int m = edges.from.length;
+        int[] sorted = radixSortByWeight(edges.weight);
+        UnionFind sets = new UnionFind(edges.numNodes);
+
+        int treeSize = Math.max(0, edges.numNodes - 1);
+        int[] from = new int[treeSize];
+        int[] to = new int[treeSize];
+        int[] weight = new int[treeSize];
+        int size = 0;
+
+        for (int i = 0; i < m && size < treeSize; i++) {
+            int e = sorted[i];
+            if (sets.union(edges.from[e], edges.to[e])) {
+                from[size] = edges.from[e];
+                to[size] = edges.to[e];
+                weight[size] = edges.weight[e];
+                size++;
+            }
+        }
+
+        return new Result(from, to, weight, size);
+    }
+
+    // Stable ascending order of edge ids; passes whose digit is zero for every edge are skipped
+    static int[] radixSortByWeight(int[] weights) {
+        int m = weights.length;
+        int[] order = new int[m];
+        int[] buffer = new int[m];
+        int maxWeight = 0;
+        for (int i = 0; i < m; i++) {
+            order[i] = i;
+            maxWeight = Math.max(maxWeight, weights[i]);
+        }
+
+        int[] counts = new int[RADIX + 1];
+        for (int shift = 0; shift < 32 && (maxWeight >>> shift) != 0; shift += RADIX_BITS) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < m; i++) {
+                counts[((weights[order[i]] >>> shift) & (RADIX - 1)) + 1]++;
+            }
+            for (int d = 0; d < RADIX; d++) {
+                counts[d + 1] += counts[d];
+            }
+            for (int i = 0; i < m; i++) {
+                int e = order[i];
+                buffer[counts[(weights[e] >>> shift) & (RADIX - 1)]++] = e;
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    // Prim on an indexed heap, restarted from every unreached node to cover all components
+    public static Result prim(CompactGraph graph, int start) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        boolean[] inTree = new boolean[n];
+        int[] via = new int[n];
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        int treeSize = Math.max(0, n - 1);
+        int[] from = new int[treeSize];
+        int[] to = new int[treeSize];
+        int[] weight = new int[treeSize];
+        int size = 0;
+
+        for (int k = 0; k < n; k++) {
+            int root = (start + k) % n;
+            if (inTree[root]) continue;
+            via[root] = -1;
+            heap.offer(root, 0);
+
+            while (!heap.isEmpty()) {
+                int key = heap.peekKey();
+                int node = heap.poll();
+                AlgorithmStats.visit();
+                inTree[node] = true;
+                if (via[node] >= 0) {
+                    from[size] = via[node];
+                    to[size] = node;
+                    weight[size] = key;
+                    size++;
+                }
+                for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                    int v = targets[a];
+                    AlgorithmStats.relax();
+                    if (!inTree[v] && heap.offer(v, weights[a])) {
+                        via[v] = node;
+                    }
+                }
+            }
+        }
+
+        return new Result(from, to, weight, size);
+    }
+
+    // Parallel Boruvka: each round every component picks its cheapest outgoing edge
+    // (found by a fork/join scan over the edges still crossing components), then all
+    // picks are merged at once. Ties are broken by edge id, so the picks never form a cycle.
+    public static Result boruvka(EdgeArrays edges, ForkJoinPool pool) {
+        int n = edges.numNodes;
+        int m = edges.from.length;
+        ConcurrentUnionFind sets = new ConcurrentUnionFind(n);
+        AtomicLongArray cheapest = new AtomicLongArray(n);
+        boolean[] accepted = new boolean[m];
+        int[] live = new int[m];
+        for (int e = 0; e < m; e++) {
+            live[e] = e;
+        }
+        int liveCount = m;
+
+        int treeSize = Math.max(0, n - 1);
+        int[] from = new int[treeSize];
+        int[] to = new int[treeSize];
+        int[] weight = new int[treeSize];
+        int size = 0;
+
+        while (size < treeSize) {
+            for (int i = 0; i < n; i++) {
+                cheapest.set(i, NO_EDGE);
+            }
+            pool.invoke(new CheapestEdgeTask(edges, sets, cheapest, live, 0, liveCount));
+
+            boolean merged = false;
+            for (int c = 0; c < n; c++) {
+                long pick = cheapest.get(c);
+                if (pick == NO_EDGE) continue;
+                int e = (int) pick;
+                if (!accepted[e] && sets.union(edges.from[e], edges.to[e])) {
+                    accepted[e] = true;
+                    from[size] = edges.from[e];
+                    to[size] = edges.to[e];
+                    weight[size] = edges.weight[e];
+                    size++;
+                    merged = true;
+                }
+            }
+            if (!merged) break; // remaining components have no edges between them
+
+            // The scan marked edges inside a component with -1; drop them for later rounds
+            int kept = 0;
+            for (int i = 0; i < liveCount; i++) {
+                if (live[i] >= 0) live[kept++] = live[i];
+            }
+            liveCount = kept;
+        }
+
+        return new Result(from, to, weight, size);
+    }
+
+    public static Result boruvka(EdgeArrays edges) {
+        return boruvka(edges, ForkJoinPool.commonPool());
+    }
+
+    // ForkJoinTask is Serializable, but these tasks only live inside one boruvka call and
+    // are never serialized; their fields are not serializable either
+    @SuppressWarnings("serial")
+    private static class CheapestEdgeTask extends RecursiveAction {
+        private final EdgeArrays edges;
+        private final ConcurrentUnionFind sets;
+        private final AtomicLongArray cheapest;
+        private final int[] live;
+        private final int lo;
+        private final int hi;
+
+        CheapestEdgeTask(EdgeArrays edges, ConcurrentUnionFind sets, AtomicLongArray cheapest,
+                         int[] live, int lo, int hi) {
+            this.edges = edges;
+            this.sets = sets;
+            this.cheapest = cheapest;
+            this.live = live;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo > BORUVKA_LEAF_SIZE) {
+                int mid = (lo + hi) >>> 1;
+                invokeAll(new CheapestEdgeTask(edges, sets, cheapest, live, lo, mid),
+                        new CheapestEdgeTask(edges, sets, cheapest, live, mid, hi));
+                return;
+            }
+            for (int i = lo; i < hi; i++) {
+                int e = live[i];
+                int a = sets.find(edges.from[e]);
+                int b = sets.find(edges.to[e]);
+                if (a == b) {
+                    live[i] = -1;
+                    continue;
+                }
+                // weight in the high half, edge id in the low half: one compare orders both
+                long packed = ((long) edges.weight[e] << 32) | e;
+                offerMin(a, packed);
+                offerMin(b, packed);
+            }
+        }
+
+        private void offerMin(int component, long packed) {
+            long current = cheapest.get(component);
+            while (packed < current && !cheapest.compareAndSet(component, current, packed)) {
+                current = cheapest.get(component);
+            }
+        }
+    }
+
+    // Node order in which the tree reaches nodes, paired with the tree edge (or null)
+    // that should be revealed at that step; used to animate any of the engines.
+    public static List<int[]> animationTrace(Result tree, int start) {
+        List<int[]> steps = new ArrayList<>();
+        Set<Integer> seen = new HashSet<>();
+        if (tree.size() == 0) {
+            steps.add(new int[]{start, -1, -1});
+            return steps;
+        }
+        for (int i = 0; i < tree.size(); i++) {
+            int u = tree.getFrom(i);
+            int v = tree.getTo(i);
+            if (seen.add(u)) {
+                steps.add(new int[]{u, -1, -1});
+            }
+            // v is shown even if seen, so merges of two existing fragments still get a step
+            seen.add(v);
+            steps.add(new int[]{v, u, v});
+        }
+        return steps;
+    }
+}
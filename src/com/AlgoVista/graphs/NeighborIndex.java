@@ -0,0 +1,95 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+
+// Hash map from neighbor id to the position of its arc in one node's adjacency list.
+// Open addressing with linear probing; removal shifts the following entries back
+// instead of leaving tombstones, so get, put and remove stay O(1) expected however
+// many edges come and go. The table doubles when it gets half full.
+final class NeighborIndex {
+    private static final int EMPTY = -1;
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    NeighborIndex() {
+        keys = new int[INITIAL_CAPACITY];
+        values = new int[INITIAL_CAPACITY];
+        mask = INITIAL_CAPACITY - 1;
+        Arrays.fill(keys, EMPTY);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Position stored for neighbor, or -1
+    int get(int neighbor) {
+        for (int i = slot(neighbor); ; i = (i + 1) & mask) {
+            if (keys[i] == neighbor) return values[i];
+            if (keys[i] == EMPTY) return -1;
+        }
+    }
+
+    void put(int neighbor, int position) {
+        if (2 * (size + 1) > keys.length) grow();
+        int i = slot(neighbor);
+        while (keys[i] != EMPTY && keys[i] != neighbor) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) size++;
+        keys[i] = neighbor;
+        values[i] = position;
+    }
+
+    // Removes neighbor and returns its position, or -1 if it was not there
+    int remove(int neighbor) {
+        int i = slot(neighbor);
+        while (keys[i] != neighbor) {
+            if (keys[i] == EMPTY) return -1;
+            i = (i + 1) & mask;
+        }
+        int position = values[i];
+
+        // Pull back every later entry of the run whose home slot is not between the
+        // hole and itself, so probes from those homes still find them
+        int hole = i;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        size--;
+        return position;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+    }
+
+    private int slot(int neighbor) {
+        int h = neighbor * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        mask = keys.length - 1;
+        Arrays.fill(keys, EMPTY);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) put(oldKeys[i], oldValues[i]);
+        }
+    }
+}
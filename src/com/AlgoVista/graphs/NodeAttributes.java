@@ -0,0 +1,224 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+// Per-node attributes of one graph, stored column by column: one primitive array per
+// attribute, indexed by node id. Drawing and algorithms walk these arrays directly
+// instead of looking up boxed Integer keys in maps, and resetting a column is an
+// Arrays.fill instead of rebuilding a map.
+//
+// Built in are the layout (x, y; NaN when a node has no position, and only changed
+// through GraphModel.setNodePosition so snapshots follow), a traversal state byte, and
+// a distance and parent per node. Other attributes are added as named typed
+// columns with intColumn, doubleColumn and byteColumn; the built-in names are reserved
+// there, so the position cannot be reached or replaced as a named column.
+public final class NodeAttributes {
+    // Traversal states; a node in group k of a partition has state GROUP + k
+    public static final byte UNVISITED = 0;
+    public static final byte VISITING = 1;
+    public static final byte VISITED = 2;
+    public static final byte ON_PATH = 3;
+    public static final byte GROUP = 4;
+
+    public static final int NO_DISTANCE = Integer.MAX_VALUE;
+    public static final int NO_PARENT = -1;
+
+    private static final Set<String> BUILT_IN = Set.of("x", "y", "state", "dist", "parent");
+
+    private final int numNodes;
+    private final DoubleColumn x;
+    private final DoubleColumn y;
+    private final ByteColumn state;
+    private final IntColumn dist;
+    private final IntColumn parent;
+    private final Map<String, Object> columns = new HashMap<>();
+
+    public static final class IntColumn {
+        private final int[] values;
+        private final int defaultValue;
+
+        private IntColumn(int size, int defaultValue) {
+            this.values = new int[size];
+            this.defaultValue = defaultValue;
+            reset();
+        }
+
+        public int get(int node) {
+            return values[node];
+        }
+
+        public void set(int node, int value) {
+            values[node] = value;
+        }
+
+        public void reset() {
+            Arrays.fill(values, defaultValue);
+        }
+
+        // The backing array, for loops over all nodes; writes go straight to the column
+        public int[] array() {
+            return values;
+        }
+    }
+
+    public static final class DoubleColumn {
+        private final double[] values;
+        private final double defaultValue;
+
+        private DoubleColumn(int size, double defaultValue) {
+            this.values = new double[size];
+            this.defaultValue = defaultValue;
+            reset();
+        }
+
+        public double get(int node) {
+            return values[node];
+        }
+
+        public void set(int node, double value) {
+            values[node] = value;
+        }
+
+        public void reset() {
+            Arrays.fill(values, defaultValue);
+        }
+
+        public double[] array() {
+            return values;
+        }
+    }
+
+    public static final class ByteColumn {
+        private final byte[] values;
+        private final byte defaultValue;
+
+        private ByteColumn(int size, byte defaultValue) {
+            this.values = new byte[size];
+            this.defaultValue = defaultValue;
+            reset();
+        }
+
+        public byte get(int node) {
+            return values[node];
+        }
+
+        public void set(int node, byte value) {
+            values[node] = value;
+        }
+
+        public void reset() {
+            Arrays.fill(values, defaultValue);
+        }
+
+        public byte[] array() {
+            return values;
+        }
+    }
+
+    public NodeAttributes(int numNodes) {
+        this.numNodes = numNodes;
+        this.x = new DoubleColumn(numNodes, Double.NaN);
+        this.y = new DoubleColumn(numNodes, Double.NaN);
+        this.state = new ByteColumn(numNodes, UNVISITED);
+        this.dist = new IntColumn(numNodes, NO_DISTANCE);
+        this.parent = new IntColumn(numNodes, NO_PARENT);
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    public boolean hasPosition(int node) {
+        return !Double.isNaN(x.values[node]);
+    }
+
+    public double getX(int node) {
+        return x.values[node];
+    }
+
+    public double getY(int node) {
+        return y.values[node];
+    }
+
+    // The x and y columns themselves, for loops over all nodes in this package; not
+    // copies, so callers must only read them
+    double[] xValues() {
+        return x.values;
+    }
+
+    double[] yValues() {
+        return y.values;
+    }
+
+    void setPosition(int node, double nodeX, double nodeY) {
+        x.values[node] = nodeX;
+        y.values[node] = nodeY;
+    }
+
+    void clearPosition(int node) {
+        setPosition(node, Double.NaN, Double.NaN);
+    }
+
+    public ByteColumn state() {
+        return state;
+    }
+
+    public IntColumn dist() {
+        return dist;
+    }
+
+    public IntColumn parent() {
+        return parent;
+    }
+
+    // Back to the state before a traversal: every node unvisited, without distance or parent
+    public void resetTraversal() {
+        state.reset();
+        dist.reset();
+        parent.reset();
+    }
+
+    // The named column, created filled with defaultValue the first time it is asked for.
+    // The names of the built-in columns are rejected.
+    public IntColumn intColumn(String name, int defaultValue) {
+        return column(name, IntColumn.class, () -> new IntColumn(numNodes, defaultValue));
+    }
+
+    public DoubleColumn doubleColumn(String name, double defaultValue) {
+        return column(name, DoubleColumn.class, () -> new DoubleColumn(numNodes, defaultValue));
+    }
+
+    public ByteColumn byteColumn(String name, byte defaultValue) {
+        return column(name, ByteColumn.class, () -> new ByteColumn(numNodes, defaultValue));
+    }
+
+    // Only named columns; false for the built-in ones
+    public boolean hasColumn(String name) {
+        return columns.containsKey(name);
+    }
+
+    public void removeColumn(String name) {
+        checkNotBuiltIn(name);
+        columns.remove(name);
+    }
+
+    private <C> C column(String name, Class<C> type, Supplier<C> create) {
+        checkNotBuiltIn(name);
+        Object column = columns.computeIfAbsent(name, key -> create.get());
+        if (!type.isInstance(column)) {
+            throw new IllegalArgumentException("Column '" + name + "' is a "
+                    + column.getClass().getSimpleName() + ", not a " + type.getSimpleName());
+        }
+        return type.cast(column);
+    }
+
+    private static void checkNotBuiltIn(String name) {
+        if (BUILT_IN.contains(name)) {
+            throw new IllegalArgumentException("Column '" + name + "' is built in");
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.AlgoVista.graphs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// CSR graph like CompactGraph, but stored outside the Java heap with long arc offsets,
+// so the arc count is not bound by the 2^31 array limit and a billion-edge graph costs
+// the heap only what an algorithm allocates per node. The layout is one OffHeapMemory
+// region, which can be a memory-mapped file that open() maps back in without parsing:
+//
+//   header    magic, version, numNodes, flags, numArcs    (8 bytes each)
+//   offsets   numNodes + 1 longs; arcs of u are offsets[u] .. offsets[u + 1]
+//   targets   numArcs ints
+//   weights   numArcs ints, only for weighted graphs
+//
+// The graph holds native memory or a mapping until close(); reads after that throw.
+// Allocated memory is capped by -XX:MaxDirectMemorySize (by default the -Xmx value); a
+// graph built into a file is only mapped and not subject to that cap.
+public final class OffHeapGraph implements AutoCloseable {
+    private static final long MAGIC = 0x4156435352000000L; // "AVCSR"
+    private static final long VERSION = 1;
+    private static final long HEADER_BYTES = 40;
+    private static final long FLAG_DIRECTED = 1;
+    private static final long FLAG_WEIGHTED = 2;
+
+    private final OffHeapMemory memory;
+    private final int numNodes;
+    private final long numArcs;
+    private final boolean isDirected;
+    private final boolean isWeighted;
+    private final long offsetsStart;
+    private final long targetsStart;
+    private final long weightsStart;
+
+    private OffHeapGraph(OffHeapMemory memory, int numNodes, long numArcs, boolean isDirected, boolean isWeighted) {
+        this.memory = memory;
+        this.numNodes = numNodes;
+        this.numArcs = numArcs;
+        this.isDirected = isDirected;
+        this.isWeighted = isWeighted;
+        this.offsetsStart = HEADER_BYTES;
+        this.targetsStart = offsetsStart + 8L * (numNodes + 1);
+        this.weightsStart = targetsStart + 4L * numArcs;
+    }
+
+    private static long bytesFor(int numNodes, long numArcs, boolean isWeighted) {
+        return HEADER_BYTES + 8L * (numNodes + 1) + (isWeighted ? 8L : 4L) * numArcs;
+    }
+
+    // Maps a graph written by Builder.build(file) read-only
+    public static OffHeapGraph open(Path file) throws IOException {
+        OffHeapMemory header = OffHeapMemory.map(file, HEADER_BYTES, false);
+        long numNodes;
+        long flags;
+        long numArcs;
+        try {
+            if (header.getLong(0) != MAGIC) throw new IOException(file + " is not an off-heap graph");
+            if (header.getLong(8) != VERSION) throw new IOException("Unsupported off-heap graph version " + header.getLong(8));
+            numNodes = header.getLong(16);
+            flags = header.getLong(24);
+            numArcs = header.getLong(32);
+        } finally {
+            header.close();
+        }
+        // Checked before the casts and size arithmetic below; map() then checks the sizes
+        // against the file
+        if (numNodes < 0 || numNodes > Integer.MAX_VALUE - 1 || numArcs < 0 || numArcs > Long.MAX_VALUE / 16) {
+            throw new IOException(file + " has a corrupt header: " + numNodes + " nodes, " + numArcs + " arcs");
+        }
+        boolean isWeighted = (flags & FLAG_WEIGHTED) != 0;
+        OffHeapMemory memory = OffHeapMemory.map(file, bytesFor((int) numNodes, numArcs, isWeighted), false);
+        return new OffHeapGraph(memory, (int) numNodes, numArcs, (flags & FLAG_DIRECTED) != 0, isWeighted);
+    }
+
+    public int getNumNodes() {
+        return numNodes;
+    }
+
+    // Arcs as in CompactGraph: twice the edge count for undirected graphs
+    public long getNumArcs() {
+        return numArcs;
+    }
+
+    public boolean isDirected() {
+        return isDirected;
+    }
+
+    public boolean isWeighted() {
+        return isWeighted;
+    }
+
+    // Index of node's first arc; its arcs run up to getArcStart(node + 1)
+    public long getArcStart(int node) {
+        return memory.getLong(offsetsStart + 8L * node);
+    }
+
+    public long getDegree(int node) {
+        return getArcStart(node + 1) - getArcStart(node);
+    }
+
+    public int getTarget(long arc) {
+        return memory.getInt(targetsStart + 4L * arc);
+    }
+
+    // 1 for every arc of an unweighted graph
+    public int getWeight(long arc) {
+        return isWeighted ? memory.getInt(weightsStart + 4L * arc) : 1;
+    }
+
+    public boolean hasNegativeWeight() {
+        if (!isWeighted) return false;
+        for (long a = 0; a < numArcs; a++) {
+            if (getWeight(a) < 0) return true;
+        }
+        return false;
+    }
+
+    // Native bytes held, or mapped, for this graph
+    public long getSizeInBytes() {
+        return memory.size();
+    }
+
+    public boolean isOpen() {
+        return memory.isOpen();
+    }
+
+    // Frees the memory or unmaps the file now. No other thread may still be reading.
+    @Override
+    public void close() {
+        memory.close();
+    }
+
+    // Collects edges off-heap (12 bytes each) and lays them out as CSR in build(). The
+    // edge buffer grows by doubling, and is freed by build() or close(). Given a scratch
+    // directory it is a mapped temporary file there instead of allocated memory, which
+    // grows by remapping rather than copying and is deleted again on close.
+    public static final class Builder implements AutoCloseable {
+        private static final long EDGE_BYTES = 12;
+
+        private final int numNodes;
+        private final boolean isDirected;
+        private final boolean isWeighted;
+        private final OffHeapMemory edges;
+        private final Path spillFile;
+        private long numEdges;
+
+        public Builder(int numNodes, boolean isDirected, boolean isWeighted, long expectedEdges) {
+            this(numNodes, isDirected, isWeighted, expectedEdges, null);
+        }
+
+        public Builder(int numNodes, boolean isDirected, boolean isWeighted, long expectedEdges,
+                       Path scratchDirectory) {
+            if (numNodes < 0) throw new IllegalArgumentException("Negative node count");
+            this.numNodes = numNodes;
+            this.isDirected = isDirected;
+            this.isWeighted = isWeighted;
+            long bytes = EDGE_BYTES * Math.max(expectedEdges, 1024);
+            if (scratchDirectory == null) {
+                this.spillFile = null;
+                this.edges = OffHeapMemory.allocate(bytes);
+            } else {
+                try {
+                    this.spillFile = Files.createTempFile(scratchDirectory, "edges", ".tmp");
+                    this.edges = OffHeapMemory.map(spillFile, bytes, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+
+        public int getNumNodes() {
+            return numNodes;
+        }
+
+        public long getNumEdges() {
+            return numEdges;
+        }
+
+        public void addEdge(int from, int to, int weight) {
+            if (from < 0 || from >= numNodes || to < 0 || to >= numNodes) {
+                throw new IllegalArgumentException("Edge " + from + " -> " + to + " out of range 0.." + (numNodes - 1));
+            }
+            long base = EDGE_BYTES * numEdges;
+            if (base + EDGE_BYTES > edges.size()) edges.grow(2 * edges.size());
+            edges.putInt(base, from);
+            edges.putInt(base + 4, to);
+            edges.putInt(base + 8, weight);
+            numEdges++;
+        }
+
+        // In allocated memory
+        public OffHeapGraph build() {
+            try {
+                return build(null);
+            } catch (IOException e) {
+                throw new AssertionError(e); // nothing is mapped
+            }
+        }
+
+        // Into file, memory-mapped, when it is not null; OffHeapGraph.open reads it back
+        public OffHeapGraph build(Path file) throws IOException {
+            long numArcs = isDirected ? numEdges : 2 * numEdges;
+            long bytes = bytesFor(numNodes, numArcs, isWeighted);
+            OffHeapMemory memory = file == null ? OffHeapMemory.allocate(bytes) : OffHeapMemory.map(file, bytes, true);
+            OffHeapGraph graph = new OffHeapGraph(memory, numNodes, numArcs, isDirected, isWeighted);
+            try {
+                fill(memory, graph);
+                memory.putLong(0, MAGIC);
+                memory.putLong(8, VERSION);
+                memory.putLong(16, numNodes);
+                memory.putLong(24, (isDirected ? FLAG_DIRECTED : 0) | (isWeighted ? FLAG_WEIGHTED : 0));
+                memory.putLong(32, numArcs);
+                memory.force();
+            } catch (RuntimeException e) {
+                memory.close();
+                throw e;
+            } finally {
+                close();
+            }
+            return graph;
+        }
+
+        // Counting sort by source node, with the offsets doubling as fill cursors: after
+        // the fill offsets[u] has advanced to the end of u, so shifting by one slot gives
+        // the starts again without a second n-sized array
+        private void fill(OffHeapMemory memory, OffHeapGraph graph) {
+            long offsets = graph.offsetsStart;
+            for (int u = 0; u <= numNodes; u++) {
+                memory.putLong(offsets + 8L * u, 0);
+            }
+            for (long e = 0; e < numEdges; e++) {
+                increment(memory, offsets, edges.getInt(EDGE_BYTES * e));
+                if (!isDirected) increment(memory, offsets, edges.getInt(EDGE_BYTES * e + 4));
+            }
+            long start = 0;
+            for (int u = 0; u < numNodes; u++) {
+                long degree = memory.getLong(offsets + 8L * u);
+                memory.putLong(offsets + 8L * u, start);
+                start += degree;
+            }
+
+            for (long e = 0; e < numEdges; e++) {
+                long base = EDGE_BYTES * e;
+                int from = edges.getInt(base);
+                int to = edges.getInt(base + 4);
+                int weight = edges.getInt(base + 8);
+                place(memory, graph, from, to, weight);
+                if (!isDirected) place(memory, graph, to, from, weight);
+            }
+
+            for (int u = numNodes; u > 0; u--) {
+                memory.putLong(offsets + 8L * u, memory.getLong(offsets + 8L * (u - 1)));
+            }
+            memory.putLong(offsets, 0);
+        }
+
+        private static void increment(OffHeapMemory memory, long offsets, int node) {
+            long slot = offsets + 8L * node;
+            memory.putLong(slot, memory.getLong(slot) + 1);
+        }
+
+        private void place(OffHeapMemory memory, OffHeapGraph graph, int from, int to, int weight) {
+            long cursor = graph.offsetsStart + 8L * from;
+            long arc = memory.getLong(cursor);
+            memory.putLong(cursor, arc + 1);
+            memory.putInt(graph.targetsStart + 4L * arc, to);
+            if (isWeighted) memory.putInt(graph.weightsStart + 4L * arc, weight);
+        }
+
+        // Frees the edge buffer; build() does this itself
+        @Override
+        public void close() {
+            edges.close();
+            if (spillFile != null) {
+                try {
+                    Files.deleteIfExists(spillFile);
+                } catch (IOException e) {
+                    // A stray temporary file
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.AlgoVista.graphs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// Memory outside the Java heap, addressed by long byte offsets so it can grow past the
+// 2^31 limit of arrays and ByteBuffers: one MemorySegment, either allocated or mapped
+// from a file, owned by a shared Arena. Values are little-endian whatever the
+// platform, so mapped files are portable.
+//
+// Allocated memory counts against -XX:MaxDirectMemorySize, which defaults to -Xmx;
+// mapped memory does not, and the OS pages it in and out as needed.
+//
+// close() closes the arena, which frees the memory or unmaps the file at once. The
+// arena is shared, so closing it is safe while other threads still read: their next
+// access throws IllegalStateException instead of touching freed memory.
+final class OffHeapMemory implements AutoCloseable {
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.LITTLE_ENDIAN);
+    private static final long ALIGNMENT = 8;
+
+    private Arena arena;
+    private MemorySegment segment;
+    private final Path file;       // null for allocated memory
+    private final boolean writable;
+
+    private OffHeapMemory(Arena arena, MemorySegment segment, Path file, boolean writable) {
+        this.arena = arena;
+        this.segment = segment;
+        this.file = file;
+        this.writable = writable;
+    }
+
+    // Zeroed memory that grows with grow()
+    static OffHeapMemory allocate(long size) {
+        Arena arena = Arena.ofShared();
+        try {
+            return new OffHeapMemory(arena, arena.allocate(size, ALIGNMENT), null, true);
+        } catch (RuntimeException | OutOfMemoryError e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    // The first size bytes of file, which is created or extended when writable. Writes
+    // reach the file through the page cache; force() flushes them.
+    static OffHeapMemory map(Path file, long size, boolean writable) throws IOException {
+        Arena arena = Arena.ofShared();
+        // The mapping stays valid after the channel is closed, until the arena is
+        try (FileChannel channel = open(file, writable)) {
+            if (!writable && channel.size() < size) {
+                throw new IOException(file + " holds " + channel.size() + " bytes, expected " + size);
+            }
+            if (writable) resize(channel, size);
+            return new OffHeapMemory(arena, map(channel, writable, size, arena), file, writable);
+        } catch (IOException | RuntimeException e) {
+            arena.close();
+            throw e;
+        }
+    }
+
+    private static FileChannel open(Path file, boolean writable) throws IOException {
+        return writable
+                ? FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)
+                : FileChannel.open(file, StandardOpenOption.READ);
+    }
+
+    private static void resize(FileChannel channel, long size) throws IOException {
+        if (channel.size() > size) channel.truncate(size);
+        if (channel.size() < size) channel.write(ByteBuffer.allocate(1), size - 1);
+    }
+
+    private static MemorySegment map(FileChannel channel, boolean writable, long size, Arena arena)
+            throws IOException {
+        FileChannel.MapMode mode = writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY;
+        return channel.map(mode, 0, size, arena);
+    }
+
+    long size() {
+        return segment.byteSize();
+    }
+
+    // At least newSize bytes, keeping the contents: allocated memory is copied into a
+    // bigger segment, a file is extended and mapped again. Only for the single thread
+    // that owns this memory, since readers of the old segment fail once it is replaced.
+    void grow(long newSize) {
+        if (!writable) throw new IllegalStateException("Read-only memory cannot grow");
+        long size = size();
+        if (newSize <= size) return;
+
+        Arena grownArena = Arena.ofShared();
+        MemorySegment grown;
+        try {
+            if (file == null) {
+                grown = grownArena.allocate(newSize, ALIGNMENT);
+                MemorySegment.copy(segment, 0, grown, 0, size);
+            } else {
+                // The old and new mappings share the file's pages, so nothing is copied
+                try (FileChannel channel = open(file, true)) {
+                    resize(channel, newSize);
+                    grown = map(channel, true, newSize, grownArena);
+                }
+            }
+        } catch (IOException e) {
+            grownArena.close();
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException | OutOfMemoryError e) {
+            grownArena.close();
+            throw e;
+        }
+        arena.close();
+        arena = grownArena;
+        segment = grown;
+    }
+
+    int getInt(long offset) {
+        return segment.get(INT, offset);
+    }
+
+    void putInt(long offset, int value) {
+        segment.set(INT, offset, value);
+    }
+
+    long getLong(long offset) {
+        return segment.get(LONG, offset);
+    }
+
+    void putLong(long offset, long value) {
+        segment.set(LONG, offset, value);
+    }
+
+    // Writes mapped pages back to the file; a no-op for allocated memory
+    void force() {
+        if (segment.isMapped() && writable) segment.force();
+    }
+
+    boolean isOpen() {
+        return arena.scope().isAlive();
+    }
+
+    @Override
+    public void close() {
+        if (isOpen()) arena.close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.AlgoVista.graphs;
+
+// Immutable array with structural sharing: a 32-way trie whose leaves hold the values.
+// set and append copy only the nodes on one root-to-leaf path (at most seven 32-slot
+// arrays for 2^31 elements) and share everything else with the previous version, so
+// old versions stay valid and cheap to keep.
+final class PersistentArray<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final PersistentArray<?> EMPTY = new PersistentArray<>(0, 0, new Object[WIDTH]);
+
+    private final int size;
+    private final int shift; // BITS * (levels above the leaves)
+    private final Object[] root;
+
+    private PersistentArray(int size, int shift, Object[] root) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> PersistentArray<T> empty() {
+        return (PersistentArray<T>) EMPTY;
+    }
+
+    // size copies of value, built bottom-up without intermediate versions
+    static <T> PersistentArray<T> filled(int size, T value) {
+        if (size == 0) return empty();
+        int leaves = (size + MASK) >>> BITS;
+        Object[] level = new Object[leaves];
+        for (int i = 0; i < leaves; i++) {
+            Object[] leaf = new Object[WIDTH];
+            int count = Math.min(WIDTH, size - i * WIDTH);
+            for (int j = 0; j < count; j++) leaf[j] = value;
+            level[i] = leaf;
+        }
+        int shift = 0;
+        while (level.length > 1) {
+            Object[] parents = new Object[(level.length + MASK) >>> BITS];
+            for (int i = 0; i < parents.length; i++) {
+                Object[] node = new Object[WIDTH];
+                System.arraycopy(level, i * WIDTH, node, 0, Math.min(WIDTH, level.length - i * WIDTH));
+                parents[i] = node;
+            }
+            level = parents;
+            shift += BITS;
+        }
+        return new PersistentArray<>(size, shift, (Object[]) level[0]);
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    T get(int index) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        Object[] node = root;
+        for (int level = shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return (T) node[index & MASK];
+    }
+
+    PersistentArray<T> set(int index, T value) {
+        if (index < 0 || index >= size) throw new IndexOutOfBoundsException("Index " + index + ", size " + size);
+        return new PersistentArray<>(size, shift, setIn(root, shift, index, value));
+    }
+
+    PersistentArray<T> append(T value) {
+        int newShift = shift;
+        Object[] newRoot = root;
+        // Full trie: the old root becomes the first child of a new, taller one
+        if (size == capacity(shift)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = root;
+            newShift += BITS;
+        }
+        return new PersistentArray<>(size + 1, newShift, setIn(newRoot, newShift, size, value));
+    }
+
+    // Drops the last element; the trie keeps its height, so append can refill the slot
+    PersistentArray<T> removeLast() {
+        if (size == 0) throw new IndexOutOfBoundsException("Empty array");
+        if (size == 1) return empty();
+        return new PersistentArray<>(size - 1, shift, setIn(root, shift, size - 1, null));
+    }
+
+    private static long capacity(int shift) {
+        return 1L << (shift + BITS);
+    }
+
+    // Copy of node with the path to index replaced; missing inner nodes are created
+    private static Object[] setIn(Object[] node, int level, int index, Object value) {
+        Object[] copy = node == null ? new Object[WIDTH] : node.clone();
+        int slot = (index >>> level) & MASK;
+        if (level == 0) {
+            copy[slot] = value;
+        } else {
+            copy[slot] = setIn((Object[]) copy[slot], level - BITS, index, value);
+        }
+        return copy;
+    }
+}
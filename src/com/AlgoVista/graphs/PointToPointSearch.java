@@ -0,0 +1,213 @@
+package com.AlgoVista.graphs;
+
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+// Single source -> single target shortest path searches that stop as soon as the
+// target's distance is final, instead of settling the whole graph.
+public class PointToPointSearch {
+    private static final int INF = Integer.MAX_VALUE / 2;
+
+    public static class Result {
+        private final int distance;
+        private final List<Integer> path;
+        private final List<Integer> settledOrder;
+
+        public Result(int distance, List<Integer> path, List<Integer> settledOrder) {
+            this.distance = distance;
+            this.path = path;
+            this.settledOrder = settledOrder;
+        }
+
+        public boolean isReachable() {
+            return distance < INF;
+        }
+
+        public int getDistance() {
+            return distance;
+        }
+
+        public List<Integer> getPath() {
+            return path;
+        }
+
+        // Nodes in the order the search settled them; this is the explored frontier
+        public List<Integer> getSettledOrder() {
+            return settledOrder;
+        }
+    }
+
+    // A* with a Euclidean heuristic scaled down to the smallest weight-per-pixel ratio
+    // of any edge, which keeps it admissible and consistent for arbitrary layouts.
+    public static Result aStar(CompactGraph graph, GraphModel model, int source, int target) {
+        NodeAttributes attributes = model.getNodeAttributes();
+        double[] xs = attributes.xValues();
+        double[] ys = attributes.yValues();
+        return aStar(graph, xs, ys, heuristicScale(graph, xs, ys), source, target);
+    }
+
+    // For callers answering many queries on one graph and layout: xs and ys are the node
+    // positions, read in place, and scale is heuristicScale(graph, xs, ys), computed once
+    // instead of per query
+    public static Result aStar(CompactGraph graph, double[] xs, double[] ys, double scale, int source, int target) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        int[] dist = new int[n];
+        int[] parent = new int[n];
+        boolean[] settled = new boolean[n];
+        Arrays.fill(dist, INF);
+        Arrays.fill(parent, -1);
+        List<Integer> order = new ArrayList<>();
+
+        IndexedMinHeap open = new IndexedMinHeap(n);
+        dist[source] = 0;
+        open.offer(source, estimate(xs, ys, scale, source, target));
+
+        while (!open.isEmpty()) {
+            int node = open.poll();
+            AlgorithmStats.visit();
+            settled[node] = true;
+            order.add(node);
+            if (node == target) break;
+
+            for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                int v = targets[a];
+                if (settled[v]) continue;
+                AlgorithmStats.relax();
+                int newDist = dist[node] + weights[a];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = node;
+                    open.offer(v, newDist + estimate(xs, ys, scale, v, target));
+                }
+            }
+        }
+
+        return new Result(dist[target], buildPath(parent, source, target, dist[target]), order);
+    }
+
+    // Bidirectional Dijkstra: grows a forward tree from the source and a backward tree
+    // (on the reversed graph) from the target, always expanding the smaller queue,
+    // and stops once the two queue minima can no longer beat the best meeting point.
+    public static Result bidirectionalDijkstra(CompactGraph graph, int source, int target) {
+        return bidirectionalDijkstra(graph, graph.reverse(), source, target);
+    }
+
+    // For callers answering many queries on one graph: reverse is graph.reverse(),
+    // built once instead of per query
+    public static Result bidirectionalDijkstra(CompactGraph graph, CompactGraph reverse, int source, int target) {
+        int n = graph.getNumNodes();
+
+        int[] distF = new int[n];
+        int[] distB = new int[n];
+        int[] parentF = new int[n];
+        int[] parentB = new int[n];
+        boolean[] settledF = new boolean[n];
+        boolean[] settledB = new boolean[n];
+        Arrays.fill(distF, INF);
+        Arrays.fill(distB, INF);
+        Arrays.fill(parentF, -1);
+        Arrays.fill(parentB, -1);
+        List<Integer> order = new ArrayList<>();
+
+        IndexedMinHeap queueF = new IndexedMinHeap(n);
+        IndexedMinHeap queueB = new IndexedMinHeap(n);
+        distF[source] = 0;
+        distB[target] = 0;
+        queueF.offer(source, 0);
+        queueB.offer(target, 0);
+
+        int best = source == target ? 0 : INF;
+        int meeting = source == target ? source : -1;
+
+        while (!queueF.isEmpty() && !queueB.isEmpty()) {
+            if (queueF.peekKey() + queueB.peekKey() >= best) break;
+
+            boolean forward = queueF.size() <= queueB.size();
+            IndexedMinHeap queue = forward ? queueF : queueB;
+            CompactGraph side = forward ? graph : reverse;
+            int[] dist = forward ? distF : distB;
+            int[] otherDist = forward ? distB : distF;
+            int[] parent = forward ? parentF : parentB;
+            boolean[] settled = forward ? settledF : settledB;
+
+            int node = queue.poll();
+            AlgorithmStats.visit();
+            settled[node] = true;
+            order.add(node);
+
+            int[] offsets = side.getOffsets();
+            int[] targets = side.getTargets();
+            int[] weights = side.getWeights();
+            for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                int v = targets[a];
+                AlgorithmStats.relax();
+                int newDist = dist[node] + weights[a];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = node;
+                    if (!settled[v]) queue.offer(v, newDist);
+                }
+                if (otherDist[v] < INF && dist[v] + otherDist[v] < best) {
+                    best = dist[v] + otherDist[v];
+                    meeting = v;
+                }
+            }
+        }
+
+        List<Integer> path = new ArrayList<>();
+        if (meeting >= 0) {
+            path = buildPath(parentF, source, meeting, best);
+            for (int v = parentB[meeting]; v != -1; v = parentB[v]) {
+                path.add(v);
+            }
+        }
+
+        return new Result(best, path, order);
+    }
+
+    // An unplaced node (NaN position) with arcs gives no usable length either, so the
+    // scale is then 0 and A* searches like Dijkstra
+    public static double heuristicScale(CompactGraph graph, double[] xs, double[] ys) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        double scale = Double.POSITIVE_INFINITY;
+
+        for (int u = 0; u < graph.getNumNodes(); u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                double length = Math.hypot(xs[u] - xs[targets[a]], ys[u] - ys[targets[a]]);
+                if (length > 0) {
+                    scale = Math.min(scale, weights[a] / length);
+                } else if (targets[a] != u) {
+                    return 0; // two nodes share a position, no admissible scale exists
+                }
+            }
+        }
+
+        return Double.isInfinite(scale) ? 0 : scale;
+    }
+
+    // Flooring keeps the heuristic consistent because edge weights are integers; a NaN
+    // estimate (unplaced node or target) casts to 0
+    private static int estimate(double[] xs, double[] ys, double scale, int node, int target) {
+        return (int) Math.floor(scale * Math.hypot(xs[node] - xs[target], ys[node] - ys[target]));
+    }
+
+    private static List<Integer> buildPath(int[] parent, int source, int target, int distance) {
+        List<Integer> path = new ArrayList<>();
+        if (distance >= INF) return path;
+        for (int v = target; v != -1; v = parent[v]) {
+            path.add(v);
+            if (v == source) break;
+        }
+        Collections.reverse(path);
+        return path;
+    }
+}
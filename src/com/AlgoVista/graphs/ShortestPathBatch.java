@@ -0,0 +1,226 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+// Multi-source and all-pairs shortest paths over a CompactGraph.
+// Each worker thread keeps its own heap/queue scratch, so a run over thousands of
+// sources allocates nothing beyond the result matrix.
+public class ShortestPathBatch {
+    public static final int INF = Integer.MAX_VALUE / 2;
+
+    private static final int BLOCK_SIZE = 64;
+
+    public static class DistanceMatrix {
+        private final int[] sources;
+        private final int numNodes;
+        private final int[] dist; // row-major, one row per source
+
+        public DistanceMatrix(int[] sources, int numNodes, int[] dist) {
+            this.sources = sources;
+            this.numNodes = numNodes;
+            this.dist = dist;
+        }
+
+        public int[] getSources() {
+            return sources;
+        }
+
+        public int getNumNodes() {
+            return numNodes;
+        }
+
+        public int get(int row, int node) {
+            return dist[row * numNodes + node];
+        }
+
+        public int[] getDistances() {
+            return dist;
+        }
+    }
+
+    private static class Scratch {
+        IndexedMinHeap heap;
+        int[] queue;
+
+        void ensureCapacity(int n) {
+            if (queue == null || queue.length < n) {
+                heap = new IndexedMinHeap(n);
+                queue = new int[n];
+            }
+        }
+    }
+
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    public static DistanceMatrix multiSourceBfs(CompactGraph graph, int[] sources) {
+        return runPerSource(graph, sources, false);
+    }
+
+    public static DistanceMatrix multiSourceDijkstra(CompactGraph graph, int[] sources) {
+        return runPerSource(graph, sources, true);
+    }
+
+    // Picks blocked Floyd-Warshall for dense graphs and repeated Dijkstra for sparse ones
+    public static DistanceMatrix allPairs(CompactGraph graph) {
+        if (isDense(graph)) {
+            return floydWarshall(graph);
+        }
+        int[] all = IntStream.range(0, graph.getNumNodes()).toArray();
+        return graph.isWeighted() ? multiSourceDijkstra(graph, all) : multiSourceBfs(graph, all);
+    }
+
+    // Floyd-Warshall costs V^3 against roughly V * E log V for V Dijkstra runs
+    public static boolean isDense(CompactGraph graph) {
+        long n = graph.getNumNodes();
+        long log = Math.max(1, 64 - Long.numberOfLeadingZeros(n));
+        return (long) graph.getNumArcs() * log >= n * n;
+    }
+
+    // Length of a rows x n matrix; row offsets below it then fit in an int as well
+    private static int matrixSize(int rows, int n) {
+        try {
+            return Math.multiplyExact(rows, n);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(rows + " x " + n + " distance matrix exceeds the 2^31 array limit");
+        }
+    }
+
+    private static DistanceMatrix runPerSource(CompactGraph graph, int[] sources, boolean weighted) {
+        int n = graph.getNumNodes();
+        int[] dist = new int[matrixSize(sources.length, n)];
+
+        IntStream.range(0, sources.length).parallel().forEach(row -> {
+            Scratch scratch = SCRATCH.get();
+            scratch.ensureCapacity(n);
+            int rowOffset = row * n;
+            Arrays.fill(dist, rowOffset, rowOffset + n, INF);
+            if (weighted) {
+                dijkstraInto(graph, sources[row], dist, rowOffset, scratch.heap);
+            } else {
+                bfsInto(graph, sources[row], dist, rowOffset, scratch.queue);
+            }
+        });
+
+        return new DistanceMatrix(sources, n, dist);
+    }
+
+    private static void bfsInto(CompactGraph graph, int source, int[] dist, int rowOffset, int[] queue) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int head = 0;
+        int tail = 0;
+
+        dist[rowOffset + source] = 0;
+        queue[tail++] = source;
+        AlgorithmStats.queueOp();
+
+        while (head < tail) {
+            int node = queue[head++];
+            AlgorithmStats.queueOp();
+            AlgorithmStats.visit();
+            int next = dist[rowOffset + node] + 1;
+            for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                int v = targets[a];
+                AlgorithmStats.relax();
+                if (dist[rowOffset + v] == INF) {
+                    dist[rowOffset + v] = next;
+                    queue[tail++] = v;
+                    AlgorithmStats.queueOp();
+                }
+            }
+        }
+    }
+
+    private static void dijkstraInto(CompactGraph graph, int source, int[] dist, int rowOffset,
+                                     IndexedMinHeap heap) {
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+
+        dist[rowOffset + source] = 0;
+        heap.offer(source, 0);
+
+        while (!heap.isEmpty()) {
+            int node = heap.poll();
+            AlgorithmStats.visit();
+            int d = dist[rowOffset + node];
+            for (int a = offsets[node]; a < offsets[node + 1]; a++) {
+                int v = targets[a];
+                AlgorithmStats.relax();
+                int newDist = d + weights[a];
+                if (newDist < dist[rowOffset + v]) {
+                    dist[rowOffset + v] = newDist;
+                    heap.offer(v, newDist);
+                }
+            }
+        }
+    }
+
+    // Blocked Floyd-Warshall: every k-round relaxes the diagonal tile first, then its
+    // row and column tiles, then all remaining tiles in parallel. Tiles of
+    // BLOCK_SIZE x BLOCK_SIZE ints stay resident in L1/L2 while they are reused.
+    public static DistanceMatrix floydWarshall(CompactGraph graph) {
+        int n = graph.getNumNodes();
+        int[] dist = new int[matrixSize(n, n)];
+        Arrays.fill(dist, INF);
+        for (int i = 0; i < n; i++) {
+            dist[i * n + i] = 0;
+        }
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        for (int u = 0; u < n; u++) {
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int cell = u * n + targets[a];
+                if (weights[a] < dist[cell]) {
+                    dist[cell] = weights[a];
+                }
+            }
+        }
+
+        int numBlocks = (n + BLOCK_SIZE - 1) / BLOCK_SIZE;
+        for (int kb = 0; kb < numBlocks; kb++) {
+            final int k = kb;
+            relaxTile(dist, n, k, k, k);
+
+            IntStream.range(0, numBlocks).parallel().forEach(b -> {
+                if (b == k) return;
+                relaxTile(dist, n, k, b, k);
+                relaxTile(dist, n, b, k, k);
+            });
+
+            IntStream.range(0, numBlocks * numBlocks).parallel().forEach(t -> {
+                int ib = t / numBlocks;
+                int jb = t % numBlocks;
+                if (ib == k || jb == k) return;
+                relaxTile(dist, n, ib, jb, k);
+            });
+        }
+
+        return new DistanceMatrix(IntStream.range(0, n).toArray(), n, dist);
+    }
+
+    private static void relaxTile(int[] dist, int n, int ib, int jb, int kb) {
+        int iEnd = Math.min(n, (ib + 1) * BLOCK_SIZE);
+        int jStart = jb * BLOCK_SIZE;
+        int jEnd = Math.min(n, jStart + BLOCK_SIZE);
+        int kEnd = Math.min(n, (kb + 1) * BLOCK_SIZE);
+
+        for (int k = kb * BLOCK_SIZE; k < kEnd; k++) {
+            int kRow = k * n;
+            for (int i = ib * BLOCK_SIZE; i < iEnd; i++) {
+                int iRow = i * n;
+                int dik = dist[iRow + k];
+                if (dik >= INF) continue;
+                for (int j = jStart; j < jEnd; j++) {
+                    int candidate = dik + dist[kRow + j];
+                    if (candidate < dist[iRow + j]) {
+                        dist[iRow + j] = candidate;
+                    }
+                }
+            }
+        }
+    }
+}
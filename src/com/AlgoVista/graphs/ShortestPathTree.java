@@ -0,0 +1,258 @@
+package com.AlgoVista.graphs;
+
+import java.util.Arrays;
+
+// Single-source shortest paths over a CompactGraph or OffHeapGraph, keeping the
+// predecessor of every reached node so paths can be rebuilt. Distances and parents are
+// plain int arrays indexed by node id; unreachable nodes have distance INF and parent
+// NO_PARENT.
+public class ShortestPathTree {
+    public static final int INF = ShortestPathBatch.INF;
+    public static final int NO_PARENT = -1;
+
+    private final int source;
+    private final int[] dist;
+    private final int[] parent;
+    private final boolean negativeCycle;
+
+    ShortestPathTree(int source, int[] dist, int[] parent, boolean negativeCycle) {
+        this.source = source;
+        this.dist = dist;
+        this.parent = parent;
+        this.negativeCycle = negativeCycle;
+    }
+
+    public int getSource() {
+        return source;
+    }
+
+    public int getDistance(int node) {
+        return dist[node];
+    }
+
+    public int getParent(int node) {
+        return parent[node];
+    }
+
+    public int[] getDistances() {
+        return dist;
+    }
+
+    public int[] getParents() {
+        return parent;
+    }
+
+    public boolean isReachable(int node) {
+        return dist[node] < INF;
+    }
+
+    // Only Bellman-Ford detects these; the distances are then meaningless
+    public boolean hasNegativeCycle() {
+        return negativeCycle;
+    }
+
+    // Source to node, or an empty array when the node is unreachable or the parents
+    // run through a negative cycle
+    public int[] getPath(int node) {
+        if (negativeCycle || !isReachable(node)) return new int[0];
+        int length = 1;
+        for (int v = node; v != source; v = parent[v]) {
+            length++;
+        }
+        int[] path = new int[length];
+        for (int v = node, i = length - 1; i >= 0; v = parent[v], i--) {
+            path[i] = v;
+        }
+        return path;
+    }
+
+    public static ShortestPathTree bfs(CompactGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        dist[source] = 0;
+        queue[tail++] = source;
+        AlgorithmStats.queueOp();
+        while (head < tail) {
+            int u = queue[head++];
+            AlgorithmStats.queueOp();
+            AlgorithmStats.visit();
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                AlgorithmStats.relax();
+                if (dist[v] == INF) {
+                    dist[v] = dist[u] + 1;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                    AlgorithmStats.queueOp();
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, false);
+    }
+
+    // Weights must be non-negative
+    public static ShortestPathTree dijkstra(CompactGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        dist[source] = 0;
+        heap.offer(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            AlgorithmStats.visit();
+            int d = dist[u];
+            for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                int v = targets[a];
+                AlgorithmStats.relax();
+                int newDist = d + weights[a];
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    heap.offer(v, newDist);
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, false);
+    }
+
+    // Handles negative weights. Rounds stop as soon as one changes nothing; a change in
+    // round n means a negative cycle is reachable from the source.
+    public static ShortestPathTree bellmanFord(CompactGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        int[] weights = graph.getWeights();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+
+        dist[source] = 0;
+        boolean changed = true;
+        for (int round = 0; round < n && changed; round++) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                if (dist[u] == INF) continue;
+                for (int a = offsets[u]; a < offsets[u + 1]; a++) {
+                    int v = targets[a];
+                    AlgorithmStats.relax();
+                    int newDist = dist[u] + weights[a];
+                    if (newDist < dist[v]) {
+                        dist[v] = newDist;
+                        parent[v] = u;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, changed);
+    }
+
+    // The same three algorithms over an off-heap graph: only dist, parent and the
+    // queue or heap live on the Java heap, all O(V) however many arcs there are
+    public static ShortestPathTree bfs(OffHeapGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+        int[] queue = new int[n];
+        int head = 0;
+        int tail = 0;
+
+        dist[source] = 0;
+        queue[tail++] = source;
+        AlgorithmStats.queueOp();
+        while (head < tail) {
+            int u = queue[head++];
+            AlgorithmStats.queueOp();
+            AlgorithmStats.visit();
+            long end = graph.getArcStart(u + 1);
+            for (long a = graph.getArcStart(u); a < end; a++) {
+                int v = graph.getTarget(a);
+                AlgorithmStats.relax();
+                if (dist[v] == INF) {
+                    dist[v] = dist[u] + 1;
+                    parent[v] = u;
+                    queue[tail++] = v;
+                    AlgorithmStats.queueOp();
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, false);
+    }
+
+    public static ShortestPathTree dijkstra(OffHeapGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+        IndexedMinHeap heap = new IndexedMinHeap(n);
+
+        dist[source] = 0;
+        heap.offer(source, 0);
+        while (!heap.isEmpty()) {
+            int u = heap.poll();
+            AlgorithmStats.visit();
+            int d = dist[u];
+            long end = graph.getArcStart(u + 1);
+            for (long a = graph.getArcStart(u); a < end; a++) {
+                int v = graph.getTarget(a);
+                AlgorithmStats.relax();
+                int newDist = d + graph.getWeight(a);
+                if (newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
+                    heap.offer(v, newDist);
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, false);
+    }
+
+    public static ShortestPathTree bellmanFord(OffHeapGraph graph, int source) {
+        int n = graph.getNumNodes();
+        int[] dist = unreached(n);
+        int[] parent = noParents(n);
+
+        dist[source] = 0;
+        boolean changed = true;
+        for (int round = 0; round < n && changed; round++) {
+            changed = false;
+            for (int u = 0; u < n; u++) {
+                if (dist[u] == INF) continue;
+                long end = graph.getArcStart(u + 1);
+                for (long a = graph.getArcStart(u); a < end; a++) {
+                    int v = graph.getTarget(a);
+                    AlgorithmStats.relax();
+                    int newDist = dist[u] + graph.getWeight(a);
+                    if (newDist < dist[v]) {
+                        dist[v] = newDist;
+                        parent[v] = u;
+                        changed = true;
+                    }
+                }
+            }
+        }
+        return new ShortestPathTree(source, dist, parent, changed);
+    }
+
+    private static int[] unreached(int n) {
+        int[] dist = new int[n];
+        Arrays.fill(dist, INF);
+        return dist;
+    }
+
+    private static int[] noParents(int n) {
+        int[] parent = new int[n];
+        Arrays.fill(parent, NO_PARENT);
+        return parent;
+    }
+}
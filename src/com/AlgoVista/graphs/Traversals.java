@@ -0,0 +1,148 @@
+package com.AlgoVista.graphs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Queue;
+
+// The step-by-step traversals the traversal view animates, run on the GraphModel's
+// adjacency and edge lists. Each returns the nodes in the order they are visited;
+// dijkstra and bellmanFord also leave distances and parents in the model's dist and
+// parent columns. ComplexityAnalyzer times these same methods.
+public final class Traversals {
+    private Traversals() {
+    }
+
+    // BFS Algorithm
+    public static List<Integer> bfs(GraphModel model, int start) {
+        List<Integer> order = new ArrayList<>();
+        boolean[] visited = new boolean[model.getNumNodes()];
+        Queue<Integer> queue = new LinkedList<>();
+
+        queue.add(start);
+        AlgorithmStats.queueOp();
+        visited[start] = true;
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            AlgorithmStats.queueOp();
+            AlgorithmStats.visit();
+            order.add(node);
+
+            for (int[] neighbor : model.getAdjList().get(node)) {
+                int next = neighbor[0];
+                AlgorithmStats.relax();
+                if (!visited[next]) {
+                    visited[next] = true;
+                    queue.add(next);
+                    AlgorithmStats.queueOp();
+                }
+            }
+        }
+
+        return order;
+    }
+
+    // DFS Algorithm
+    public static List<Integer> dfs(GraphModel model, int start) {
+        List<Integer> order = new ArrayList<>();
+        boolean[] visited = new boolean[model.getNumNodes()];
+        dfsHelper(model, start, visited, order);
+        return order;
+    }
+
+    private static void dfsHelper(GraphModel model, int node, boolean[] visited, List<Integer> order) {
+        visited[node] = true;
+        AlgorithmStats.visit();
+        order.add(node);
+
+        for (int[] neighbor : model.getAdjList().get(node)) {
+            int next = neighbor[0];
+            AlgorithmStats.relax();
+            if (!visited[next]) {
+                dfsHelper(model, next, visited, order);
+            }
+        }
+    }
+
+    // Clears the dist and parent columns for a run from start and returns dist
+    private static int[] resetDistances(GraphModel model, int start) {
+        NodeAttributes attributes = model.getNodeAttributes();
+        attributes.dist().reset();
+        attributes.parent().reset();
+        attributes.dist().set(start, 0);
+        return attributes.dist().array();
+    }
+
+    // Dijkstra's Algorithm
+    public static List<Integer> dijkstra(GraphModel model, int start) {
+        int n = model.getNumNodes();
+        int[] distances = resetDistances(model, start);
+        int[] parent = model.getNodeAttributes().parent().array();
+        boolean[] visited = new boolean[n];
+        List<Integer> order = new ArrayList<>();
+
+        PriorityQueue<int[]> pq = new PriorityQueue<>(Comparator.comparingInt(a -> a[1]));
+        pq.add(new int[]{start, 0});
+        AlgorithmStats.heapPush();
+
+        while (!pq.isEmpty()) {
+            int[] current = pq.poll();
+            AlgorithmStats.heapPop();
+            int node = current[0];
+
+            if (visited[node]) continue;
+
+            visited[node] = true;
+            AlgorithmStats.visit();
+            order.add(node);
+
+            for (int[] neighbor : model.getAdjList().get(node)) {
+                int next = neighbor[0];
+                int weight = neighbor[1];
+                AlgorithmStats.relax();
+                int newDist = distances[node] + weight;
+
+                if (newDist < distances[next]) {
+                    distances[next] = newDist;
+                    parent[next] = node;
+                    pq.add(new int[]{next, newDist});
+                    AlgorithmStats.heapPush();
+                }
+            }
+        }
+
+        return order;
+    }
+
+    // Bellman-Ford Algorithm
+    public static List<Integer> bellmanFord(GraphModel model, int start) {
+        int n = model.getNumNodes();
+        int[] distances = resetDistances(model, start);
+        int[] parent = model.getNodeAttributes().parent().array();
+        List<Integer> order = new ArrayList<>();
+        order.add(start);
+
+        // Relax edges V-1 times
+        for (int i = 0; i < n - 1; i++) {
+            for (GraphModel.Edge edge : model.getEdgeList()) {
+                if (distances[edge.from] != NodeAttributes.NO_DISTANCE) {
+                    AlgorithmStats.relax();
+                    int newDist = distances[edge.from] + edge.weight;
+                    if (newDist < distances[edge.to]) {
+                        distances[edge.to] = newDist;
+                        parent[edge.to] = edge.from;
+                        if (!order.contains(edge.to)) {
+                            AlgorithmStats.visit();
+                            order.add(edge.to);
+                        }
+                    }
+                }
+            }
+        }
+
+        return order;
+    }
+}
@@ -0,0 +1,51 @@
+package com.AlgoVista.graphs;
+
+// Single-threaded disjoint-set forest with path compression and union by size
+public class UnionFind {
+    private final int[] parent;
+    private final int[] size;
+    private int sets;
+
+    public UnionFind(int n) {
+        parent = new int[n];
+        size = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+        sets = n;
+    }
+
+    public int find(int x) {
+        int root = x;
+        while (parent[root] != root) {
+            root = parent[root];
+        }
+        while (parent[x] != root) {
+            int next = parent[x];
+            parent[x] = root;
+            x = next;
+        }
+        return root;
+    }
+
+    // Returns true if a and b were in different sets
+    public boolean union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA == rootB) return false;
+        if (size[rootA] < size[rootB]) {
+            int tmp = rootA;
+            rootA = rootB;
+            rootB = tmp;
+        }
+        parent[rootB] = rootA;
+        size[rootA] += size[rootB];
+        sets--;
+        return true;
+    }
+
+    public int getSetCount() {
+        return sets;
+    }
+}
@@ -0,0 +1,220 @@
+package com.AlgoVista.server;
+
+import com.AlgoVista.graphs.EdgeListFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Closed-loop load test for GraphServer: each of C client threads sends its next request
+// as soon as the previous answer arrives, for a fixed duration after a warm-up. Reports
+// throughput and latency percentiles per endpoint and overall.
+//
+//   GraphLoadTest [--url http://127.0.0.1:8080] [--concurrency 32] [--duration 10]
+//                 [--warmup 3] [--mix khop,path,bfs,dijkstra] [--k 2]
+//
+// Without --url an embedded server is started on a random port over a generated graph
+// (--generate N:M, default 100000:400000), so the test also runs fully offline.
+public final class GraphLoadTest {
+    private static final Pattern NODES = Pattern.compile("\"nodes\":(\\d+)");
+
+    private static class Worker extends Thread {
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String[] mix;
+        private final int numNodes;
+        private final int k;
+        private final long measureFrom;
+        private final long stopAt;
+
+        // Latencies in nanoseconds per endpoint of the mix; only requests that started
+        // after the warm-up count
+        final long[][] latencies;
+        final int[] counts;
+        int errors;
+
+        Worker(int id, HttpClient client, String baseUrl, String[] mix, int numNodes, int k,
+               long measureFrom, long stopAt) {
+            super("algovista-load-" + id);
+            setDaemon(true);
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.mix = mix;
+            this.numNodes = numNodes;
+            this.k = k;
+            this.measureFrom = measureFrom;
+            this.stopAt = stopAt;
+            this.latencies = new long[mix.length][1024];
+            this.counts = new int[mix.length];
+        }
+
+        @Override
+        public void run() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (true) {
+                long start = System.nanoTime();
+                if (start >= stopAt) return;
+
+                int kind = random.nextInt(mix.length);
+                HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + query(mix[kind], random)))
+                        .timeout(Duration.ofSeconds(30))
+                        .GET()
+                        .build();
+                boolean ok;
+                try {
+                    HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                    ok = response.statusCode() == 200;
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    return;
+                }
+                long elapsed = System.nanoTime() - start;
+
+                if (start < measureFrom) continue;
+                if (!ok) {
+                    errors++;
+                    continue;
+                }
+                if (counts[kind] == latencies[kind].length) {
+                    latencies[kind] = Arrays.copyOf(latencies[kind], counts[kind] * 2);
+                }
+                latencies[kind][counts[kind]++] = elapsed;
+            }
+        }
+
+        private String query(String endpoint, ThreadLocalRandom random) {
+            int a = random.nextInt(numNodes);
+            switch (endpoint) {
+                case "khop":
+                    return "/khop?node=" + a + "&k=" + k;
+                case "path":
+                    return "/path?from=" + a + "&to=" + random.nextInt(numNodes);
+                case "bfs":
+                case "dijkstra":
+                    return "/" + endpoint + "?source=" + a + "&limit=100";
+                default:
+                    throw new IllegalArgumentException("unknown endpoint '" + endpoint + "'");
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = null;
+        int concurrency = 32;
+        int durationSeconds = 10;
+        int warmupSeconds = 3;
+        String[] mix = {"khop", "path", "bfs", "dijkstra"};
+        int k = 2;
+        String generate = "100000:400000";
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--url":
+                    url = args[++i];
+                    break;
+                case "--concurrency":
+                    concurrency = Integer.parseInt(args[++i]);
+                    break;
+                case "--duration":
+                    durationSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--warmup":
+                    warmupSeconds = Integer.parseInt(args[++i]);
+                    break;
+                case "--mix":
+                    mix = args[++i].split(",");
+                    break;
+                case "--k":
+                    k = Integer.parseInt(args[++i]);
+                    break;
+                case "--generate":
+                    generate = args[++i];
+                    break;
+                default:
+                    System.err.println("GraphLoadTest: unknown option '" + args[i] + "'");
+                    System.exit(2);
+            }
+        }
+
+        GraphServer embedded = null;
+        if (url == null) {
+            String[] parts = generate.split(":");
+            embedded = new GraphServer("generated", EdgeListFile.random(Integer.parseInt(parts[0]),
+                    Integer.parseInt(parts[1]), false, true, 42), 0);
+            embedded.start();
+            url = "http://127.0.0.1:" + embedded.getPort();
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        String info = client.send(HttpRequest.newBuilder(URI.create(url + "/graph")).build(),
+                HttpResponse.BodyHandlers.ofString()).body();
+        Matcher matcher = NODES.matcher(info);
+        if (!matcher.find()) throw new IOException("Unexpected /graph answer: " + info);
+        int numNodes = Integer.parseInt(matcher.group(1));
+
+        long now = System.nanoTime();
+        long measureFrom = now + warmupSeconds * 1_000_000_000L;
+        long stopAt = measureFrom + durationSeconds * 1_000_000_000L;
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(i, client, url, mix, numNodes, k, measureFrom, stopAt);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Worker worker : workers) {
+            worker.join();
+        }
+        if (embedded != null) embedded.stop();
+
+        System.out.printf("%s, %d nodes, %d client threads, %d s measured after %d s warm-up%n",
+                url, numNodes, concurrency, durationSeconds, warmupSeconds);
+        System.out.printf("%-10s %10s %10s %10s %10s %10s %10s%n",
+                "endpoint", "requests", "req/s", "p50 ms", "p99 ms", "max ms", "errors");
+        long[] all = new long[0];
+        int errors = 0;
+        for (int kind = 0; kind < mix.length; kind++) {
+            long[] merged = new long[0];
+            for (Worker worker : workers) {
+                merged = concat(merged, worker.latencies[kind], worker.counts[kind]);
+            }
+            report(mix[kind], merged, -1, durationSeconds);
+            all = concat(all, merged, merged.length);
+        }
+        for (Worker worker : workers) {
+            errors += worker.errors;
+        }
+        report("all", all, errors, durationSeconds);
+    }
+
+    private static long[] concat(long[] a, long[] b, int bCount) {
+        long[] result = Arrays.copyOf(a, a.length + bCount);
+        System.arraycopy(b, 0, result, a.length, bCount);
+        return result;
+    }
+
+    private static void report(String name, long[] latencies, int errors, int seconds) {
+        Arrays.sort(latencies);
+        System.out.printf("%-10s %10d %10.1f %10.3f %10.3f %10.3f %10s%n",
+                name, latencies.length, (double) latencies.length / seconds,
+                percentile(latencies, 0.50) / 1e6, percentile(latencies, 0.99) / 1e6,
+                latencies.length == 0 ? 0 : latencies[latencies.length - 1] / 1e6,
+                errors < 0 ? "" : Integer.toString(errors));
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+}
@@ -0,0 +1,333 @@
+package com.AlgoVista.server;
+
+import com.AlgoVista.graphs.CompactGraph;
+import com.AlgoVista.graphs.EdgeListFile;
+import com.AlgoVista.graphs.GraphMetrics;
+import com.AlgoVista.graphs.PointToPointSearch;
+import com.AlgoVista.graphs.ShortestPathTree;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Local HTTP/JSON query service over one loaded graph, built on the JDK's HttpServer
+// and bound to the loopback interface only. Every endpoint is a GET:
+//
+//   /graph                          node and arc counts
+//   /bfs?source=S[&limit=L]         hop distances and BFS parents
+//   /dijkstra?source=S[&limit=L]    weighted distances and parents
+//   /khop?node=S&k=K[&limit=L]      nodes within K hops
+//   /path?from=A&to=B               one shortest path (bidirectional Dijkstra)
+//   /metrics                        Prometheus text, including per-endpoint latencies
+//
+// All requests read the same immutable GraphSnapshot. Each request runs on its own
+// virtual thread, so a slow client ties up no platform thread.
+public final class GraphServer {
+    private static final int DEFAULT_LIMIT = 10_000;
+
+    private final GraphSnapshot snapshot;
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    public GraphServer(String name, CompactGraph graph, int port) throws IOException {
+        this.snapshot = new GraphSnapshot(name, graph);
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+
+        endpoint("/graph", this::graphInfo);
+        endpoint("/bfs", query -> shortestPaths(query, false));
+        endpoint("/dijkstra", query -> shortestPaths(query, true));
+        endpoint("/khop", this::kHop);
+        endpoint("/path", this::path);
+        server.createContext("/metrics", exchange ->
+                send(exchange, 200, "text/plain; version=0.0.4", GraphMetrics.scrape()));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    private interface Query {
+        String answer(Map<String, String> params);
+    }
+
+    private void endpoint(String path, Query query) {
+        HttpHandler handler = exchange -> {
+            long start = System.nanoTime();
+            int status = 200;
+            String body;
+            try {
+                if (!exchange.getRequestMethod().equals("GET")) {
+                    status = 405;
+                    body = error("only GET is supported");
+                } else if (!exchange.getRequestURI().getPath().equals(path)) {
+                    status = 404;
+                    body = error("no such endpoint");
+                } else {
+                    body = query.answer(params(exchange.getRequestURI().getRawQuery()));
+                }
+            } catch (IllegalArgumentException e) {
+                status = 400;
+                body = error(e.getMessage());
+            } catch (RuntimeException e) {
+                status = 500;
+                body = error(e.toString());
+            }
+            send(exchange, status, "application/json", body);
+            GraphMetrics.observe("algovista_http_request_seconds", "endpoint", path, System.nanoTime() - start);
+            if (status != 200) {
+                GraphMetrics.increment("algovista_http_errors_total", "endpoint", path);
+            }
+        };
+        server.createContext(path, handler);
+    }
+
+    private String graphInfo(Map<String, String> params) {
+        CompactGraph graph = snapshot.getGraph();
+        return "{\"name\":" + quote(snapshot.getName())
+                + ",\"nodes\":" + graph.getNumNodes()
+                + ",\"arcs\":" + graph.getNumArcs()
+                + ",\"directed\":" + graph.isDirected()
+                + ",\"weighted\":" + graph.isWeighted() + "}";
+    }
+
+    private String shortestPaths(Map<String, String> params, boolean weighted) {
+        CompactGraph graph = snapshot.getGraph();
+        int source = node(params, "source");
+        int limit = intParam(params, "limit", DEFAULT_LIMIT);
+
+        ShortestPathTree tree;
+        if (!weighted) {
+            tree = ShortestPathTree.bfs(graph, source);
+        } else if (snapshot.hasNegativeWeight()) {
+            tree = ShortestPathTree.bellmanFord(graph, source);
+            if (tree.hasNegativeCycle()) throw new IllegalArgumentException("negative cycle reachable from source");
+        } else {
+            tree = ShortestPathTree.dijkstra(graph, source);
+        }
+
+        // Reached nodes in id order, at most limit of them
+        StringBuilder nodes = new StringBuilder();
+        StringBuilder dist = new StringBuilder();
+        StringBuilder parent = new StringBuilder();
+        int reached = 0;
+        for (int v = 0; v < graph.getNumNodes(); v++) {
+            if (!tree.isReachable(v)) continue;
+            if (reached < limit) {
+                String sep = reached == 0 ? "" : ",";
+                nodes.append(sep).append(v);
+                dist.append(sep).append(tree.getDistance(v));
+                parent.append(sep).append(tree.getParent(v));
+            }
+            reached++;
+        }
+        return "{\"source\":" + source
+                + ",\"reached\":" + reached
+                + ",\"truncated\":" + (reached > limit)
+                + ",\"nodes\":[" + nodes
+                + "],\"distance\":[" + dist
+                + "],\"parent\":[" + parent + "]}";
+    }
+
+    // Level-by-level BFS that stops after k levels; a bitset marks visited nodes
+    private String kHop(Map<String, String> params) {
+        CompactGraph graph = snapshot.getGraph();
+        int start = node(params, "node");
+        int k = intParam(params, "k", 1);
+        int limit = intParam(params, "limit", DEFAULT_LIMIT);
+        if (k < 0) throw new IllegalArgumentException("k must be non-negative");
+
+        int[] offsets = graph.getOffsets();
+        int[] targets = graph.getTargets();
+        BitSet visited = new BitSet(graph.getNumNodes());
+        int[] frontier = {start};
+        int frontierSize = 1;
+        visited.set(start);
+
+        StringBuilder nodes = new StringBuilder().append(start);
+        StringBuilder hops = new StringBuilder().append(0);
+        int found = 1;
+        for (int level = 1; level <= k && frontierSize > 0 && found < limit; level++) {
+            int[] next = new int[Math.max(16, frontierSize)];
+            int nextSize = 0;
+            for (int i = 0; i < frontierSize && found < limit; i++) {
+                int u = frontier[i];
+                for (int a = offsets[u]; a < offsets[u + 1] && found < limit; a++) {
+                    int v = targets[a];
+                    if (visited.get(v)) continue;
+                    visited.set(v);
+                    if (nextSize == next.length) next = Arrays.copyOf(next, nextSize * 2);
+                    next[nextSize++] = v;
+                    nodes.append(',').append(v);
+                    hops.append(',').append(level);
+                    found++;
+                }
+            }
+            frontier = next;
+            frontierSize = nextSize;
+        }
+        return "{\"node\":" + start
+                + ",\"k\":" + k
+                + ",\"count\":" + found
+                + ",\"truncated\":" + (found >= limit && frontierSize > 0)
+                + ",\"nodes\":[" + nodes
+                + "],\"hops\":[" + hops + "]}";
+    }
+
+    private String path(Map<String, String> params) {
+        int from = node(params, "from");
+        int to = node(params, "to");
+        if (snapshot.hasNegativeWeight()) {
+            throw new IllegalArgumentException("path queries need non-negative weights");
+        }
+
+        PointToPointSearch.Result result = PointToPointSearch.bidirectionalDijkstra(
+                snapshot.getGraph(), snapshot.getReverse(), from, to);
+        StringBuilder path = new StringBuilder();
+        List<Integer> nodes = result.getPath();
+        for (int i = 0; i < nodes.size(); i++) {
+            if (i > 0) path.append(',');
+            path.append(nodes.get(i));
+        }
+        return "{\"from\":" + from
+                + ",\"to\":" + to
+                + ",\"reachable\":" + result.isReachable()
+                + ",\"distance\":" + (result.isReachable() ? Integer.toString(result.getDistance()) : "null")
+                + ",\"path\":[" + path + "]}";
+    }
+
+    private int node(Map<String, String> params, String name) {
+        String value = params.get(name);
+        if (value == null) throw new IllegalArgumentException("missing parameter '" + name + "'");
+        int node = parseInt(name, value);
+        int n = snapshot.getGraph().getNumNodes();
+        if (node < 0 || node >= n) {
+            throw new IllegalArgumentException(name + " out of range 0.." + (n - 1));
+        }
+        return node;
+    }
+
+    private static int intParam(Map<String, String> params, String name, int defaultValue) {
+        String value = params.get(name);
+        return value == null ? defaultValue : parseInt(name, value);
+    }
+
+    private static int parseInt(String name, String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not an integer: '" + value + "'");
+        }
+    }
+
+    private static Map<String, String> params(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return params;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    private static String error(String message) {
+        return "{\"error\":" + quote(message) + "}";
+    }
+
+    private static String quote(String s) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append('"').toString();
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", contentType + (contentType.contains("charset") ? "" : "; charset=utf-8"));
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // GraphServer [--port P] (graph-file | --generate N:M [--directed] [--weighted] [--seed S])
+    public static void main(String[] args) throws IOException {
+        int port = 8080;
+        String file = null;
+        String generate = null;
+        boolean directed = false;
+        boolean weighted = false;
+        long seed = 42;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--port":
+                    port = Integer.parseInt(args[++i]);
+                    break;
+                case "--generate":
+                    generate = args[++i];
+                    break;
+                case "--directed":
+                    directed = true;
+                    break;
+                case "--weighted":
+                    weighted = true;
+                    break;
+                case "--seed":
+                    seed = Long.parseLong(args[++i]);
+                    break;
+                default:
+                    file = args[i];
+            }
+        }
+        if ((file == null) == (generate == null)) {
+            System.err.println("Usage: GraphServer [--port P] (graph-file | --generate N:M [--directed] [--weighted] [--seed S])");
+            System.exit(2);
+        }
+
+        CompactGraph graph;
+        String name;
+        if (file != null) {
+            graph = EdgeListFile.read(Paths.get(file));
+            name = file;
+        } else {
+            String[] parts = generate.split(":");
+            graph = EdgeListFile.random(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), directed, weighted, seed);
+            name = "generated";
+        }
+
+        GraphServer server = new GraphServer(name, graph, port);
+        server.start();
+        System.err.printf("GraphServer: %s (%d nodes, %d arcs) on http://127.0.0.1:%d/%n",
+                name, graph.getNumNodes(), graph.getNumArcs(), server.getPort());
+    }
+}
@@ -0,0 +1,43 @@
+package com.AlgoVista.server;
+
+import com.AlgoVista.graphs.CompactGraph;
+
+// The graph a server answers queries from. Nothing here is modified after
+// construction, so request threads share one instance without locking; the reversed
+// graph that bidirectional search needs is built once up front.
+final class GraphSnapshot {
+    private final String name;
+    private final CompactGraph graph;
+    private final CompactGraph reverse;
+    private final boolean hasNegativeWeight;
+
+    GraphSnapshot(String name, CompactGraph graph) {
+        this.name = name;
+        this.graph = graph;
+        this.reverse = graph.reverse();
+        boolean negative = false;
+        for (int w : graph.getWeights()) {
+            if (w < 0) {
+                negative = true;
+                break;
+            }
+        }
+        this.hasNegativeWeight = negative;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    CompactGraph getGraph() {
+        return graph;
+    }
+
+    CompactGraph getReverse() {
+        return reverse;
+    }
+
+    boolean hasNegativeWeight() {
+        return hasNegativeWeight;
+    }
+}
@@ -1,6 +1,10 @@
 module com.AlgoVista {
     requires javafx.controls;
     requires javafx.fxml;
+    requires jdk.management;
+    requires jdk.jfr;
+    requires jdk.httpserver;
+    requires java.net.http;
 
     // This allows JavaFX to load your screens
     opens com.AlgoVista.dashboard to javafx.fxml;